@@ -1,5 +1,6 @@
 module java22_demo.main {
     requires java.base;
+    requires jdk.jfr;
 
     requires com.google.common;
     requires org.slf4j;
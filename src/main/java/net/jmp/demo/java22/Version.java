@@ -1,6 +1,7 @@
 package net.jmp.demo.java22;
 
 /*
+ * (#)Version.java  0.10.0  10/18/2026
  * (#)Version.java  0.9.0   08/23/2024
  * (#)Version.java  0.8.0   08/22/2024
  * (#)Version.java  0.7.1   08/22/2024
@@ -13,7 +14,7 @@ package net.jmp.demo.java22;
  * (#)Version.java  0.1.0   08/02/2024
  *
  * @author    Jonathan Parker
- * @version   0.9.0
+ * @version   0.10.0
  * @since     0.1.0
  *
  * MIT License
@@ -44,7 +45,7 @@ package net.jmp.demo.java22;
  */
 final class Version {
     /** The version. */
-    static final String VERSION_STRING = "0.9.0";
+    static final String VERSION_STRING = "0.10.0";
 
     /**
      * The default constructor.
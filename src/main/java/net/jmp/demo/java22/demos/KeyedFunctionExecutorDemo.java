@@ -1,13 +1,14 @@
 package net.jmp.demo.java22.demos;
 
 /*
+ * (#)KeyedFunctionExecutorDemo.java    0.10.0  10/18/2026
  * (#)KeyedFunctionExecutorDemo.java    0.9.0   08/24/2024
  * (#)KeyedFunctionExecutorDemo.java    0.7.1   08/22/2024
  * (#)KeyedFunctionExecutorDemo.java    0.5.0   08/14/2024
  * (#)KeyedFunctionExecutorDemo.java    0.2.0   08/07/2024
  *
  * @author   Jonathan Parker
- * @version  0.9.0
+ * @version  0.10.0
  * @since    0.2.0
  *
  * MIT License
@@ -33,13 +34,27 @@ package net.jmp.demo.java22.demos;
  * SOFTWARE.
  */
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.time.Duration;
+
 import java.util.List;
 
+import java.util.concurrent.CompletableFuture;
+
 import java.util.function.Function;
 
 import java.util.stream.IntStream;
 
+import net.jmp.demo.java22.util.Codec;
 import net.jmp.demo.java22.util.KeyedFunctionExecutor;
+import net.jmp.demo.java22.util.KeyedFunctionExecutorMetrics;
+import net.jmp.demo.java22.util.PendingWorkJournal;
+import net.jmp.demo.java22.util.WeightedFairExecutor;
 
 import static net.jmp.demo.java22.util.LoggerUtils.*;
 
@@ -71,6 +86,10 @@ public final class KeyedFunctionExecutorDemo implements Demo {
 
         this.stringDemo();
         this.numberDemo();
+        this.resultDemo();
+        this.metricsDemo();
+        this.journalDemo();
+        this.laneDemo();
 
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
@@ -135,4 +154,148 @@ public final class KeyedFunctionExecutorDemo implements Demo {
             this.logger.trace(exit());
         }
     }
+
+    /**
+     * Use a function that returns a result
+     * and cache results for a short time.
+     *
+     * @since   0.10.0
+     */
+    private void resultDemo() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        try (final KeyedFunctionExecutor<Integer> keyedFunctionExecutor = new KeyedFunctionExecutor<>(2, Duration.ofSeconds(5))) {
+            final Function<Integer, String> function = i -> STR."Squared \{i * i}";
+
+            final List<CompletableFuture<String>> futures =
+                    IntStream.rangeClosed(1, 5)
+                            .mapToObj(i -> keyedFunctionExecutor.submit(function, "Square", i))
+                            .toList();
+
+            futures.forEach(future -> logger.info("Result function returned: {}", future.join()));
+
+            // The same key and value within five seconds is served from the cache
+
+            final String cached = keyedFunctionExecutor.submit(function, "Square", 5).join();
+
+            logger.info("Result function returned from the cache: {}", cached);
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Submit traffic dominated by a few
+     * keys and log the collected metrics.
+     *
+     * @since   0.10.0
+     */
+    private void metricsDemo() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        try (final KeyedFunctionExecutor<Integer> keyedFunctionExecutor = new KeyedFunctionExecutor<>()) {
+            final Function<Integer, Void> function = _ -> null;
+
+            IntStream.range(0, 1_000).forEach(i -> {
+                final String key = i % 4 == 0 ? STR."Key \{i}" : STR."Hot key \{i % 3}";
+
+                keyedFunctionExecutor.process(function, key, i);
+            });
+
+            final KeyedFunctionExecutorMetrics.Snapshot snapshot = keyedFunctionExecutor.getMetricsSnapshot();
+
+            logger.info("Submissions: {}; coalesce ratio: {}", snapshot.submissions(), snapshot.coalesceRatio());
+            logger.info("Lock stripes: {}; failure ratio: {}", snapshot.stripes(), snapshot.lockFailureRatio());
+            logger.info("Queue wait p99: {} ns", snapshot.queueWaitPercentile(99));
+            logger.info("Hot keys: {}", snapshot.hotKeys());
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Journal the pending values and show that a
+     * reopened journal has nothing left to resume
+     * once every function has completed.
+     *
+     * @since   0.10.0
+     */
+    private void journalDemo() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        try {
+            final Path directory = Files.createTempDirectory("keyed-function-executor");
+            final Function<String, Void> function = s -> {
+                logger.info("Journaled function processed value: {}", s);
+
+                return null;
+            };
+
+            try (final PendingWorkJournal<String> journal = PendingWorkJournal.open(directory, Codec.ofString());
+                 final KeyedFunctionExecutor<String> keyedFunctionExecutor = new KeyedFunctionExecutor<>(2, journal)) {
+                logger.info("Resumed {} values", keyedFunctionExecutor.resume(function));
+
+                IntStream.rangeClosed(1, 5).forEach(i -> {
+                    keyedFunctionExecutor.process(function, STR."Journaled \{i}", STR."Value \{i}");
+                });
+            }
+
+            try (final PendingWorkJournal<String> journal = PendingWorkJournal.open(directory, Codec.ofString())) {
+                logger.info("Values pending after reopening: {}", journal.takeRecoveredValues().size());
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Demonstrate priority lanes and rate limits.
+     *
+     * @since   0.10.0
+     */
+    private void laneDemo() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final WeightedFairExecutor.Lane interactive = new WeightedFairExecutor.Lane("interactive", 4);
+        final WeightedFairExecutor.Lane batch = new WeightedFairExecutor.Lane("batch", 1);
+
+        try (final KeyedFunctionExecutor<String> keyedFunctionExecutor =
+                     new KeyedFunctionExecutor<>(2, List.of(interactive, batch))) {
+            keyedFunctionExecutor.setKeyRateLimit(10, 2);
+            keyedFunctionExecutor.setGlobalRateLimit(100, 10);
+
+            final Function<String, Void> function = s -> {
+                logger.info("Lane function processed value: {}", s);
+
+                return null;
+            };
+
+            IntStream.rangeClosed(1, 10).forEach(i -> {
+                keyedFunctionExecutor.process(function, STR."Batch \{i % 2}", STR."Batch value \{i}", batch);
+                keyedFunctionExecutor.process(function, STR."Interactive \{i % 5}", STR."Interactive value \{i}", interactive);
+            });
+
+            logger.info("Throttled dispatches: {}", keyedFunctionExecutor.getMetricsSnapshot().throttled());
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
 }
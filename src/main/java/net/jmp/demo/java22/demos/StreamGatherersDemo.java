@@ -1,12 +1,13 @@
 package net.jmp.demo.java22.demos;
 
 /*
+ * (#)StreamGatherersDemo.java  0.10.0  10/18/2026
  * (#)StreamGatherersDemo.java  0.7.1   08/22/2024
  * (#)StreamGatherersDemo.java  0.4.0   08/09/2024
  * (#)StreamGatherersDemo.java  0.2.0   08/04/2024
  *
  * @author   Jonathan Parker
- * @version  0.7.1
+ * @version  0.10.0
  * @since    0.2.0
  *
  * MIT License
@@ -32,11 +33,23 @@ package net.jmp.demo.java22.demos;
  * SOFTWARE.
  */
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import java.math.BigDecimal;
 
+import java.nio.file.Path;
+
+import java.time.Duration;
+
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Currency;
 import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.atomic.AtomicInteger;
 
 import java.util.function.Function;
 
@@ -48,6 +61,8 @@ import net.jmp.demo.java22.gatherers.*;
 
 import net.jmp.demo.java22.records.Money;
 
+import net.jmp.demo.java22.util.Codec;
+
 import static net.jmp.demo.java22.util.LoggerUtils.*;
 
 import org.slf4j.Logger;
@@ -84,8 +99,12 @@ public final class StreamGatherersDemo implements Demo {
         this.slidingWindows();
         this.fixedWindows();
         this.scan();
+        this.parallelScan();
         this.fold();
+        this.foldAssociative();
         this.mapConcurrent();
+        this.mapConcurrentBatched();
+        this.prefetch();
         this.custom();
 
         if (this.logger.isTraceEnabled()) {
@@ -164,6 +183,43 @@ public final class StreamGatherersDemo implements Demo {
         }
     }
 
+    /**
+     * Parallel scan.
+     *
+     * @since   0.10.0
+     */
+    private void parallelScan() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<Integer> totals = Stream.of(
+                1, 2, 3, 4, 5, 6, 7, 8, 9
+        ).parallel().gather(
+                GatherersFactory.parallelScan(0, Integer::sum)
+        ).toList();
+
+        if (this.logger.isInfoEnabled()) {
+            this.logger.info("Parallel scan: {}", totals);
+        }
+
+        /* Running balance of a ledger in minor units */
+
+        final List<Long> balances = Stream.of(
+                "12.50", "-3.25", "100.00", "-45.10", "7.99"
+        ).parallel().gather(
+                GatherersFactory.parallelScanLong(0L, Long::sum, (String amount) -> new BigDecimal(amount).movePointRight(2).longValueExact())
+        ).toList();
+
+        if (this.logger.isInfoEnabled()) {
+            this.logger.info("Parallel scan (minor units): {}", balances);
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
     /**
      * Fold.
      */
@@ -187,6 +243,52 @@ public final class StreamGatherersDemo implements Demo {
         }
     }
 
+    /**
+     * Fold in parallel into mutable containers.
+     *
+     * @since   0.10.0
+     */
+    private void foldAssociative() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final String numbers = Stream.of(
+                1, 2, 3, 4, 5, 6, 7, 8, 9
+        ).parallel().gather(
+                GatherersFactory.foldAssociative(StringBuilder::new, StringBuilder::append, StringBuilder::append)
+        ).findFirst().get().toString();
+
+        if (this.logger.isInfoEnabled()) {
+            this.logger.info("Fold associative: {}", numbers);
+        }
+
+        final int[] histogram = Stream.iterate(0, i -> i < 1_000, i -> i + 1)
+                .parallel()
+                .gather(GatherersFactory.foldAssociative(
+                        () -> new int[10],
+                        (int[] counts, Integer number) -> {
+                            counts[number % 10]++;
+
+                            return counts;
+                        },
+                        (left, right) -> {
+                            Arrays.setAll(left, i -> left[i] + right[i]);
+
+                            return left;
+                        }))
+                .findFirst()
+                .get();
+
+        if (this.logger.isInfoEnabled()) {
+            this.logger.info("Fold associative (histogram): {}", Arrays.toString(histogram));
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
     /**
      * Map concurrent.
      */
@@ -213,6 +315,90 @@ public final class StreamGatherersDemo implements Demo {
         }
     }
 
+    /**
+     * Map concurrently in batches, ordered
+     * and as the batches complete.
+     *
+     * @since   0.10.0
+     */
+    private void mapConcurrentBatched() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<Integer> numbers = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+        final Function<Integer, String> toString = String::valueOf;
+
+        final List<String> ordered = numbers
+                .stream()
+                .gather(GatherersFactory.mapConcurrentBatched(2, 3, toString))
+                .toList();
+
+        if (this.logger.isInfoEnabled()) {
+            this.logger.info("MapConcurrentBatched (ordered): {}", ordered);
+        }
+
+        final List<String> unordered = numbers
+                .stream()
+                .gather(GatherersFactory.mapConcurrentBatched(2, 3, toString, false))
+                .toList();
+
+        if (this.logger.isInfoEnabled()) {
+            this.logger.info("MapConcurrentBatched (unordered): {}", unordered);
+        }
+
+        final List<String> firstFour = numbers
+                .stream()
+                .gather(GatherersFactory.mapConcurrentBatched(2, 3, toString))
+                .limit(4)
+                .toList();
+
+        if (this.logger.isInfoEnabled()) {
+            this.logger.info("MapConcurrentBatched (first four): {}", firstFour);
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Prefetch the results of a slow mapper
+     * while downstream is busy.
+     *
+     * @since   0.10.0
+     */
+    private void prefetch() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final Function<Integer, Integer> slowly = i -> {
+            try {
+                Thread.sleep(10);
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+
+            return i;
+        };
+
+        final List<Integer> squares = Stream.iterate(1, i -> i <= 9, i -> i + 1)
+                .gather(GatherersFactory.prefetch(4, slowly))   // E.g. reading records, on the prefetch thread
+                .map(slowly)                                    // Downstream, on the caller's thread
+                .map(i -> i * i)
+                .toList();
+
+        if (this.logger.isInfoEnabled()) {
+            this.logger.info("Prefetch: {}", squares);
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
     /**
      * Custom gatherers.
      *
@@ -231,11 +417,20 @@ public final class StreamGatherersDemo implements Demo {
 
         this.customDistinctBy(money);
         this.customReduceByGatherer(money);
+        this.customSpillingReduceByGatherer(money);
+        this.customExternalSort(money);
+        this.customReduceByChangelog(money);
+        this.customCheckpointedGatherer(money);
         this.customMaxByGatherer(money);
         this.customMinByGatherer(money);
         this.customMapNotNullGatherer();
         this.customFindFirstGatherer(money);
         this.customFindLastGatherer(money);
+        this.customTopKGatherer(money);
+        this.customProbabilisticGatherers();
+        this.customEventTimeWindows(money);
+        this.customSlidingWindows(money);
+        this.customInstrumentedGatherers(money);
         this.customGatherAndThen();
 
         if (this.logger.isTraceEnabled()) {
@@ -261,6 +456,14 @@ public final class StreamGatherersDemo implements Demo {
                 .gather(GatherersFactory.distinctBy(Money::currency))
                 .forEach(e -> this.logger.info(e.toString()));
 
+        money.parallelStream()
+                .gather(GatherersFactory.distinctBy(Money::currency, ParallelMode.ORDERED))
+                .forEachOrdered(e -> this.logger.info(STR."Ordered in parallel: \{e}"));
+
+        money.stream()
+                .gather(GatherersFactory.distinctByWithin(Money::currency, 1))
+                .forEach(e -> this.logger.info(STR."Not repeated within 1: \{e}"));
+
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
         }
@@ -284,6 +487,155 @@ public final class StreamGatherersDemo implements Demo {
                 .gather(GatherersFactory.reduceBy(Money::currency, Money::add))
                 .forEach(e -> this.logger.info(e.toString()));
 
+        money.parallelStream()
+                .gather(GatherersFactory.reduceBy(Money::currency, Money::add, ParallelMode.UNORDERED, 4))
+                .forEach(e -> this.logger.info(STR."Unordered in parallel: \{e}"));
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Custom reduce by gatherer that spills to disk.
+     *
+     * @param   money   java.util.List&lt;net.jmp.demo.java22.records.Money&gt;
+     * @since           0.10.0
+     */
+    private void customSpillingReduceByGatherer(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        // Hold at most one key in memory so that every other key is spilled
+
+        money.stream()
+                .gather(GatherersFactory.spillingReduceBy(m -> m.currency().getCurrencyCode(),
+                        Money::add,
+                        Comparator.naturalOrder(),
+                        1,
+                        Codec.ofString(),
+                        this.getMoneyCodec()))
+                .forEach(m -> this.logger.info(STR."Spilling reduce by: \{m}"));
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Custom external sort gatherer and sorted merge.
+     *
+     * @param   money   java.util.List&lt;net.jmp.demo.java22.records.Money&gt;
+     * @since           0.10.0
+     */
+    private void customExternalSort(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        final Comparator<Money> byAmount = Comparator.comparing(Money::amount);
+
+        // Hold at most two elements in memory so that the rest are sorted in runs on disk
+
+        money.stream()
+                .gather(GatherersFactory.sortedExternal(byAmount, 2, this.getMoneyCodec()))
+                .forEach(m -> this.logger.info(STR."Sorted externally: \{m}"));
+
+        // Merge two sorted shards without collecting either into a list
+
+        try (final Stream<Money> merged = GatherersFactory.mergeSorted(byAmount,
+                money.stream().filter(m -> m.currency().getCurrencyCode().equals("EUR")).sorted(byAmount),
+                money.stream().filter(m -> !m.currency().getCurrencyCode().equals("EUR")).sorted(byAmount))) {
+            merged.forEach(m -> this.logger.info(STR."Merged: \{m}"));
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Custom reduce by gatherer that pushes
+     * each change of a key's aggregate.
+     *
+     * @param   money   java.util.List&lt;net.jmp.demo.java22.records.Money&gt;
+     * @since           0.10.0
+     */
+    private void customReduceByChangelog(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        money.stream()
+                .gather(GatherersFactory.reduceByChangelog(Money::currency, Money::add))
+                .forEach(update -> this.logger.info(STR."Changelog: \{update}"));
+
+        // Throttled to the latest aggregate of each changed currency every three updates
+
+        money.stream()
+                .gather(GatherersFactory.reduceByChangelog(Money::currency, Money::add, 3, Duration.ofSeconds(1)))
+                .forEach(update -> this.logger.info(STR."Changelog (throttled): \{update}"));
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Custom checkpointed gatherer that resumes
+     * a reduction after a simulated failure.
+     *
+     * @param   money   java.util.List&lt;net.jmp.demo.java22.records.Money&gt;
+     * @since           0.10.0
+     */
+    private void customCheckpointedGatherer(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        final Path file = Path.of(System.getProperty("java.io.tmpdir"), "money-reduce-by.checkpoint");
+        final Codec<Map<Currency, Money>> stateCodec = GathererStateCodecs.reduceBy(this.getCurrencyCodec(), this.getMoneyCodec());
+        final AtomicInteger count = new AtomicInteger();
+
+        Checkpoints.delete(file);
+
+        // Fail part way through, after the state has been checkpointed every two elements
+
+        try {
+            money.stream()
+                    .map(m -> {
+                        if (count.incrementAndGet() > money.size() / 2 + 1) {
+                            throw new IllegalStateException("Simulated failure");
+                        }
+
+                        return m;
+                    })
+                    .gather(GatherersFactory.checkpointed(GatherersFactory.reduceBy(Money::currency, Money::add), stateCodec, file, 2))
+                    .forEach(m -> this.logger.info(STR."Checkpointed: \{m}"));
+        } catch (final IllegalStateException e) {
+            this.logger.info(STR."\{e.getMessage()} after \{Checkpoints.offset(file)} checkpointed elements");
+        }
+
+        // Resume from the checkpoint by skipping the elements it covers
+
+        money.stream()
+                .skip(Checkpoints.offset(file))
+                .gather(GatherersFactory.checkpointed(GatherersFactory.reduceBy(Money::currency, Money::add), stateCodec, file, 2))
+                .forEach(m -> this.logger.info(STR."Resumed: \{m}"));
+
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
         }
@@ -308,6 +660,11 @@ public final class StreamGatherersDemo implements Demo {
                 .gather(GatherersFactory.maxBy(Money::amount))
                 .forEach(e -> this.logger.info(e.toString()));
 
+        money.stream()
+                .parallel()
+                .gather(GatherersFactory.maxByDouble(m -> m.amount().doubleValue()))
+                .forEach(e -> this.logger.info(STR."By double: \{e}"));
+
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
         }
@@ -332,6 +689,11 @@ public final class StreamGatherersDemo implements Demo {
                 .gather(GatherersFactory.minBy(Money::amount))
                 .forEach(e -> this.logger.info(e.toString()));
 
+        money.stream()
+                .parallel()
+                .gather(GatherersFactory.minByDouble(m -> m.amount().doubleValue()))
+                .forEach(e -> this.logger.info(STR."By double: \{e}"));
+
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
         }
@@ -376,6 +738,11 @@ public final class StreamGatherersDemo implements Demo {
                 .gather(GatherersFactory.findFirst(m -> m.currency().equals(Currency.getInstance("PLN"))))
                 .forEach(e -> this.logger.info(e.toString()));
 
+        Stream.iterate(1, i -> i <= 1_000_000, i -> i + 1)
+                .parallel()
+                .gather(GatherersFactory.findFirst(i -> i % 65_537 == 0, Comparator.naturalOrder()))
+                .forEach(e -> this.logger.info(STR."First in parallel: \{e}"));
+
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
         }
@@ -399,6 +766,182 @@ public final class StreamGatherersDemo implements Demo {
                 .gather(GatherersFactory.findLast(m -> m.currency().equals(Currency.getInstance("PLN"))))
                 .forEach(e -> this.logger.info(e.toString()));
 
+        money.stream()
+                .parallel()
+                .gather(GatherersFactory.findLast(m -> m.currency().equals(Currency.getInstance("JPY"))))
+                .findAny()
+                .ifPresentOrElse(e -> this.logger.info(e.toString()), () -> this.logger.info("No JPY found"));
+
+        GatherersFactory.<Money>findLast(m -> m.currency().equals(Currency.getInstance("PLN")))
+                .findIn(money)
+                .ifPresent(e -> this.logger.info(STR."Scanned from the end: \{e}"));
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Custom top-k and bottom-k gatherers.
+     *
+     * @param   money   java.util.List&lt;net.jmp.demo.java22.records.Money&gt;
+     * @since           0.10.0
+     */
+    private void customTopKGatherer(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        money.stream()
+                .parallel()
+                .gather(GatherersFactory.topK(2, Comparator.comparing(Money::amount)))
+                .forEachOrdered(e -> this.logger.info(STR."Top 2: \{e}"));
+
+        money.stream()
+                .gather(GatherersFactory.bottomKByDouble(2, m -> m.amount().doubleValue()))
+                .forEach(e -> this.logger.info(STR."Bottom 2: \{e}"));
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Custom probabilistic distinct gatherers.
+     *
+     * @since   0.10.0
+     */
+    private void customProbabilisticGatherers() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        Stream.iterate(0, i -> i < 1_000_000, i -> i + 1)
+                .parallel()
+                .gather(GatherersFactory.approxDistinctCount(i -> i % 100_000, 14))
+                .forEach(e -> this.logger.info(STR."Approximately \{e} distinct values"));
+
+        final long count = Stream.iterate(0, i -> i < 1_000_000, i -> i + 1)
+                .gather(GatherersFactory.bloomDistinctBy(i -> i % 100_000, 100_000, 0.01))
+                .count();
+
+        this.logger.info("Bloom filter passed {} distinct values", count);
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Custom event-time window gatherers.
+     *
+     * @param   money   java.util.List&lt;net.jmp.demo.java22.records.Money&gt;
+     * @since           0.10.0
+     */
+    private void customEventTimeWindows(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        record Transaction(long timestamp, Money money) {}
+
+        final List<Transaction> transactions = Stream.iterate(0, i -> i < 12, i -> i + 1)
+                .map(i -> new Transaction(i * 20_000L, money.get(i % money.size())))
+                .toList();
+
+        transactions.stream()
+                .gather(GatherersFactory.tumblingWindows(Transaction::timestamp,
+                        Duration.ofMinutes(1),
+                        Duration.ofSeconds(10),
+                        t -> t.money().currency(),
+                        Transaction::money,
+                        (sum, t) -> sum.add(t.money())))
+                .forEach(e -> this.logger.info(STR."Tumbling: \{e}"));
+
+        transactions.stream()
+                .gather(GatherersFactory.sessionWindows(Transaction::timestamp,
+                        Duration.ofSeconds(30),
+                        Duration.ZERO,
+                        t -> t.money().currency(),
+                        _ -> 1,
+                        (count, _) -> count + 1,
+                        Integer::sum))
+                .forEach(e -> this.logger.info(STR."Session: \{e}"));
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Custom sliding window gatherers.
+     *
+     * @param   money   java.util.List&lt;net.jmp.demo.java22.records.Money&gt;
+     * @since           0.10.0
+     */
+    private void customSlidingWindows(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        /* The window is a view that is reused, so copy it to keep it */
+
+        final List<List<Money>> windows = money.stream()
+                .gather(GatherersFactory.slidingWindow(3))
+                .map(List::copyOf)
+                .toList();
+
+        windows.forEach(w -> this.logger.info(STR."Window: \{w}"));
+
+        money.stream()
+                .gather(GatherersFactory.slidingReduce(3, () -> WindowReducer.<Money>averagingDouble(m -> m.amount().doubleValue())))
+                .forEach(avg -> this.logger.info(STR."Moving average: \{avg}"));
+
+        money.stream()
+                .gather(GatherersFactory.slidingMax(3, Comparator.comparing(Money::amount)))
+                .forEach(m -> this.logger.info(STR."Moving max: \{m}"));
+
+        money.stream()
+                .gather(GatherersFactory.slidingMin(3, Comparator.comparing(Money::amount)))
+                .forEach(m -> this.logger.info(STR."Moving min: \{m}"));
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Custom gatherers instrumented with metrics.
+     *
+     * @param   money   java.util.List&lt;net.jmp.demo.java22.records.Money&gt;
+     * @since           0.10.0
+     */
+    private void customInstrumentedGatherers(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        money.stream()
+                .gather(GatherersFactory.instrumented("distinctBy", GatherersFactory.distinctBy(Money::currency)))
+                .gather(GatherersFactory.instrumented("topK", GatherersFactory.topK(2, Comparator.comparing(Money::amount)), true))
+                .forEach(m -> this.logger.info(STR."Instrumented: \{m}"));
+
+        GathererMetricsRegistry.snapshots()
+                .values()
+                .forEach(snapshot -> this.logger.info(STR."Metrics: \{snapshot}"));
+
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
         }
@@ -427,6 +970,14 @@ public final class StreamGatherersDemo implements Demo {
                 .gather(gatherers)
                 .forEach(e -> this.logger.info(e.toString()));
 
+        // The same combination fused into one integrator
+
+        final Gatherer<Money, ?, Money> fused = GatherersFactory.fuse(mapNotNullGatherer, reducerGatherer);
+
+        money.stream()
+                .gather(fused)
+                .forEach(e -> this.logger.info(STR."Fused: \{e}"));
+
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
         }
@@ -460,4 +1011,45 @@ public final class StreamGatherersDemo implements Demo {
 
         return money;
     }
+
+    /**
+     * Return a codec for money.
+     *
+     * @return  net.jmp.demo.java22.util.Codec&lt;net.jmp.demo.java22.records.Money&gt;
+     * @since   0.10.0
+     */
+    private Codec<Money> getMoneyCodec() {
+        return new Codec<>() {
+            @Override
+            public void encode(final Money value, final DataOutput output) throws IOException {
+                output.writeUTF(value.amount().toPlainString());
+                output.writeUTF(value.currency().getCurrencyCode());
+            }
+
+            @Override
+            public Money decode(final DataInput input) throws IOException {
+                return new Money(new BigDecimal(input.readUTF()), Currency.getInstance(input.readUTF()));
+            }
+        };
+    }
+
+    /**
+     * Return a codec for currencies.
+     *
+     * @return  net.jmp.demo.java22.util.Codec&lt;java.util.Currency&gt;
+     * @since   0.10.0
+     */
+    private Codec<Currency> getCurrencyCodec() {
+        return new Codec<>() {
+            @Override
+            public void encode(final Currency value, final DataOutput output) throws IOException {
+                output.writeUTF(value.getCurrencyCode());
+            }
+
+            @Override
+            public Currency decode(final DataInput input) throws IOException {
+                return Currency.getInstance(input.readUTF());
+            }
+        };
+    }
 }
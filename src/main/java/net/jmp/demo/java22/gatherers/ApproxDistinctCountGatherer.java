@@ -0,0 +1,138 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)ApproxDistinctCountGatherer.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Objects;
+
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+import net.jmp.demo.java22.util.HyperLogLog;
+
+/**
+ * This gatherer estimates the number of distinct keys in a stream
+ * using a HyperLogLog sketch, so memory is fixed by the precision
+ * however many elements there are. Each segment has its own sketch,
+ * the combiner merges them, and the finisher pushes the estimate.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ * @param   <A> The type of key selected from each element
+ */
+public final class ApproxDistinctCountGatherer<T, A> implements Gatherer<T, HyperLogLog<A>, Long> {
+    /** The selector function. */
+    private final Function<T, A> selector;
+
+    /** The sketch precision. */
+    private final int precision;
+
+    /**
+     * The constructor.
+     *
+     * @param   selector    java.util.function.Function&lt;T, A&gt;
+     * @param   precision   int
+     */
+    public ApproxDistinctCountGatherer(final Function<T, A> selector, final int precision) {
+        if (precision < HyperLogLog.MINIMUM_PRECISION || precision > HyperLogLog.MAXIMUM_PRECISION) {
+            throw new IllegalArgumentException(STR."Precision must be between \{HyperLogLog.MINIMUM_PRECISION} and \{HyperLogLog.MAXIMUM_PRECISION}");
+        }
+
+        this.selector = Objects.requireNonNull(selector);
+        this.precision = precision;
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.util.HyperLogLog&lt;A&gt;&gt;
+     */
+    @Override
+    public Supplier<HyperLogLog<A>> initializer() {
+        return () -> new HyperLogLog<>(this.precision);
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.util.HyperLogLog&lt;A&gt;, T, java.lang.Long&gt;
+     */
+    @Override
+    public Integrator<HyperLogLog<A>, T, Long> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            state.add(this.selector.apply(item));
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /**
+     * A function which accepts two intermediate states and combines them into one.
+     * Used for parallel streams to combine states from different segments.
+     *
+     * @return  java.util.function.BinaryOperator&lt;net.jmp.demo.java22.util.HyperLogLog&lt;A&gt;&gt;
+     */
+    @Override
+    public BinaryOperator<HyperLogLog<A>> combiner() {
+        return (first, second) -> {
+            first.merge(second);
+
+            return first;
+        };
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.util.HyperLogLog&lt;A&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<HyperLogLog<A>, Downstream<? super Long>> finisher() {
+        return (state, downstream) -> downstream.push(state.estimate());
+    }
+}
@@ -0,0 +1,165 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)BloomDistinctByGatherer.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Objects;
+
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+import net.jmp.demo.java22.util.BloomFilter;
+
+/**
+ * This gatherer drops elements whose selected key has probably been seen
+ * before, using a Bloom filter of fixed size. In a sequential stream a
+ * duplicate is never passed, but a few distinct elements may be dropped,
+ * at roughly the filter's false-positive rate once the expected number of
+ * keys has been seen. Setting a bit is idempotent, so the segments of a
+ * parallel stream share one thread-safe filter, which is the same as
+ * merging their filters but also catches most duplicates that span
+ * segments; encounter order is not kept. A key's bits are set one at a
+ * time, though, so segments that add the same new key at the same moment
+ * may each pass it. The filter is created each time the stream asks for
+ * the initializer. A gatherer composed with andThen keeps the initializer
+ * it first asked for, so the filter is cleared when each evaluation
+ * finishes; such a composed instance may be reused by one stream after
+ * another but not run by two at once.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ * @param   <A> The type of key selected from each element
+ */
+public final class BloomDistinctByGatherer<T, A> implements Gatherer<T, BloomFilter<A>, T> {
+    /** The selector function. */
+    private final Function<T, A> selector;
+
+    /** The number of keys each filter is sized for. */
+    private final long expectedKeys;
+
+    /** The false-positive rate each filter is sized for. */
+    private final double falsePositiveRate;
+
+    /**
+     * The constructor.
+     *
+     * @param   selector            java.util.function.Function&lt;T, A&gt;
+     * @param   expectedKeys        long
+     * @param   falsePositiveRate   double
+     */
+    public BloomDistinctByGatherer(final Function<T, A> selector,
+                                   final long expectedKeys,
+                                   final double falsePositiveRate) {
+        if (expectedKeys <= 0) {
+            throw new IllegalArgumentException("Expected keys must be greater than 0");
+        }
+
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+
+        this.selector = Objects.requireNonNull(selector);
+        this.expectedKeys = expectedKeys;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.util.BloomFilter&lt;A&gt;&gt;
+     */
+    @Override
+    public Supplier<BloomFilter<A>> initializer() {
+        final BloomFilter<A> filter = new BloomFilter<>(this.expectedKeys, this.falsePositiveRate);   // Shared by the segments of an evaluation
+
+        return () -> filter;
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.util.BloomFilter&lt;A&gt;, T, T&gt;
+     */
+    @Override
+    public Integrator<BloomFilter<A>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            if (state.put(this.selector.apply(item))) {
+                return downstream.push(item);
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /**
+     * A function which accepts two intermediate states and combines them into one.
+     * Used for parallel streams to combine states from different segments.
+     *
+     * @return  java.util.function.BinaryOperator&lt;net.jmp.demo.java22.util.BloomFilter&lt;A&gt;&gt;
+     */
+    @Override
+    public BinaryOperator<BloomFilter<A>> combiner() {
+        return (first, second) -> {
+            if (first != second) {
+                first.merge(second);
+            }
+
+            return first;
+        };
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.util.BloomFilter&lt;A&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<BloomFilter<A>, Downstream<? super T>> finisher() {
+        return (state, _) -> state.clear();    // A composed gatherer reuses the filter in its next evaluation
+    }
+}
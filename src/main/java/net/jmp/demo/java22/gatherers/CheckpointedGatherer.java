@@ -0,0 +1,173 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)CheckpointedGatherer.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.nio.file.Path;
+
+import java.util.Objects;
+
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+import net.jmp.demo.java22.util.Codec;
+
+/**
+ * This gatherer wraps another and writes its state to a checkpoint file through
+ * a codec every so many elements. If the checkpoint file exists when a stream
+ * starts, the state is restored from it; the caller skips the number of source
+ * elements given by Checkpoints.offset so that processing resumes where the
+ * checkpoint was taken. The checkpoint is deleted once the finisher completes.
+ * The state is restored exactly, but elements the wrapped gatherer pushed after
+ * the last checkpoint are pushed again on resumption. The optional combiner
+ * operation is not present in this gatherer, as a source offset only has
+ * meaning for a sequential stream.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ * @param   <A> The type of the wrapped gatherer's state
+ * @param   <R> The type of result
+ */
+public final class CheckpointedGatherer<T, A, R> implements Gatherer<T, CheckpointedGathererState<A>, R> {
+    /** The wrapped gatherer. */
+    private final Gatherer<T, A, R> gatherer;
+
+    /** The state codec. */
+    private final Codec<A> stateCodec;
+
+    /** The checkpoint file. */
+    private final Path file;
+
+    /** The number of elements between checkpoints. */
+    private final long everyElements;
+
+    /**
+     * The constructor.
+     *
+     * @param   gatherer        java.util.stream.Gatherer&lt;T, A, R&gt;
+     * @param   stateCodec      net.jmp.demo.java22.util.Codec&lt;A&gt;
+     * @param   file            java.nio.file.Path
+     * @param   everyElements   long
+     */
+    public CheckpointedGatherer(final Gatherer<T, A, R> gatherer,
+                                final Codec<A> stateCodec,
+                                final Path file,
+                                final long everyElements) {
+        if (everyElements <= 0) {
+            throw new IllegalArgumentException("Every elements must be greater than 0");
+        }
+
+        this.gatherer = Objects.requireNonNull(gatherer);
+        this.stateCodec = Objects.requireNonNull(stateCodec);
+        this.file = Objects.requireNonNull(file);
+        this.everyElements = everyElements;
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.CheckpointedGathererState&lt;A&gt;&gt;
+     */
+    @Override
+    public Supplier<CheckpointedGathererState<A>> initializer() {
+        final Supplier<A> initializer = this.gatherer.initializer();
+
+        return () -> {
+            final Checkpoints.Checkpoint<A> checkpoint = Checkpoints.read(this.file, this.stateCodec);
+
+            return checkpoint == null
+                    ? new CheckpointedGathererState<>(initializer.get(), 0)
+                    : new CheckpointedGathererState<>(checkpoint.state(), checkpoint.offset());
+        };
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.CheckpointedGathererState&lt;A&gt;, T, R&gt;
+     */
+    @Override
+    public Integrator<CheckpointedGathererState<A>, T, R> integrator() {
+        final Integrator<A, T, R> integrator = this.gatherer.integrator();
+
+        final Integrator<CheckpointedGathererState<A>, T, R> checkpointed = (state, item, downstream) -> {
+            final boolean more = integrator.integrate(state.state, item, downstream);
+
+            state.offset++;
+
+            if (++state.sinceCheckpoint == this.everyElements) {
+                Checkpoints.write(this.file, state.offset, state.state, this.stateCodec);
+
+                state.sinceCheckpoint = 0;
+            }
+
+            return more;
+        };
+
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R). The checkpointed integrator is
+         * greedy whenever the wrapped one is.
+         */
+
+        if (integrator instanceof Integrator.Greedy<A, T, R>) {
+            return Integrator.<CheckpointedGathererState<A>, T, R>ofGreedy(checkpointed::integrate);
+        }
+
+        return Integrator.of(checkpointed);
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.CheckpointedGathererState&lt;A&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<CheckpointedGathererState<A>, Downstream<? super R>> finisher() {
+        final BiConsumer<A, Downstream<? super R>> finisher = this.gatherer.finisher();
+
+        return (state, downstream) -> {
+            finisher.accept(state.state, downstream);
+
+            Checkpoints.delete(this.file);   // The next stream starts afresh
+        };
+    }
+}
@@ -0,0 +1,285 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)Checkpoints.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import net.jmp.demo.java22.util.Codec;
+
+/**
+ * Reads and writes gatherer checkpoints. A checkpoint file holds a
+ * magic number, a format version and the source offset, then the
+ * state as encoded by its codec, then a trailer of the length of the
+ * encoded state and its CRC-32. The state is encoded straight to a
+ * temporary file, so a checkpoint is never held in memory and may
+ * be of any size. The file is forced to disk and moved over the
+ * previous one, so a crash leaves either the old checkpoint or the
+ * new one. Reading streams over the state once to verify the trailer
+ * before decoding it.
+ */
+public final class Checkpoints {
+    /** The magic number: "JMPC". */
+    private static final int MAGIC = 0x4A4D5043;
+
+    /** The format version. */
+    private static final byte VERSION = 2;
+
+    /** The size of the magic number, version and offset. */
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES + Long.BYTES;
+
+    /** The size of the length and CRC. */
+    private static final int TRAILER_SIZE = Long.BYTES + Long.BYTES;
+
+    /** The size of the buffers used to read and write. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The default constructor.
+     */
+    private Checkpoints() {
+        super();
+    }
+
+    /**
+     * Return the source offset to resume from: the number of
+     * elements the checkpointed state covers, or zero if there
+     * is no checkpoint.
+     *
+     * @param   file    java.nio.file.Path
+     * @return          long
+     */
+    public static long offset(final Path file) {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        try (final DataInputStream input = new DataInputStream(Files.newInputStream(file))) {
+            checkHeader(input, file);
+
+            return input.readLong();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Delete the checkpoint if there is one.
+     *
+     * @param   file    java.nio.file.Path
+     */
+    public static void delete(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Read the checkpoint, or return null if there is none.
+     *
+     * @param   file    java.nio.file.Path
+     * @param   codec   net.jmp.demo.java22.util.Codec&lt;A&gt;
+     * @return          net.jmp.demo.java22.gatherers.Checkpoints.Checkpoint&lt;A&gt;
+     * @param   <A>     The type of state
+     */
+    static <A> Checkpoint<A> read(final Path file, final Codec<A> codec) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try {
+            verify(file);
+
+            try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+                checkHeader(input, file);
+
+                final long offset = input.readLong();
+
+                return new Checkpoint<>(offset, codec.decode(input));
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write a checkpoint, replacing any previous one.
+     *
+     * @param   file    java.nio.file.Path
+     * @param   offset  long
+     * @param   state   A
+     * @param   codec   net.jmp.demo.java22.util.Codec&lt;A&gt;
+     * @param   <A>     The type of state
+     */
+    static <A> void write(final Path file, final long offset, final A state, final Codec<A> codec) {
+        final Path temporary = file.resolveSibling(STR."\{file.getFileName()}.tmp");
+
+        try {
+            try (final FileChannel channel = FileChannel.open(temporary,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+
+                output.writeInt(MAGIC);
+                output.writeByte(VERSION);
+                output.writeLong(offset);
+
+                final CRC32 crc = new CRC32();
+                final DataOutputStream payload = new DataOutputStream(new CheckedOutputStream(output, crc));
+
+                codec.encode(state, payload);
+                payload.flush();
+
+                output.writeLong(channel.position() - HEADER_SIZE);     // The payload has been flushed through the channel
+                output.writeLong(crc.getValue());
+                output.flush();
+
+                channel.force(true);
+            }
+
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            deleteTemporary(temporary, e);
+
+            throw new UncheckedIOException(e);
+        } catch (final RuntimeException | Error e) {
+            deleteTemporary(temporary, e);     // E.g. the codec failed
+
+            throw e;
+        }
+    }
+
+    /**
+     * Delete the temporary file of a failed write,
+     * adding any failure to delete it to the cause.
+     *
+     * @param   temporary   java.nio.file.Path
+     * @param   cause       java.lang.Throwable
+     */
+    private static void deleteTemporary(final Path temporary, final Throwable cause) {
+        try {
+            Files.deleteIfExists(temporary);
+        } catch (final IOException suppressed) {
+            cause.addSuppressed(suppressed);
+        }
+    }
+
+    /**
+     * Check the checkpoint's trailer against
+     * its encoded state without decoding it.
+     *
+     * @param   file    java.nio.file.Path
+     * @throws          java.io.IOException
+     */
+    private static void verify(final Path file) throws IOException {
+        final long length = Files.size(file) - HEADER_SIZE - TRAILER_SIZE;
+
+        if (length < 0) {
+            throw new IOException(STR."The checkpoint \{file} is truncated");
+        }
+
+        try (final InputStream stream = Files.newInputStream(file)) {
+            final DataInputStream input = new DataInputStream(stream);
+
+            checkHeader(input, file);
+            input.readLong();
+
+            final CRC32 crc = new CRC32();
+            final byte[] buffer = new byte[(int) Math.min(BUFFER_SIZE, Math.max(length, 1))];
+
+            long remaining = length;
+
+            while (remaining > 0) {
+                final int read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+
+                if (read < 0) {
+                    throw new IOException(STR."The checkpoint \{file} is truncated");
+                }
+
+                crc.update(buffer, 0, read);
+                remaining -= read;
+            }
+
+            if (input.readLong() != length || input.readLong() != crc.getValue()) {
+                throw new IOException(STR."The checkpoint \{file} is corrupt");
+            }
+        }
+    }
+
+    /**
+     * Check the magic number and version.
+     *
+     * @param   input   java.io.DataInputStream
+     * @param   file    java.nio.file.Path
+     * @throws          java.io.IOException
+     */
+    private static void checkHeader(final DataInputStream input, final Path file) throws IOException {
+        if (input.readInt() != MAGIC) {
+            throw new IOException(STR."\{file} is not a checkpoint");
+        }
+
+        final byte version = input.readByte();
+
+        if (version != VERSION) {
+            throw new IOException(STR."The checkpoint \{file} has unsupported version \{version}");
+        }
+    }
+
+    /**
+     * A checkpointed state and the number
+     * of source elements it covers.
+     *
+     * @param   offset  long
+     * @param   state   A
+     * @param   <A>     The type of state
+     */
+    record Checkpoint<A>(long offset, A state) {
+    }
+}
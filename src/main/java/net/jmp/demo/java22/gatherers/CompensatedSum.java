@@ -0,0 +1,69 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)CompensatedSum.java   0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * A Kahan-Babuska compensated sum, which keeps rounding errors
+ * from building up when many values are added and removed.
+ */
+final class CompensatedSum {
+    /** The sum. */
+    private double sum;
+
+    /** The low-order bits lost from the sum. */
+    private double compensation;
+
+    /**
+     * Add the value.
+     *
+     * @param   value   double
+     */
+    void add(final double value) {
+        final double total = this.sum + value;
+
+        if (Math.abs(this.sum) >= Math.abs(value)) {
+            this.compensation += (this.sum - total) + value;
+        } else {
+            this.compensation += (value - total) + this.sum;
+        }
+
+        this.sum = total;
+    }
+
+    /**
+     * Return the sum.
+     *
+     * @return  double
+     */
+    double get() {
+        return this.sum + this.compensation;
+    }
+}
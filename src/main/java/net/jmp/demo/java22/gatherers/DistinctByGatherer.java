@@ -1,10 +1,11 @@
 package net.jmp.demo.java22.gatherers;
 
 /*
+ * (#)DistinctByGatherer.java   0.10.0  10/18/2026
  * (#)DistinctByGatherer.java   0.4.0   08/09/2024
  *
  * @author   Jonathan Parker
- * @version  0.4.0
+ * @version  0.10.0
  * @since    0.4.0
  *
  * MIT License
@@ -31,9 +32,14 @@ package net.jmp.demo.java22.gatherers;
  */
 
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Objects;
 import java.util.Set;
 
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -41,34 +47,63 @@ import java.util.stream.Gatherer;
 
 /**
  * This gatherer ensures stream elements are unique based on a selector function.
- * The optional combiner operation is not present in this gatherer.
- * The optional finisher operation is not present in this gatherer.
+ * In sequential mode the combiner operation is not present and elements are pushed
+ * as soon as they are seen. In ordered mode each segment keeps the first element of
+ * each key, the combiner merges the segments, and the finisher pushes the elements
+ * in encounter order. In unordered mode the segments of a stream share a concurrent
+ * set, which is created each time the stream asks for the initializer. A gatherer
+ * composed with andThen keeps the initializer it first asked for, so the set is
+ * cleared when each evaluation finishes; such a composed instance may be reused by
+ * one stream after another but not run by two at once.
  *
  * @param   <T> The type of input elements to the gathering operation
  * @param   <A> The potentially mutable state type of the gathering operation
  */
-public final class DistinctByGatherer<T, A> implements Gatherer<T, Set<A>, T> {
+public final class DistinctByGatherer<T, A> implements Gatherer<T, DistinctByGathererState<T, A>, T> {
     /** The selector function. */
     private final Function<T, A> selector;
 
+    /** The parallel mode. */
+    private final ParallelMode mode;
+
     /**
      * The constructor.
      *
      * @param   selector    java.util.function.Function&lt;T, A&gt;
      */
     public DistinctByGatherer(final Function<T, A> selector) {
+        this(selector, ParallelMode.SEQUENTIAL);
+    }
+
+    /**
+     * A constructor that takes the parallel mode.
+     *
+     * @param   selector    java.util.function.Function&lt;T, A&gt;
+     * @param   mode        net.jmp.demo.java22.gatherers.ParallelMode
+     * @since               0.10.0
+     */
+    public DistinctByGatherer(final Function<T, A> selector, final ParallelMode mode) {
         this.selector = Objects.requireNonNull(selector);
+        this.mode = Objects.requireNonNull(mode);
     }
 
     /**
      * A function that produces an instance of the intermediate
      * state used for this gathering operation.
      *
-     * @return  java.util.function.Supplier&lt;java.util.Set&lt;A&gt;&gt;
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.DistinctByGathererState&lt;T, A&gt;&gt;
      */
     @Override
-    public Supplier<Set<A>> initializer() {
-        return HashSet::new;
+    public Supplier<DistinctByGathererState<T, A>> initializer() {
+        return switch (this.mode) {
+            case SEQUENTIAL -> () -> new DistinctByGathererState<>(new HashSet<>(), null);
+            case ORDERED -> () -> new DistinctByGathererState<>(null, new LinkedHashMap<>());
+            case UNORDERED -> {
+                final Set<A> seen = ConcurrentHashMap.newKeySet();  // Shared by the segments of an evaluation
+
+                yield () -> new DistinctByGathererState<>(seen, null);
+            }
+        };
     }
 
     /**
@@ -77,10 +112,10 @@ public final class DistinctByGatherer<T, A> implements Gatherer<T, Set<A>, T> {
      * optionally producing output to the provided
      * downstream type.
      *
-     * @return  java.util.stream.Gatherer.Integrator&lt;java.util.Set&lt;A&gt;, T, T&gt;
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.DistinctByGathererState&lt;T, A&gt;, T, T&gt;
      */
     @Override
-    public Integrator<Set<A>, T, T> integrator() {
+    public Integrator<DistinctByGathererState<T, A>, T, T> integrator() {
         /*
          * Greedy integrators consume all their input,
          * and may only relay that the downstream does
@@ -89,12 +124,18 @@ public final class DistinctByGatherer<T, A> implements Gatherer<T, Set<A>, T> {
          * result type (R).
          */
 
+        if (this.mode == ParallelMode.ORDERED) {
+            return Integrator.ofGreedy((state, item, _) -> {
+                state.firstElements.putIfAbsent(this.selector.apply(item), item);
+
+                return true;    // True if subsequent integration is desired
+            });
+        }
+
         return Integrator.ofGreedy((state, item, downstream) -> {
             final A selected = this.selector.apply(item);   // Apply the selector function
 
-            if (!state.contains(selected)) {
-                state.add(selected);
-
+            if (state.seen.add(selected)) {
                 if (!downstream.push(item)) {
                     System.err.println(STR."Failed to push \{item} downstream");
 
@@ -105,4 +146,48 @@ public final class DistinctByGatherer<T, A> implements Gatherer<T, Set<A>, T> {
             return true;    // True if subsequent integration is desired
         });
     }
+
+    /**
+     * A function which accepts two intermediate states and combines them into one.
+     * Used for parallel streams to combine states from different segments.
+     *
+     * @return  java.util.function.BinaryOperator&lt;net.jmp.demo.java22.gatherers.DistinctByGathererState&lt;T, A&gt;&gt;
+     */
+    @Override
+    public BinaryOperator<DistinctByGathererState<T, A>> combiner() {
+        return switch (this.mode) {
+            case SEQUENTIAL -> Gatherer.defaultCombiner();
+            case ORDERED -> (first, second) -> {
+                // The first segment precedes the second, so its elements win
+
+                second.firstElements.forEach(first.firstElements::putIfAbsent);
+
+                return first;
+            };
+            case UNORDERED -> (first, _) -> first;     // Both share the seen set
+        };
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.DistinctByGathererState&lt;T, A&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<DistinctByGathererState<T, A>, Downstream<? super T>> finisher() {
+        return switch (this.mode) {
+            case SEQUENTIAL -> Gatherer.defaultFinisher();
+            case UNORDERED -> (state, _) -> state.seen.clear();    // A composed gatherer reuses the set in its next evaluation
+            case ORDERED -> (state, downstream) -> {
+                for (final T element : state.firstElements.values()) {
+                    if (!downstream.push(element)) {
+                        break;
+                    }
+                }
+            };
+        };
+    }
 }
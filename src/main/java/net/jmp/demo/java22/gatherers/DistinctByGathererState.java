@@ -0,0 +1,71 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)DistinctByGathererState.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The internal state of the distinct-by gatherer.
+ *
+ * @param   <T> The type of element
+ * @param   <A> The type of selected key
+ */
+public final class DistinctByGathererState<T, A> implements SizedState {
+    /** The keys seen so far; null when ordered. */
+    final Set<A> seen;
+
+    /** The first element of each key in encounter order; null unless ordered. */
+    final Map<A, T> firstElements;
+
+    /**
+     * The constructor.
+     *
+     * @param   seen            java.util.Set&lt;A&gt;
+     * @param   firstElements   java.util.Map&lt;A, T&gt;
+     */
+    DistinctByGathererState(final Set<A> seen, final Map<A, T> firstElements) {
+        super();
+
+        this.seen = seen;
+        this.firstElements = firstElements;
+    }
+
+    /**
+     * Return the number of keys seen.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return this.seen != null ? this.seen.size() : this.firstElements.size();
+    }
+}
@@ -0,0 +1,132 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)DistinctByWithinGatherer.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Objects;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer drops elements whose selected key was already seen within a window:
+ * either the previous number of elements, or a span of event time ending at the
+ * element. Keys are kept in an access-ordered map and forgotten once they fall out of
+ * the window, so memory is bounded by the number of keys seen within one window while
+ * near-duplicates are still suppressed exactly. Every occurrence, including a dropped
+ * one, renews its key. The optional combiner operation is not present in this gatherer.
+ * The optional finisher operation is not present in this gatherer.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ * @param   <A> The type of key selected from each element
+ */
+public final class DistinctByWithinGatherer<T, A> implements Gatherer<T, DistinctByWithinGathererState<A>, T> {
+    /** The selector function. */
+    private final Function<T, A> selector;
+
+    /** The event time of each element; null for count windows. */
+    private final ToLongFunction<T> eventTime;
+
+    /** The window in elements or in units of event time. */
+    private final long window;
+
+    /**
+     * A constructor for a window of the given number of elements.
+     *
+     * @param   selector    java.util.function.Function&lt;T, A&gt;
+     * @param   elements    long
+     */
+    public DistinctByWithinGatherer(final Function<T, A> selector, final long elements) {
+        this(selector, elements, null);
+    }
+
+    /**
+     * A constructor for a window of event time. The event times are
+     * in any unit, such as epoch milliseconds, that the window is in.
+     *
+     * @param   selector    java.util.function.Function&lt;T, A&gt;
+     * @param   window      long
+     * @param   eventTime   java.util.function.ToLongFunction&lt;T&gt;
+     */
+    public DistinctByWithinGatherer(final Function<T, A> selector,
+                                    final long window,
+                                    final ToLongFunction<T> eventTime) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be greater than 0");
+        }
+
+        this.selector = Objects.requireNonNull(selector);
+        this.window = window;
+        this.eventTime = eventTime;
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.DistinctByWithinGathererState&lt;A&gt;&gt;
+     */
+    @Override
+    public Supplier<DistinctByWithinGathererState<A>> initializer() {
+        return DistinctByWithinGathererState::new;
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.DistinctByWithinGathererState&lt;A&gt;, T, T&gt;
+     */
+    @Override
+    public Integrator<DistinctByWithinGathererState<A>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            final long position = this.eventTime == null ? state.count++ : this.eventTime.applyAsLong(item);
+
+            if (!state.seen(this.selector.apply(item), position, this.window)) {
+                return downstream.push(item);
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+}
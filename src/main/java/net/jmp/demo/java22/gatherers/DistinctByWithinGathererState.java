@@ -0,0 +1,89 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)DistinctByWithinGathererState.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The internal state of the distinct-by-within gatherer: the
+ * position each key was last seen at, least recently seen first.
+ *
+ * @param   <A> The type of selected key
+ */
+public final class DistinctByWithinGathererState<A> implements SizedState {
+    /** The position each key was last seen at, in access order. */
+    private final Map<A, Long> lastSeen = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The number of elements seen, which is the position in count windows. */
+    long count;
+
+    /**
+     * Record the key at the position, forgetting keys last
+     * seen more than the window before it. True is returned
+     * if the key was seen within the window.
+     *
+     * @param   key         A
+     * @param   position    long
+     * @param   window      long
+     * @return              boolean
+     */
+    boolean seen(final A key, final long position, final long window) {
+        final Iterator<Long> positions = this.lastSeen.values().iterator();
+
+        while (positions.hasNext()) {
+            if (position - positions.next() <= window) {
+                break;
+            }
+
+            positions.remove();
+        }
+
+        final Long previous = this.lastSeen.get(key);   // Moves the key to the end
+
+        if (previous == null || previous < position) {
+            this.lastSeen.put(key, position);
+        }
+
+        return previous != null && position - previous <= window;
+    }
+
+    /**
+     * Return the number of keys seen within the window.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return this.lastSeen.size();
+    }
+}
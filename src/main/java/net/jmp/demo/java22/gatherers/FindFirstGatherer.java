@@ -1,10 +1,11 @@
 package net.jmp.demo.java22.gatherers;
 
 /*
+ * (#)FindFirstGatherer.java    0.10.0  10/18/2026
  * (#)FindFirstGatherer.java    0.4.0   08/10/2024
  *
  * @author   Jonathan Parker
- * @version  0.4.0
+ * @version  0.10.0
  * @since    0.4.0
  *
  * MIT License
@@ -30,24 +31,39 @@ package net.jmp.demo.java22.gatherers;
  * SOFTWARE.
  */
 
+import java.util.Comparator;
 import java.util.Objects;
 
+import java.util.concurrent.atomic.AtomicReference;
+
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import java.util.stream.Gatherer;
 
 /**
  * This gatherer filters out items based on a predicate function and returns the first.
- * The optional initializer operation is not present in this gatherer.
- * The optional combiner operation is not present in this gatherer.
- * The optional finisher operation is not present in this gatherer.
+ * Each segment stops at its own first match and the combiner keeps the left-most one,
+ * so the search can be shared by a parallel stream. When the stream is known to be
+ * sorted, the gatherer can be given its sort order; the segments then share the
+ * lowest match found so far and stop as soon as they pass it, which cancels the
+ * segments to its right. That match is shared through the states that one
+ * initializer creates. A stream asks for the initializer once per evaluation,
+ * but a gatherer composed with andThen keeps the one it first asked for, so
+ * the match is cleared when each evaluation finishes; such a composed instance
+ * may be reused by one stream after another but not run by two at once.
  *
  * @param   <T> The type of input elements to the gathering operation
  */
-public final class FindFirstGatherer<T> implements Gatherer<T, T, T> {
+public final class FindFirstGatherer<T> implements Gatherer<T, FindFirstGathererState<T>, T> {
     /** The predicate function. */
     private final Predicate<T> predicate;
 
+    /** The order the stream is sorted in; null if unknown. */
+    private final Comparator<? super T> sortOrder;
+
     /**
      * The constructor.
      *
@@ -55,6 +71,32 @@ public final class FindFirstGatherer<T> implements Gatherer<T, T, T> {
      */
     public FindFirstGatherer(final Predicate<T> predicate) {
         this.predicate = Objects.requireNonNull(predicate);
+        this.sortOrder = null;
+    }
+
+    /**
+     * A constructor that takes the order the stream is sorted in.
+     *
+     * @param   predicate   java.util.function.Predicate&lt;T&gt;
+     * @param   sortOrder   java.util.Comparator&lt;? super T&gt;
+     * @since               0.10.0
+     */
+    public FindFirstGatherer(final Predicate<T> predicate, final Comparator<? super T> sortOrder) {
+        this.predicate = Objects.requireNonNull(predicate);
+        this.sortOrder = Objects.requireNonNull(sortOrder);
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.FindFirstGathererState&lt;T&gt;&gt;
+     */
+    @Override
+    public Supplier<FindFirstGathererState<T>> initializer() {
+        final AtomicReference<T> bound = new AtomicReference<>();  // Shared by the segments of an evaluation
+
+        return () -> new FindFirstGathererState<>(bound);
     }
 
     /**
@@ -63,21 +105,43 @@ public final class FindFirstGatherer<T> implements Gatherer<T, T, T> {
      * optionally producing output to the provided
      * downstream type.
      *
-     * @return  java.util.stream.Gatherer.Integrator&lt;T, T, T&gt;
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.FindFirstGathererState&lt;T&gt;, T, T&gt;
      */
     @Override
-    public Integrator<T, T, T> integrator() {
+    public Integrator<FindFirstGathererState<T>, T, T> integrator() {
         /*
-         * Greedy integrators consume all their input,
-         * and may only relay that the downstream does
-         * not want more elements. The greedy lambda is
+         * This integrator is not greedy; it stops the
+         * segment at the first match. The lambda is
          * the state (A), the element type (T), and the
          * result type (R).
          */
 
-        return Integrator.ofGreedy((_, item, downstream) -> {
+        if (this.sortOrder == null) {
+            return Integrator.of((state, item, _) -> {
+                if (this.predicate.test(item)) {
+                    state.firstElement = item;
+                    state.found = true;
+
+                    return false;   // No subsequent integration is desired
+                } else {
+                    return true;    // True if subsequent integration is desired
+                }
+            });
+        }
+
+        return Integrator.of((state, item, _) -> {
+            final T lowest = state.bound.get();
+
+            if (lowest != null && this.sortOrder.compare(item, lowest) > 0) {
+                return false;   // Another segment has an earlier match
+            }
+
             if (this.predicate.test(item)) {
-                downstream.push(item);
+                state.firstElement = item;
+                state.found = true;
+
+                state.bound.accumulateAndGet(item, (current, found) ->
+                        current == null || this.sortOrder.compare(found, current) < 0 ? found : current);
 
                 return false;   // No subsequent integration is desired
             } else {
@@ -85,4 +149,34 @@ public final class FindFirstGatherer<T> implements Gatherer<T, T, T> {
             }
         });
     }
+
+    /**
+     * A function which accepts two intermediate states and combines them into one.
+     * Used for parallel streams to combine states from different segments.
+     *
+     * @return  java.util.function.BinaryOperator&lt;net.jmp.demo.java22.gatherers.FindFirstGathererState&lt;T&gt;&gt;
+     */
+    @Override
+    public BinaryOperator<FindFirstGathererState<T>> combiner() {
+        return (first, second) -> first.found ? first : second;
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.FindFirstGathererState&lt;T&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<FindFirstGathererState<T>, Downstream<? super T>> finisher() {
+        return (state, downstream) -> {
+            state.bound.set(null);  // A composed gatherer reuses the bound in its next evaluation
+
+            if (state.found) {
+                downstream.push(state.firstElement);
+            }
+        };
+    }
 }
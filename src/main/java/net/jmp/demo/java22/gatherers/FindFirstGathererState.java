@@ -0,0 +1,70 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)FindFirstGathererState.java   0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The internal state of the find first gatherer.
+ *
+ * @param   <T> The type of element
+ */
+public final class FindFirstGathererState<T> implements SizedState {
+    /** The first matching element. */
+    T firstElement;
+
+    /** True once an element has matched; the element itself may be null. */
+    boolean found;
+
+    /** The lowest match found by any segment; null until one is found or if unsorted. */
+    final AtomicReference<T> bound;
+
+    /**
+     * The constructor.
+     *
+     * @param   bound   java.util.concurrent.atomic.AtomicReference&lt;T&gt;
+     */
+    FindFirstGathererState(final AtomicReference<T> bound) {
+        super();
+
+        this.bound = bound;
+    }
+
+    /**
+     * Return one if an element has matched, otherwise zero.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return this.found ? 1 : 0;
+    }
+}
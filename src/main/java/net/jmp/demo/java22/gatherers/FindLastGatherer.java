@@ -1,10 +1,11 @@
 package net.jmp.demo.java22.gatherers;
 
 /*
+ * (#)FindLastGatherer.java 0.10.0  10/18/2026
  * (#)FindLastGatherer.java 0.4.0   08/10/2024
  *
  * @author   Jonathan Parker
- * @version  0.4.0
+ * @version  0.10.0
  * @since    0.4.0
  *
  * MIT License
@@ -33,6 +34,7 @@ package net.jmp.demo.java22.gatherers;
 import java.util.*;
 
 import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -40,11 +42,12 @@ import java.util.stream.Gatherer;
 
 /**
  * This gatherer filters out items based on a predicate function and returns the last.
- * The optional combiner operation is not present in this gatherer.
+ * Only the latest match is kept, and nothing is pushed if no element matches. The
+ * combiner keeps the match of the right-most segment that has one.
  *
  * @param   <T> The type of input elements to the gathering operation
  */
-public final class FindLastGatherer<T>  implements Gatherer<T, List<T>, T> {
+public final class FindLastGatherer<T>  implements Gatherer<T, FindLastGathererState<T>, T> {
     /** The predicate function. */
     private final Predicate<T> predicate;
 
@@ -57,15 +60,35 @@ public final class FindLastGatherer<T>  implements Gatherer<T, List<T>, T> {
         this.predicate = Objects.requireNonNull(predicate);
     }
 
+    /**
+     * Find the last matching element of a sequenced
+     * collection by scanning it from the end, which
+     * stops at the first match rather than reading
+     * the whole source.
+     *
+     * @param   source  java.util.SequencedCollection&lt;? extends T&gt;
+     * @return          java.util.Optional&lt;T&gt;
+     * @since           0.10.0
+     */
+    public Optional<T> findIn(final SequencedCollection<? extends T> source) {
+        for (final T item : source.reversed()) {
+            if (this.predicate.test(item)) {
+                return Optional.ofNullable(item);
+            }
+        }
+
+        return Optional.empty();
+    }
+
     /**
      * A function that produces an instance of the intermediate
      * state used for this gathering operation.
      *
-     * @return  java.util.function.Supplier&lt;java.util.List&lt;A&gt;&gt;
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.FindLastGathererState&lt;T&gt;&gt;
      */
     @Override
-    public Supplier<List<T>> initializer() {
-        return ArrayList::new;
+    public Supplier<FindLastGathererState<T>> initializer() {
+        return FindLastGathererState::new;
     }
 
     /**
@@ -74,10 +97,10 @@ public final class FindLastGatherer<T>  implements Gatherer<T, List<T>, T> {
      * optionally producing output to the provided
      * downstream type.
      *
-     * @return  java.util.stream.Gatherer.Integrator&lt;java.util.List&lt;T&gt;, T, T&gt;
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.FindLastGathererState&lt;T&gt;, T, T&gt;
      */
     @Override
-    public Integrator<List<T>, T, T> integrator() {
+    public Integrator<FindLastGathererState<T>, T, T> integrator() {
         /*
          * Greedy integrators consume all their input,
          * and may only relay that the downstream does
@@ -88,28 +111,39 @@ public final class FindLastGatherer<T>  implements Gatherer<T, List<T>, T> {
 
         return Integrator.ofGreedy((state, item, _) -> {
             if (this.predicate.test(item)) {
-                state.add(item);
+                state.lastElement = item;
+                state.found = true;
             }
 
             return true;    // True if subsequent integration is desired
         });
     }
 
+    /**
+     * A function which accepts two intermediate states and combines them into one.
+     * Used for parallel streams to combine states from different segments.
+     *
+     * @return  java.util.function.BinaryOperator&lt;net.jmp.demo.java22.gatherers.FindLastGathererState&lt;T&gt;&gt;
+     */
+    @Override
+    public BinaryOperator<FindLastGathererState<T>> combiner() {
+        return (first, second) -> second.found ? second : first;
+    }
+
     /**
      * A function which accepts the final intermediate state and a
      * downstream object, allowing to perform a final action at the
      * end of input elements. The lambda is the state (A) and the
      * result type (R).
      *
-     * @return  java.util.function.BiConsumer&lt;java.util.List&lt;T&gt;, java.util.stream.Gatherer.Downstream&gt;
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.FindLastGathererState&lt;T&gt;, java.util.stream.Gatherer.Downstream&gt;
      */
     @Override
-    public BiConsumer<List<T>, Downstream<? super T>> finisher () {
+    public BiConsumer<FindLastGathererState<T>, Downstream<? super T>> finisher () {
         return (state, downstream) -> {
-            final int count = state.size();
-            final T lastItem = state.get(count - 1);
-
-            downstream.push(lastItem);
+            if (state.found) {
+                downstream.push(state.lastElement);
+            }
         };
     }
 }
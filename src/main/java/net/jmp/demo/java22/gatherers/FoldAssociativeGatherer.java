@@ -0,0 +1,140 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)FoldAssociativeGatherer.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Objects;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer folds the elements into a single result, as
+ * java.util.stream.Gatherers.fold does, but with a combiner so that it can
+ * run in parallel. Each segment starts from a new identity, so the result may
+ * be a mutable container, such as a StringBuilder or a histogram, that the
+ * accumulator updates in place and returns. The combiner must be associative
+ * and may likewise merge the right result into the left one and return it.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ * @param   <R> The type of result
+ */
+public final class FoldAssociativeGatherer<T, R> implements Gatherer<T, FoldAssociativeGathererState<R>, R> {
+    /** Supplies the identity for each segment. */
+    private final Supplier<R> identity;
+
+    /** The accumulator. */
+    private final BiFunction<R, ? super T, R> accumulator;
+
+    /** The combiner. */
+    private final BinaryOperator<R> combiner;
+
+    /**
+     * The constructor.
+     *
+     * @param   identity    java.util.function.Supplier&lt;R&gt;
+     * @param   accumulator java.util.function.BiFunction&lt;R, ? super T, R&gt;
+     * @param   combiner    java.util.function.BinaryOperator&lt;R&gt;
+     */
+    public FoldAssociativeGatherer(final Supplier<R> identity,
+                                   final BiFunction<R, ? super T, R> accumulator,
+                                   final BinaryOperator<R> combiner) {
+        this.identity = Objects.requireNonNull(identity);
+        this.accumulator = Objects.requireNonNull(accumulator);
+        this.combiner = Objects.requireNonNull(combiner);
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.FoldAssociativeGathererState&lt;R&gt;&gt;
+     */
+    @Override
+    public Supplier<FoldAssociativeGathererState<R>> initializer() {
+        return () -> new FoldAssociativeGathererState<>(this.identity.get());
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.FoldAssociativeGathererState&lt;R&gt;, T, R&gt;
+     */
+    @Override
+    public Integrator<FoldAssociativeGathererState<R>, T, R> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            state.result = this.accumulator.apply(state.result, item);
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /**
+     * A function which accepts two intermediate states and combines them into one.
+     *
+     * @return  java.util.function.BinaryOperator&lt;net.jmp.demo.java22.gatherers.FoldAssociativeGathererState&lt;R&gt;&gt;
+     */
+    @Override
+    public BinaryOperator<FoldAssociativeGathererState<R>> combiner() {
+        return (left, right) -> {
+            left.result = this.combiner.apply(left.result, right.result);
+
+            return left;
+        };
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.FoldAssociativeGathererState&lt;R&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<FoldAssociativeGathererState<R>, Downstream<? super R>> finisher() {
+        return (state, downstream) -> downstream.push(state.result);
+    }
+}
@@ -0,0 +1,74 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)GathererEvent.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event for the combiner or
+ * finisher of an instrumented gatherer. Its
+ * duration is the time spent in that phase.
+ */
+@Name("net.jmp.demo.java22.Gatherer")
+@Label("Gatherer")
+@Category({"Java 22 Demo", "Gatherers"})
+@Description("The combiner or finisher of an instrumented gatherer")
+final class GathererEvent extends jdk.jfr.Event {
+    /** The name of the gatherer. */
+    @Label("Name")
+    String name;
+
+    /** The phase: combiner or finisher. */
+    @Label("Phase")
+    String phase;
+
+    /** The number of elements integrated by the states involved. */
+    @Label("Elements In")
+    long elementsIn;
+
+    /** The number of elements pushed downstream by the states involved. */
+    @Label("Elements Out")
+    long elementsOut;
+
+    /** The size of the state, or -1 if it is not measurable. */
+    @Label("State Size")
+    long stateSize;
+
+    /**
+     * The constructor.
+     */
+    GathererEvent() {
+        super();
+    }
+}
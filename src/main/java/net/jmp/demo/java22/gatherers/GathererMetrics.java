@@ -0,0 +1,223 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)GathererMetrics.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics collected by an instrumented gatherer. The counts and
+ * times accumulate over every stream the gatherer is used in.
+ * Recording is thread-safe so parallel segments can share one instance.
+ */
+public final class GathererMetrics {
+    /** The name of the gatherer. */
+    private final String name;
+
+    /** The number of elements integrated. */
+    private final LongAdder elementsIn = new LongAdder();
+
+    /** The number of elements pushed downstream. */
+    private final LongAdder elementsOut = new LongAdder();
+
+    /** The number of timed integrations. */
+    private final LongAdder sampledIntegrations = new LongAdder();
+
+    /** The time spent in timed integrations. */
+    private final LongAdder sampledIntegratorNanos = new LongAdder();
+
+    /** The number of combinations. */
+    private final LongAdder combines = new LongAdder();
+
+    /** The time spent combining. */
+    private final LongAdder combinerNanos = new LongAdder();
+
+    /** The number of times the finisher ran. */
+    private final LongAdder finishes = new LongAdder();
+
+    /** The time spent in the finisher. */
+    private final LongAdder finisherNanos = new LongAdder();
+
+    /** The largest state size seen, or -1 if the state is not measurable. */
+    private final AtomicLong maxStateSize = new AtomicLong(-1);
+
+    /**
+     * The constructor.
+     *
+     * @param   name    java.lang.String
+     */
+    GathererMetrics(final String name) {
+        super();
+
+        this.name = name;
+    }
+
+    /**
+     * Return the name of the gatherer.
+     *
+     * @return  java.lang.String
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Record elements integrated and pushed downstream.
+     *
+     * @param   in  long
+     * @param   out long
+     */
+    void recordElements(final long in, final long out) {
+        this.elementsIn.add(in);
+        this.elementsOut.add(out);
+    }
+
+    /**
+     * Record a timed integration.
+     *
+     * @param   nanos   long
+     */
+    void recordIntegration(final long nanos) {
+        this.sampledIntegrations.increment();
+        this.sampledIntegratorNanos.add(nanos);
+    }
+
+    /**
+     * Record a combination.
+     *
+     * @param   nanos   long
+     */
+    void recordCombine(final long nanos) {
+        this.combines.increment();
+        this.combinerNanos.add(nanos);
+    }
+
+    /**
+     * Record a run of the finisher.
+     *
+     * @param   nanos   long
+     */
+    void recordFinish(final long nanos) {
+        this.finishes.increment();
+        this.finisherNanos.add(nanos);
+    }
+
+    /**
+     * Record the size of a state.
+     *
+     * @param   size    long
+     */
+    void recordStateSize(final long size) {
+        this.maxStateSize.accumulateAndGet(size, Math::max);
+    }
+
+    /**
+     * Reset the counts and times, and forget the largest state
+     * size. A snapshot taken while recording continues may mix
+     * counts from before and after the reset.
+     */
+    void reset() {
+        this.elementsIn.reset();
+        this.elementsOut.reset();
+        this.sampledIntegrations.reset();
+        this.sampledIntegratorNanos.reset();
+        this.combines.reset();
+        this.combinerNanos.reset();
+        this.finishes.reset();
+        this.finisherNanos.reset();
+        this.maxStateSize.set(-1);
+    }
+
+    /**
+     * Return a snapshot of the metrics.
+     *
+     * @return  net.jmp.demo.java22.gatherers.GathererMetrics.Snapshot
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(
+                this.name,
+                this.elementsIn.sum(),
+                this.elementsOut.sum(),
+                this.sampledIntegrations.sum(),
+                this.sampledIntegratorNanos.sum(),
+                this.combines.sum(),
+                this.combinerNanos.sum(),
+                this.finishes.sum(),
+                this.finisherNanos.sum(),
+                this.maxStateSize.get()
+        );
+    }
+
+    /**
+     * A point-in-time copy of the metrics. The integrator
+     * times include the time spent downstream of the gatherer.
+     *
+     * @param   name                    java.lang.String
+     * @param   elementsIn              long
+     * @param   elementsOut             long
+     * @param   sampledIntegrations     long
+     * @param   sampledIntegratorNanos  long
+     * @param   combines                long
+     * @param   combinerNanos           long
+     * @param   finishes                long
+     * @param   finisherNanos           long
+     * @param   maxStateSize            long
+     */
+    public record Snapshot(String name,
+                           long elementsIn,
+                           long elementsOut,
+                           long sampledIntegrations,
+                           long sampledIntegratorNanos,
+                           long combines,
+                           long combinerNanos,
+                           long finishes,
+                           long finisherNanos,
+                           long maxStateSize) {
+        /**
+         * Return the mean time in nanoseconds of a timed integration.
+         *
+         * @return  double
+         */
+        public double meanIntegratorNanos() {
+            return this.sampledIntegrations == 0 ? 0.0 : (double) this.sampledIntegratorNanos / this.sampledIntegrations;
+        }
+
+        /**
+         * Return the number of elements pushed
+         * per element integrated.
+         *
+         * @return  double
+         */
+        public double selectivity() {
+            return this.elementsIn == 0 ? 0.0 : (double) this.elementsOut / this.elementsIn;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)GathererMetricsRegistry.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The registry of the metrics of instrumented gatherers by name.
+ * Gatherers instrumented under the same name share their metrics.
+ */
+public final class GathererMetricsRegistry {
+    /** The metrics by name. */
+    private static final Map<String, GathererMetrics> METRICS = new ConcurrentHashMap<>();
+
+    /**
+     * The default constructor.
+     */
+    private GathererMetricsRegistry() {
+        super();
+    }
+
+    /**
+     * Return the metrics for the name, creating them if needed.
+     *
+     * @param   name    java.lang.String
+     * @return          net.jmp.demo.java22.gatherers.GathererMetrics
+     */
+    public static GathererMetrics metrics(final String name) {
+        return METRICS.computeIfAbsent(name, GathererMetrics::new);
+    }
+
+    /**
+     * Return a snapshot of the metrics of every name, sorted by name.
+     *
+     * @return  java.util.Map&lt;java.lang.String, net.jmp.demo.java22.gatherers.GathererMetrics.Snapshot&gt;
+     */
+    public static Map<String, GathererMetrics.Snapshot> snapshots() {
+        final Map<String, GathererMetrics.Snapshot> snapshots = new TreeMap<>();
+
+        METRICS.forEach((name, metrics) -> snapshots.put(name, metrics.snapshot()));
+
+        return snapshots;
+    }
+
+    /**
+     * Reset the metrics of every name. The metrics stay
+     * registered, because instrumented gatherers hold on
+     * to theirs and keep recording into them.
+     */
+    public static void clear() {
+        METRICS.values().forEach(GathererMetrics::reset);
+    }
+}
@@ -0,0 +1,268 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)GathererStateCodecs.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import net.jmp.demo.java22.util.Codec;
+
+/**
+ * Codecs for the states of the stateful gatherers, for use
+ * with the checkpointed gatherer. The states are written
+ * compactly: a count followed by the encoded keys and
+ * elements. Cached keys of the max and min gatherers are
+ * not written; they are selected again after restoration.
+ */
+public final class GathererStateCodecs {
+    /**
+     * The default constructor.
+     */
+    private GathererStateCodecs() {
+        super();
+    }
+
+    /**
+     * Return a codec for the state of the reduce by gatherer.
+     *
+     * @param   keyCodec        net.jmp.demo.java22.util.Codec&lt;A&gt;
+     * @param   elementCodec    net.jmp.demo.java22.util.Codec&lt;T&gt;
+     * @return                  net.jmp.demo.java22.util.Codec&lt;java.util.Map&lt;A, T&gt;&gt;
+     * @param   <T>             The type of element
+     * @param   <A>             The type of key
+     */
+    public static <T, A> Codec<Map<A, T>> reduceBy(final Codec<A> keyCodec, final Codec<T> elementCodec) {
+        Objects.requireNonNull(keyCodec);
+        Objects.requireNonNull(elementCodec);
+
+        return new Codec<>() {
+            @Override
+            public void encode(final Map<A, T> value, final DataOutput output) throws IOException {
+                encodeMap(value, output, keyCodec, elementCodec);
+            }
+
+            @Override
+            public Map<A, T> decode(final DataInput input) throws IOException {
+                return decodeMap(input, keyCodec, elementCodec);
+            }
+        };
+    }
+
+    /**
+     * Return a codec for the state of the sequential
+     * or ordered distinct by gatherer.
+     *
+     * @param   keyCodec        net.jmp.demo.java22.util.Codec&lt;A&gt;
+     * @param   elementCodec    net.jmp.demo.java22.util.Codec&lt;T&gt;
+     * @return                  net.jmp.demo.java22.util.Codec&lt;net.jmp.demo.java22.gatherers.DistinctByGathererState&lt;T, A&gt;&gt;
+     * @param   <T>             The type of element
+     * @param   <A>             The type of key
+     */
+    public static <T, A> Codec<DistinctByGathererState<T, A>> distinctBy(final Codec<A> keyCodec,
+                                                                         final Codec<T> elementCodec) {
+        Objects.requireNonNull(keyCodec);
+        Objects.requireNonNull(elementCodec);
+
+        return new Codec<>() {
+            @Override
+            public void encode(final DistinctByGathererState<T, A> value, final DataOutput output) throws IOException {
+                output.writeBoolean(value.seen != null);
+
+                if (value.seen != null) {
+                    output.writeInt(value.seen.size());
+
+                    for (final A key : value.seen) {
+                        keyCodec.encode(key, output);
+                    }
+                }
+
+                output.writeBoolean(value.firstElements != null);
+
+                if (value.firstElements != null) {
+                    encodeMap(value.firstElements, output, keyCodec, elementCodec);
+                }
+            }
+
+            @Override
+            public DistinctByGathererState<T, A> decode(final DataInput input) throws IOException {
+                Set<A> seen = null;
+
+                if (input.readBoolean()) {
+                    final int size = input.readInt();
+
+                    seen = HashSet.newHashSet(size);
+
+                    for (int i = 0; i < size; i++) {
+                        seen.add(keyCodec.decode(input));
+                    }
+                }
+
+                final Map<A, T> firstElements = input.readBoolean()
+                        ? decodeMap(input, keyCodec, elementCodec)
+                        : null;
+
+                return new DistinctByGathererState<>(seen, firstElements);
+            }
+        };
+    }
+
+    /**
+     * Return a codec for the state of the max by gatherer.
+     *
+     * @param   elementCodec    net.jmp.demo.java22.util.Codec&lt;T&gt;
+     * @return                  net.jmp.demo.java22.util.Codec&lt;net.jmp.demo.java22.gatherers.MaxByGathererState&lt;T&gt;&gt;
+     * @param   <T>             The type of element
+     */
+    public static <T> Codec<MaxByGathererState<T>> maxBy(final Codec<T> elementCodec) {
+        Objects.requireNonNull(elementCodec);
+
+        return new Codec<>() {
+            @Override
+            public void encode(final MaxByGathererState<T> value, final DataOutput output) throws IOException {
+                output.writeBoolean(value.maxElement != null);
+
+                if (value.maxElement != null) {
+                    elementCodec.encode(value.maxElement, output);
+                }
+
+                output.writeLong(value.maxLongKey);
+                output.writeDouble(value.maxDoubleKey);
+            }
+
+            @Override
+            public MaxByGathererState<T> decode(final DataInput input) throws IOException {
+                final MaxByGathererState<T> state = new MaxByGathererState<>();
+
+                if (input.readBoolean()) {
+                    state.maxElement = elementCodec.decode(input);
+                }
+
+                state.maxLongKey = input.readLong();
+                state.maxDoubleKey = input.readDouble();
+
+                return state;
+            }
+        };
+    }
+
+    /**
+     * Return a codec for the state of the min by gatherer.
+     *
+     * @param   elementCodec    net.jmp.demo.java22.util.Codec&lt;T&gt;
+     * @return                  net.jmp.demo.java22.util.Codec&lt;net.jmp.demo.java22.gatherers.MinByGathererState&lt;T&gt;&gt;
+     * @param   <T>             The type of element
+     */
+    public static <T> Codec<MinByGathererState<T>> minBy(final Codec<T> elementCodec) {
+        Objects.requireNonNull(elementCodec);
+
+        return new Codec<>() {
+            @Override
+            public void encode(final MinByGathererState<T> value, final DataOutput output) throws IOException {
+                output.writeBoolean(value.minElement != null);
+
+                if (value.minElement != null) {
+                    elementCodec.encode(value.minElement, output);
+                }
+
+                output.writeLong(value.minLongKey);
+                output.writeDouble(value.minDoubleKey);
+            }
+
+            @Override
+            public MinByGathererState<T> decode(final DataInput input) throws IOException {
+                final MinByGathererState<T> state = new MinByGathererState<>();
+
+                if (input.readBoolean()) {
+                    state.minElement = elementCodec.decode(input);
+                }
+
+                state.minLongKey = input.readLong();
+                state.minDoubleKey = input.readDouble();
+
+                return state;
+            }
+        };
+    }
+
+    /**
+     * Encode a map as its size followed by its entries.
+     *
+     * @param   map             java.util.Map&lt;A, T&gt;
+     * @param   output          java.io.DataOutput
+     * @param   keyCodec        net.jmp.demo.java22.util.Codec&lt;A&gt;
+     * @param   elementCodec    net.jmp.demo.java22.util.Codec&lt;T&gt;
+     * @param   <T>             The type of element
+     * @param   <A>             The type of key
+     * @throws                  java.io.IOException
+     */
+    private static <T, A> void encodeMap(final Map<A, T> map,
+                                         final DataOutput output,
+                                         final Codec<A> keyCodec,
+                                         final Codec<T> elementCodec) throws IOException {
+        output.writeInt(map.size());
+
+        for (final Map.Entry<A, T> entry : map.entrySet()) {
+            keyCodec.encode(entry.getKey(), output);
+            elementCodec.encode(entry.getValue(), output);
+        }
+    }
+
+    /**
+     * Decode a map in encounter order.
+     *
+     * @param   input           java.io.DataInput
+     * @param   keyCodec        net.jmp.demo.java22.util.Codec&lt;A&gt;
+     * @param   elementCodec    net.jmp.demo.java22.util.Codec&lt;T&gt;
+     * @return                  java.util.Map&lt;A, T&gt;
+     * @param   <T>             The type of element
+     * @param   <A>             The type of key
+     * @throws                  java.io.IOException
+     */
+    private static <T, A> Map<A, T> decodeMap(final DataInput input,
+                                              final Codec<A> keyCodec,
+                                              final Codec<T> elementCodec) throws IOException {
+        final int size = input.readInt();
+        final Map<A, T> map = LinkedHashMap.newLinkedHashMap(size);
+
+        for (int i = 0; i < size; i++) {
+            map.put(keyCodec.decode(input), elementCodec.decode(input));
+        }
+
+        return map;
+    }
+}
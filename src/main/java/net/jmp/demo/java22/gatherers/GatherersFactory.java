@@ -1,10 +1,11 @@
 package net.jmp.demo.java22.gatherers;
 
 /*
+ * (#)DemoGatherers.java    0.10.0  10/18/2026
  * (#)DemoGatherers.java    0.4.0   08/09/2024
  *
  * @author   Jonathan Parker
- * @version  0.4.0
+ * @version  0.10.0
  * @since    0.4.0
  *
  * MIT License
@@ -30,9 +31,32 @@ package net.jmp.demo.java22.gatherers;
  * SOFTWARE.
  */
 
+import java.nio.file.Path;
+
+import java.time.Duration;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
 import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import java.util.stream.Gatherer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import net.jmp.demo.java22.util.Codec;
 
 /**
  * A factory class for gatherers.
@@ -57,6 +81,55 @@ public final class GatherersFactory {
         return new DistinctByGatherer<>(selector);
     }
 
+    /**
+     * A distinct-by gatherer that can run in parallel.
+     *
+     * @param   selector    java.util.function.Function&lt;T, A&gt;
+     * @param   mode        net.jmp.demo.java22.gatherers.ParallelMode
+     * @return              net.jmp.demo.java22.gatherers.DistinctByGatherer&lt;T, A&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @param   <A>         The potentially mutable state type of the gathering operation
+     * @since               0.10.0
+     */
+    public static <T, A> DistinctByGatherer<T, A> distinctBy(final Function<T, A> selector,
+                                                             final ParallelMode mode) {
+        return new DistinctByGatherer<>(selector, mode);
+    }
+
+    /**
+     * A distinct-by gatherer that only remembers the keys
+     * of the given number of preceding elements.
+     *
+     * @param   selector    java.util.function.Function&lt;T, A&gt;
+     * @param   elements    long
+     * @return              net.jmp.demo.java22.gatherers.DistinctByWithinGatherer&lt;T, A&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @param   <A>         The type of key selected from each element
+     * @since               0.10.0
+     */
+    public static <T, A> DistinctByWithinGatherer<T, A> distinctByWithin(final Function<T, A> selector,
+                                                                         final long elements) {
+        return new DistinctByWithinGatherer<>(selector, elements);
+    }
+
+    /**
+     * A distinct-by gatherer that only remembers the keys seen
+     * within the window of event time, given in epoch milliseconds.
+     *
+     * @param   selector            java.util.function.Function&lt;T, A&gt;
+     * @param   window              java.time.Duration
+     * @param   eventTimeMillis     java.util.function.ToLongFunction&lt;T&gt;
+     * @return                      net.jmp.demo.java22.gatherers.DistinctByWithinGatherer&lt;T, A&gt;
+     * @param   <T>                 The type of input elements to the gathering operation
+     * @param   <A>                 The type of key selected from each element
+     * @since                       0.10.0
+     */
+    public static <T, A> DistinctByWithinGatherer<T, A> distinctByWithin(final Function<T, A> selector,
+                                                                         final Duration window,
+                                                                         final ToLongFunction<T> eventTimeMillis) {
+        return new DistinctByWithinGatherer<>(selector, window.toMillis(), Objects.requireNonNull(eventTimeMillis));
+    }
+
     /**
      * A reduce-by gatherer.
      *
@@ -71,6 +144,26 @@ public final class GatherersFactory {
         return new ReduceByGatherer<>(selector, reducer);
     }
 
+    /**
+     * A reduce-by gatherer with a parallel mode and
+     * the number of distinct keys expected.
+     *
+     * @param   selector        java.util.function.Function&lt;T, A&gt;
+     * @param   reducer         java.util.function.BiFunction&lt;T, T, T&gt;
+     * @param   mode            net.jmp.demo.java22.gatherers.ParallelMode
+     * @param   expectedKeys    int
+     * @return                  net.jmp.demo.java22.gatherers.ReduceByGatherer&lt;T, A&gt;
+     * @param   <T>             The type of input elements to the gathering operation
+     * @param   <A>             The potentially mutable state type of the gathering operation
+     * @since                   0.10.0
+     */
+    public static <T, A> ReduceByGatherer<T, A> reduceBy(final Function<T, A> selector,
+                                                         final BiFunction<T, T, T> reducer,
+                                                         final ParallelMode mode,
+                                                         final int expectedKeys) {
+        return new ReduceByGatherer<>(selector, reducer, mode, expectedKeys);
+    }
+
     /**
      * A max-by gatherer.
      *
@@ -83,6 +176,30 @@ public final class GatherersFactory {
         return new MaxByGatherer<>(selector);
     }
 
+    /**
+     * A max-by gatherer whose selector returns a primitive long.
+     *
+     * @param   selector    java.util.function.ToLongFunction&lt;T&gt;
+     * @return              net.jmp.demo.java22.gatherers.MaxByLongGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> MaxByLongGatherer<T> maxByLong(final ToLongFunction<T> selector) {
+        return new MaxByLongGatherer<>(selector);
+    }
+
+    /**
+     * A max-by gatherer whose selector returns a primitive double.
+     *
+     * @param   selector    java.util.function.ToDoubleFunction&lt;T&gt;
+     * @return              net.jmp.demo.java22.gatherers.MaxByDoubleGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> MaxByDoubleGatherer<T> maxByDouble(final ToDoubleFunction<T> selector) {
+        return new MaxByDoubleGatherer<>(selector);
+    }
+
     /**
      * A min-by gatherer.
      *
@@ -95,6 +212,30 @@ public final class GatherersFactory {
         return new MinByGatherer<>(selector);
     }
 
+    /**
+     * A min-by gatherer whose selector returns a primitive long.
+     *
+     * @param   selector    java.util.function.ToLongFunction&lt;T&gt;
+     * @return              net.jmp.demo.java22.gatherers.MinByLongGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> MinByLongGatherer<T> minByLong(final ToLongFunction<T> selector) {
+        return new MinByLongGatherer<>(selector);
+    }
+
+    /**
+     * A min-by gatherer whose selector returns a primitive double.
+     *
+     * @param   selector    java.util.function.ToDoubleFunction&lt;T&gt;
+     * @return              net.jmp.demo.java22.gatherers.MinByDoubleGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> MinByDoubleGatherer<T> minByDouble(final ToDoubleFunction<T> selector) {
+        return new MinByDoubleGatherer<>(selector);
+    }
+
     /**
      * A map not null gatherer.
      *
@@ -119,13 +260,633 @@ public final class GatherersFactory {
     }
 
     /**
-     * A find last gatherer.
+     * A find first gatherer for a stream sorted in the given order,
+     * whose parallel segments stop once an earlier match is found.
      *
      * @param   predicate   java.util.function.Predicate&lt;T&gt;
+     * @param   sortOrder   java.util.Comparator&lt;? super T&gt;
      * @return              net.jmp.demo.java22.gatherers.FindFirstGatherer&lt;T&gt;
      * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> FindFirstGatherer<T> findFirst(final Predicate<T> predicate,
+                                                     final Comparator<? super T> sortOrder) {
+        return new FindFirstGatherer<>(predicate, sortOrder);
+    }
+
+    /**
+     * A find last gatherer.
+     *
+     * @param   predicate   java.util.function.Predicate&lt;T&gt;
+     * @return              net.jmp.demo.java22.gatherers.FindLastGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
      */
     public static <T> FindLastGatherer<T> findLast(final Predicate<T> predicate) {
         return new FindLastGatherer<>(predicate);
     }
+
+    /**
+     * A top-k gatherer that keeps the k greatest elements.
+     *
+     * @param   k           int
+     * @param   comparator  java.util.Comparator&lt;? super T&gt;
+     * @return              net.jmp.demo.java22.gatherers.TopKGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> TopKGatherer<T> topK(final int k, final Comparator<? super T> comparator) {
+        return new TopKGatherer<>(k, comparator);
+    }
+
+    /**
+     * A bottom-k gatherer that keeps the k least elements.
+     *
+     * @param   k           int
+     * @param   comparator  java.util.Comparator&lt;? super T&gt;
+     * @return              net.jmp.demo.java22.gatherers.TopKGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> TopKGatherer<T> bottomK(final int k, final Comparator<? super T> comparator) {
+        return new TopKGatherer<T>(k, Collections.reverseOrder(comparator));
+    }
+
+    /**
+     * A top-k gatherer that keeps the k elements with the greatest long keys.
+     *
+     * @param   k           int
+     * @param   selector    java.util.function.ToLongFunction&lt;T&gt;
+     * @return              net.jmp.demo.java22.gatherers.TopKByLongGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> TopKByLongGatherer<T> topKByLong(final int k, final ToLongFunction<T> selector) {
+        return new TopKByLongGatherer<>(k, selector);
+    }
+
+    /**
+     * A bottom-k gatherer that keeps the k elements with the least long keys.
+     *
+     * @param   k           int
+     * @param   selector    java.util.function.ToLongFunction&lt;T&gt;
+     * @return              net.jmp.demo.java22.gatherers.TopKByLongGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> TopKByLongGatherer<T> bottomKByLong(final int k, final ToLongFunction<T> selector) {
+        Objects.requireNonNull(selector);
+
+        return new TopKByLongGatherer<>(k, item -> ~selector.applyAsLong(item));    // Complement reverses the order
+    }
+
+    /**
+     * A top-k gatherer that keeps the k elements with the greatest double keys.
+     *
+     * @param   k           int
+     * @param   selector    java.util.function.ToDoubleFunction&lt;T&gt;
+     * @return              net.jmp.demo.java22.gatherers.TopKByLongGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> TopKByLongGatherer<T> topKByDouble(final int k, final ToDoubleFunction<T> selector) {
+        Objects.requireNonNull(selector);
+
+        return new TopKByLongGatherer<>(k, item -> TopKByLongGatherer.sortableBits(selector.applyAsDouble(item)));
+    }
+
+    /**
+     * A bottom-k gatherer that keeps the k elements with the least double keys.
+     *
+     * @param   k           int
+     * @param   selector    java.util.function.ToDoubleFunction&lt;T&gt;
+     * @return              net.jmp.demo.java22.gatherers.TopKByLongGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> TopKByLongGatherer<T> bottomKByDouble(final int k, final ToDoubleFunction<T> selector) {
+        Objects.requireNonNull(selector);
+
+        return new TopKByLongGatherer<>(k, item -> ~TopKByLongGatherer.sortableBits(selector.applyAsDouble(item)));
+    }
+
+    /**
+     * A gatherer that estimates the number of distinct elements.
+     *
+     * @param   precision   int
+     * @return              net.jmp.demo.java22.gatherers.ApproxDistinctCountGatherer&lt;T, T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> ApproxDistinctCountGatherer<T, T> approxDistinctCount(final int precision) {
+        return new ApproxDistinctCountGatherer<>(Function.identity(), precision);
+    }
+
+    /**
+     * A gatherer that estimates the number of distinct selected keys.
+     *
+     * @param   selector    java.util.function.Function&lt;T, A&gt;
+     * @param   precision   int
+     * @return              net.jmp.demo.java22.gatherers.ApproxDistinctCountGatherer&lt;T, A&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @param   <A>         The type of key selected from each element
+     * @since               0.10.0
+     */
+    public static <T, A> ApproxDistinctCountGatherer<T, A> approxDistinctCount(final Function<T, A> selector,
+                                                                               final int precision) {
+        return new ApproxDistinctCountGatherer<>(selector, precision);
+    }
+
+    /**
+     * A distinct-by gatherer that uses a Bloom filter.
+     *
+     * @param   selector            java.util.function.Function&lt;T, A&gt;
+     * @param   expectedKeys        long
+     * @param   falsePositiveRate   double
+     * @return                      net.jmp.demo.java22.gatherers.BloomDistinctByGatherer&lt;T, A&gt;
+     * @param   <T>                 The type of input elements to the gathering operation
+     * @param   <A>                 The type of key selected from each element
+     * @since                       0.10.0
+     */
+    public static <T, A> BloomDistinctByGatherer<T, A> bloomDistinctBy(final Function<T, A> selector,
+                                                                       final long expectedKeys,
+                                                                       final double falsePositiveRate) {
+        return new BloomDistinctByGatherer<>(selector, expectedKeys, falsePositiveRate);
+    }
+
+    /**
+     * A gatherer that aggregates elements by key into tumbling
+     * event-time windows. Event times are epoch milliseconds.
+     *
+     * @param   eventTimeMillis     java.util.function.ToLongFunction&lt;T&gt;
+     * @param   size                java.time.Duration
+     * @param   allowedLateness     java.time.Duration
+     * @param   keySelector         java.util.function.Function&lt;T, K&gt;
+     * @param   initial             java.util.function.Function&lt;T, R&gt;
+     * @param   accumulator         java.util.function.BiFunction&lt;R, T, R&gt;
+     * @return                      net.jmp.demo.java22.gatherers.TimeWindowGatherer&lt;T, K, R&gt;
+     * @param   <T>                 The type of input elements to the gathering operation
+     * @param   <K>                 The type of key
+     * @param   <R>                 The type of aggregate
+     * @since                       0.10.0
+     */
+    public static <T, K, R> TimeWindowGatherer<T, K, R> tumblingWindows(final ToLongFunction<T> eventTimeMillis,
+                                                                        final Duration size,
+                                                                        final Duration allowedLateness,
+                                                                        final Function<T, K> keySelector,
+                                                                        final Function<T, R> initial,
+                                                                        final BiFunction<R, T, R> accumulator) {
+        return hoppingWindows(eventTimeMillis, size, size, allowedLateness, keySelector, initial, accumulator);
+    }
+
+    /**
+     * A gatherer that aggregates elements by key into hopping
+     * event-time windows. Event times are epoch milliseconds.
+     *
+     * @param   eventTimeMillis     java.util.function.ToLongFunction&lt;T&gt;
+     * @param   size                java.time.Duration
+     * @param   slide               java.time.Duration
+     * @param   allowedLateness     java.time.Duration
+     * @param   keySelector         java.util.function.Function&lt;T, K&gt;
+     * @param   initial             java.util.function.Function&lt;T, R&gt;
+     * @param   accumulator         java.util.function.BiFunction&lt;R, T, R&gt;
+     * @return                      net.jmp.demo.java22.gatherers.TimeWindowGatherer&lt;T, K, R&gt;
+     * @param   <T>                 The type of input elements to the gathering operation
+     * @param   <K>                 The type of key
+     * @param   <R>                 The type of aggregate
+     * @since                       0.10.0
+     */
+    public static <T, K, R> TimeWindowGatherer<T, K, R> hoppingWindows(final ToLongFunction<T> eventTimeMillis,
+                                                                       final Duration size,
+                                                                       final Duration slide,
+                                                                       final Duration allowedLateness,
+                                                                       final Function<T, K> keySelector,
+                                                                       final Function<T, R> initial,
+                                                                       final BiFunction<R, T, R> accumulator) {
+        return new TimeWindowGatherer<>(eventTimeMillis,
+                size.toMillis(),
+                slide.toMillis(),
+                allowedLateness.toMillis(),
+                keySelector,
+                initial,
+                accumulator);
+    }
+
+    /**
+     * A gatherer that aggregates elements by key into event-time
+     * session windows. Event times are epoch milliseconds. The
+     * merger combines the aggregates of sessions that a late
+     * element joins.
+     *
+     * @param   eventTimeMillis     java.util.function.ToLongFunction&lt;T&gt;
+     * @param   gap                 java.time.Duration
+     * @param   allowedLateness     java.time.Duration
+     * @param   keySelector         java.util.function.Function&lt;T, K&gt;
+     * @param   initial             java.util.function.Function&lt;T, R&gt;
+     * @param   accumulator         java.util.function.BiFunction&lt;R, T, R&gt;
+     * @param   merger              java.util.function.BinaryOperator&lt;R&gt;
+     * @return                      net.jmp.demo.java22.gatherers.SessionWindowGatherer&lt;T, K, R&gt;
+     * @param   <T>                 The type of input elements to the gathering operation
+     * @param   <K>                 The type of key
+     * @param   <R>                 The type of aggregate
+     * @since                       0.10.0
+     */
+    public static <T, K, R> SessionWindowGatherer<T, K, R> sessionWindows(final ToLongFunction<T> eventTimeMillis,
+                                                                          final Duration gap,
+                                                                          final Duration allowedLateness,
+                                                                          final Function<T, K> keySelector,
+                                                                          final Function<T, R> initial,
+                                                                          final BiFunction<R, T, R> accumulator,
+                                                                          final BinaryOperator<R> merger) {
+        return new SessionWindowGatherer<>(eventTimeMillis,
+                gap.toMillis(),
+                allowedLateness.toMillis(),
+                keySelector,
+                initial,
+                accumulator,
+                merger);
+    }
+
+    /**
+     * A gatherer that pushes each sliding window of a fixed size.
+     * The window pushed is a read-only view that is reused for the
+     * next element, so copy it to keep it.
+     *
+     * @param   size    int
+     * @return          net.jmp.demo.java22.gatherers.SlidingWindowGatherer&lt;T&gt;
+     * @param   <T>     The type of input elements to the gathering operation
+     * @since           0.10.0
+     */
+    public static <T> SlidingWindowGatherer<T> slidingWindow(final int size) {
+        return new SlidingWindowGatherer<>(size);
+    }
+
+    /**
+     * A gatherer that pushes an incremental reduction of
+     * each sliding window of a fixed size.
+     *
+     * @param   size            int
+     * @param   reducerFactory  java.util.function.Supplier&lt;? extends net.jmp.demo.java22.gatherers.WindowReducer&lt;T, R&gt;&gt;
+     * @return                  net.jmp.demo.java22.gatherers.SlidingReduceGatherer&lt;T, R&gt;
+     * @param   <T>             The type of input elements to the gathering operation
+     * @param   <R>             The type of result
+     * @since                   0.10.0
+     */
+    public static <T, R> SlidingReduceGatherer<T, R> slidingReduce(final int size,
+                                                                   final Supplier<? extends WindowReducer<T, R>> reducerFactory) {
+        return new SlidingReduceGatherer<>(size, reducerFactory);
+    }
+
+    /**
+     * A gatherer that pushes the greatest element of each sliding window of a fixed size.
+     *
+     * @param   size        int
+     * @param   comparator  java.util.Comparator&lt;? super T&gt;
+     * @return              net.jmp.demo.java22.gatherers.SlidingExtremeGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> SlidingExtremeGatherer<T> slidingMax(final int size, final Comparator<? super T> comparator) {
+        return new SlidingExtremeGatherer<>(size, comparator);
+    }
+
+    /**
+     * A gatherer that pushes the least element of each sliding window of a fixed size.
+     *
+     * @param   size        int
+     * @param   comparator  java.util.Comparator&lt;? super T&gt;
+     * @return              net.jmp.demo.java22.gatherers.SlidingExtremeGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> SlidingExtremeGatherer<T> slidingMin(final int size, final Comparator<? super T> comparator) {
+        return new SlidingExtremeGatherer<T>(size, Collections.reverseOrder(comparator));
+    }
+
+    /**
+     * A gatherer that maps elements on virtual threads a batch at a
+     * time, with at most maxInFlight batches in flight, and pushes
+     * the results in encounter order.
+     *
+     * @param   maxInFlight int
+     * @param   batchSize   int
+     * @param   mapper      java.util.function.Function&lt;? super T, ? extends R&gt;
+     * @return              net.jmp.demo.java22.gatherers.MapConcurrentBatchedGatherer&lt;T, R&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @param   <R>         The type of result
+     * @since               0.10.0
+     */
+    public static <T, R> MapConcurrentBatchedGatherer<T, R> mapConcurrentBatched(final int maxInFlight,
+                                                                                 final int batchSize,
+                                                                                 final Function<? super T, ? extends R> mapper) {
+        return new MapConcurrentBatchedGatherer<>(maxInFlight, batchSize, mapper, true);
+    }
+
+    /**
+     * A gatherer that maps elements on virtual threads a batch at a
+     * time, with at most maxInFlight batches in flight. If ordered is
+     * false each batch's results are pushed as soon as it completes.
+     *
+     * @param   maxInFlight int
+     * @param   batchSize   int
+     * @param   mapper      java.util.function.Function&lt;? super T, ? extends R&gt;
+     * @param   ordered     boolean
+     * @return              net.jmp.demo.java22.gatherers.MapConcurrentBatchedGatherer&lt;T, R&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @param   <R>         The type of result
+     * @since               0.10.0
+     */
+    public static <T, R> MapConcurrentBatchedGatherer<T, R> mapConcurrentBatched(final int maxInFlight,
+                                                                                 final int batchSize,
+                                                                                 final Function<? super T, ? extends R> mapper,
+                                                                                 final boolean ordered) {
+        return new MapConcurrentBatchedGatherer<>(maxInFlight, batchSize, mapper, ordered);
+    }
+
+    /**
+     * A gatherer that applies an I/O-bound mapper ahead of the
+     * caller on a virtual thread, holding at most bufferSize
+     * results, and pushes the results in encounter order.
+     *
+     * @param   bufferSize  int
+     * @param   mapper      java.util.function.Function&lt;? super T, ? extends R&gt;
+     * @return              net.jmp.demo.java22.gatherers.PrefetchGatherer&lt;T, R&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @param   <R>         The type of result
+     * @since               0.10.0
+     */
+    public static <T, R> PrefetchGatherer<T, R> prefetch(final int bufferSize,
+                                                         final Function<? super T, ? extends R> mapper) {
+        return new PrefetchGatherer<>(bufferSize, mapper);
+    }
+
+    /**
+     * A gatherer that pushes the running reduction of the elements
+     * with an associative operator, so that it can run in parallel.
+     *
+     * @param   identity    T
+     * @param   operator    java.util.function.BinaryOperator&lt;T&gt;
+     * @return              net.jmp.demo.java22.gatherers.ParallelScanGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> ParallelScanGatherer<T> parallelScan(final T identity, final BinaryOperator<T> operator) {
+        return new ParallelScanGatherer<>(identity, operator);
+    }
+
+    /**
+     * A gatherer that pushes the running reduction of the elements' long
+     * values with an associative operator, so that it can run in parallel.
+     *
+     * @param   identity    long
+     * @param   operator    java.util.function.LongBinaryOperator
+     * @param   mapper      java.util.function.ToLongFunction&lt;? super T&gt;
+     * @return              net.jmp.demo.java22.gatherers.ParallelLongScanGatherer&lt;T&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @since               0.10.0
+     */
+    public static <T> ParallelLongScanGatherer<T> parallelScanLong(final long identity,
+                                                                   final LongBinaryOperator operator,
+                                                                   final ToLongFunction<? super T> mapper) {
+        return new ParallelLongScanGatherer<>(identity, operator, mapper);
+    }
+
+    /**
+     * A gatherer that folds the elements into a single result
+     * with an associative combiner, so that it can run in parallel.
+     *
+     * @param   identity    java.util.function.Supplier&lt;R&gt;
+     * @param   accumulator java.util.function.BiFunction&lt;R, ? super T, R&gt;
+     * @param   combiner    java.util.function.BinaryOperator&lt;R&gt;
+     * @return              net.jmp.demo.java22.gatherers.FoldAssociativeGatherer&lt;T, R&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @param   <R>         The type of result
+     * @since               0.10.0
+     */
+    public static <T, R> FoldAssociativeGatherer<T, R> foldAssociative(final Supplier<R> identity,
+                                                                       final BiFunction<R, ? super T, R> accumulator,
+                                                                       final BinaryOperator<R> combiner) {
+        return new FoldAssociativeGatherer<>(identity, accumulator, combiner);
+    }
+
+    /**
+     * Chain two gatherers, fusing them into one integrator when
+     * the combination is known: a map not null gatherer followed
+     * by any gatherer, such as reduce by or distinct by. Any other
+     * combination is chained with andThen.
+     *
+     * @param   first   java.util.stream.Gatherer&lt;T, ?, U&gt;
+     * @param   second  java.util.stream.Gatherer&lt;U, ?, R&gt;
+     * @return          java.util.stream.Gatherer&lt;T, ?, R&gt;
+     * @param   <T>     The type of input elements to the gathering operation
+     * @param   <U>     The type of elements passed from the first gatherer to the second
+     * @param   <R>     The type of result
+     * @since           0.10.0
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, U, R> Gatherer<T, ?, R> fuse(final Gatherer<T, ?, U> first, final Gatherer<U, ?, R> second) {
+        if (first instanceof MapNotNullGatherer<?, ?> mapNotNull) {
+            // Its element and result types are those of the first gatherer
+
+            return fuseMapNotNull((Function<T, U>) mapNotNull.mapper(), second);
+        }
+
+        return first.andThen(second);
+    }
+
+    /**
+     * Fuse a map not null function with a gatherer.
+     *
+     * @param   mapper  java.util.function.Function&lt;T, U&gt;
+     * @param   next    java.util.stream.Gatherer&lt;U, A, R&gt;
+     * @return          net.jmp.demo.java22.gatherers.MapNotNullFusedGatherer&lt;T, U, A, R&gt;
+     * @param   <T>     The type of input elements to the gathering operation
+     * @param   <U>     The type of the mapped elements
+     * @param   <A>     The type of the gatherer's state
+     * @param   <R>     The type of result
+     * @since           0.10.0
+     */
+    private static <T, U, A, R> MapNotNullFusedGatherer<T, U, A, R> fuseMapNotNull(final Function<T, U> mapper,
+                                                                                 final Gatherer<U, A, R> next) {
+        return new MapNotNullFusedGatherer<>(mapper, next);
+    }
+
+    /**
+     * Wrap a gatherer so that its metrics are recorded
+     * under the name in the gatherer metrics registry.
+     *
+     * @param   name        java.lang.String
+     * @param   gatherer    java.util.stream.Gatherer&lt;T, ?, R&gt;
+     * @return              java.util.stream.Gatherer&lt;T, ?, R&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @param   <R>         The type of result
+     * @since               0.10.0
+     */
+    public static <T, R> Gatherer<T, ?, R> instrumented(final String name, final Gatherer<T, ?, R> gatherer) {
+        return instrumented(name, gatherer, false);
+    }
+
+    /**
+     * Wrap a gatherer so that its metrics are recorded under the
+     * name in the gatherer metrics registry and, if recordEvents is
+     * true, as flight recorder events.
+     *
+     * @param   name            java.lang.String
+     * @param   gatherer        java.util.stream.Gatherer&lt;T, ?, R&gt;
+     * @param   recordEvents    boolean
+     * @return                  java.util.stream.Gatherer&lt;T, ?, R&gt;
+     * @param   <T>             The type of input elements to the gathering operation
+     * @param   <R>             The type of result
+     * @since                   0.10.0
+     */
+    public static <T, R> Gatherer<T, ?, R> instrumented(final String name,
+                                                        final Gatherer<T, ?, R> gatherer,
+                                                        final boolean recordEvents) {
+        return instrument(name, gatherer, recordEvents);
+    }
+
+    /**
+     * Wrap a gatherer whose state type is known.
+     *
+     * @param   name            java.lang.String
+     * @param   gatherer        java.util.stream.Gatherer&lt;T, A, R&gt;
+     * @param   recordEvents    boolean
+     * @return                  net.jmp.demo.java22.gatherers.InstrumentedGatherer&lt;T, A, R&gt;
+     * @param   <T>             The type of input elements to the gathering operation
+     * @param   <A>             The type of the gatherer's state
+     * @param   <R>             The type of result
+     * @since                   0.10.0
+     */
+    private static <T, A, R> InstrumentedGatherer<T, A, R> instrument(final String name,
+                                                                     final Gatherer<T, A, R> gatherer,
+                                                                     final boolean recordEvents) {
+        return new InstrumentedGatherer<>(name, gatherer, recordEvents);
+    }
+
+    /**
+     * A reduce by gatherer that spills its partial results, sorted
+     * by key, to temporary files through the codecs when more than
+     * maxKeysInMemory keys are held in memory. The results are
+     * pushed in key order.
+     *
+     * @param   selector        java.util.function.Function&lt;T, A&gt;
+     * @param   reducer         java.util.function.BiFunction&lt;T, T, T&gt;
+     * @param   keyComparator   java.util.Comparator&lt;? super A&gt;
+     * @param   maxKeysInMemory int
+     * @param   keyCodec        net.jmp.demo.java22.util.Codec&lt;A&gt;
+     * @param   elementCodec    net.jmp.demo.java22.util.Codec&lt;T&gt;
+     * @return                  net.jmp.demo.java22.gatherers.SpillingReduceByGatherer&lt;T, A&gt;
+     * @param   <T>             The type of input elements to the gathering operation
+     * @param   <A>             The type of key
+     * @since                   0.10.0
+     */
+    public static <T, A> SpillingReduceByGatherer<T, A> spillingReduceBy(final Function<T, A> selector,
+                                                                         final BiFunction<T, T, T> reducer,
+                                                                         final Comparator<? super A> keyComparator,
+                                                                         final int maxKeysInMemory,
+                                                                         final Codec<A> keyCodec,
+                                                                         final Codec<T> elementCodec) {
+        return new SpillingReduceByGatherer<>(selector, reducer, keyComparator, maxKeysInMemory, keyCodec, elementCodec);
+    }
+
+    /**
+     * A gatherer that sorts more elements than fit in memory by
+     * writing sorted runs of at most maxElementsInMemory elements
+     * to temporary files through the codec and merging them.
+     *
+     * @param   comparator          java.util.Comparator&lt;? super T&gt;
+     * @param   maxElementsInMemory int
+     * @param   codec               net.jmp.demo.java22.util.Codec&lt;T&gt;
+     * @return                      net.jmp.demo.java22.gatherers.SortedExternalGatherer&lt;T&gt;
+     * @param   <T>                 The type of input elements to the gathering operation
+     * @since                       0.10.0
+     */
+    public static <T> SortedExternalGatherer<T> sortedExternal(final Comparator<? super T> comparator,
+                                                               final int maxElementsInMemory,
+                                                               final Codec<T> codec) {
+        return new SortedExternalGatherer<>(comparator, maxElementsInMemory, codec);
+    }
+
+    /**
+     * Merge streams that are each sorted by the comparator into one
+     * sorted stream with a loser tree. The streams are consumed lazily
+     * and closed when the merged stream is closed. Of equal elements,
+     * the one from the earlier stream comes first.
+     *
+     * @param   comparator  java.util.Comparator&lt;? super T&gt;
+     * @param   streams     java.util.stream.Stream&lt;? extends T&gt;[]
+     * @return              java.util.stream.Stream&lt;T&gt;
+     * @param   <T>         The type of element
+     * @since               0.10.0
+     */
+    @SafeVarargs
+    public static <T> Stream<T> mergeSorted(final Comparator<? super T> comparator, final Stream<? extends T>... streams) {
+        final List<Stream<? extends T>> sources = List.of(streams);
+        final List<Iterator<? extends T>> iterators = sources.stream()
+                .<Iterator<? extends T>>map(Stream::iterator)
+                .toList();
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new LoserTree<T>(iterators, comparator), Spliterator.ORDERED), false)
+                .onClose(() -> sources.forEach(Stream::close));
+    }
+
+    /**
+     * A gatherer that reduces the elements by key and
+     * pushes each key's new aggregate whenever it changes.
+     *
+     * @param   selector    java.util.function.Function&lt;T, A&gt;
+     * @param   reducer     java.util.function.BiFunction&lt;T, T, T&gt;
+     * @return              net.jmp.demo.java22.gatherers.ReduceByChangelogGatherer&lt;T, A&gt;
+     * @param   <T>         The type of input elements to the gathering operation
+     * @param   <A>         The type of key
+     * @since               0.10.0
+     */
+    public static <T, A> ReduceByChangelogGatherer<T, A> reduceByChangelog(final Function<T, A> selector,
+                                                                           final BiFunction<T, T, T> reducer) {
+        return new ReduceByChangelogGatherer<>(selector, reducer, 1, Duration.ZERO);
+    }
+
+    /**
+     * A gatherer that reduces the elements by key and pushes the
+     * latest aggregate of each changed key once everyUpdates updates
+     * have accumulated or maxDelay has passed since the last push.
+     * A zero maxDelay flushes on the count alone.
+     *
+     * @param   selector        java.util.function.Function&lt;T, A&gt;
+     * @param   reducer         java.util.function.BiFunction&lt;T, T, T&gt;
+     * @param   everyUpdates    int
+     * @param   maxDelay        java.time.Duration
+     * @return                  net.jmp.demo.java22.gatherers.ReduceByChangelogGatherer&lt;T, A&gt;
+     * @param   <T>             The type of input elements to the gathering operation
+     * @param   <A>             The type of key
+     * @since                   0.10.0
+     */
+    public static <T, A> ReduceByChangelogGatherer<T, A> reduceByChangelog(final Function<T, A> selector,
+                                                                           final BiFunction<T, T, T> reducer,
+                                                                           final int everyUpdates,
+                                                                           final Duration maxDelay) {
+        return new ReduceByChangelogGatherer<>(selector, reducer, everyUpdates, maxDelay);
+    }
+
+    /**
+     * A gatherer that checkpoints the state of the given gatherer
+     * to a file every everyElements elements and restores it from
+     * that file when the stream is started again. Skip the number
+     * of source elements given by Checkpoints.offset to resume.
+     *
+     * @param   gatherer        java.util.stream.Gatherer&lt;T, A, R&gt;
+     * @param   stateCodec      net.jmp.demo.java22.util.Codec&lt;A&gt;
+     * @param   file            java.nio.file.Path
+     * @param   everyElements   long
+     * @return                  net.jmp.demo.java22.gatherers.CheckpointedGatherer&lt;T, A, R&gt;
+     * @param   <T>             The type of input elements to the gathering operation
+     * @param   <A>             The type of the gatherer's state
+     * @param   <R>             The type of result
+     * @since                   0.10.0
+     */
+    public static <T, A, R> CheckpointedGatherer<T, A, R> checkpointed(final Gatherer<T, A, R> gatherer,
+                                                                       final Codec<A> stateCodec,
+                                                                       final Path file,
+                                                                       final long everyElements) {
+        return new CheckpointedGatherer<>(gatherer, stateCodec, file, everyElements);
+    }
 }
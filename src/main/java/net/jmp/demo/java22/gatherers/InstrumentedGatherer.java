@@ -0,0 +1,269 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)InstrumentedGatherer.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer wraps another and records its metrics under a name in the
+ * gatherer metrics registry: the elements integrated and pushed, the time of
+ * one integration in every 64, the largest size of the state when it is a
+ * collection, map, or sized state, and the time spent combining and finishing.
+ * The integrator time includes the time spent downstream, and the state size
+ * is sampled after each timed integration and before the finisher runs. The
+ * counts are kept in the state and recorded when the finisher runs. Optionally, each combination and finish is
+ * also recorded as a flight recorder event. The wrapped gatherer's behaviour,
+ * including whether it is greedy and whether it can run in parallel, is kept.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ * @param   <A> The type of the wrapped gatherer's state
+ * @param   <R> The type of result
+ */
+public final class InstrumentedGatherer<T, A, R> implements Gatherer<T, InstrumentedGathererState<A, R>, R> {
+    /** One integration in this many, a power of two, is timed. */
+    private static final int SAMPLE_INTERVAL = 64;
+
+    /** The wrapped gatherer. */
+    private final Gatherer<T, A, R> gatherer;
+
+    /** The metrics. */
+    private final GathererMetrics metrics;
+
+    /** True if flight recorder events are recorded. */
+    private final boolean recordEvents;
+
+    /**
+     * The constructor.
+     *
+     * @param   name            java.lang.String
+     * @param   gatherer        java.util.stream.Gatherer&lt;T, A, R&gt;
+     * @param   recordEvents    boolean
+     */
+    public InstrumentedGatherer(final String name, final Gatherer<T, A, R> gatherer, final boolean recordEvents) {
+        this.gatherer = Objects.requireNonNull(gatherer);
+        this.metrics = GathererMetricsRegistry.metrics(Objects.requireNonNull(name));
+        this.recordEvents = recordEvents;
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.InstrumentedGathererState&lt;A, R&gt;&gt;
+     */
+    @Override
+    public Supplier<InstrumentedGathererState<A, R>> initializer() {
+        final Supplier<A> initializer = this.gatherer.initializer();
+
+        return () -> new InstrumentedGathererState<>(initializer.get());
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.InstrumentedGathererState&lt;A, R&gt;, T, R&gt;
+     */
+    @Override
+    public Integrator<InstrumentedGathererState<A, R>, T, R> integrator() {
+        final Integrator<A, T, R> integrator = this.gatherer.integrator();
+
+        final Integrator<InstrumentedGathererState<A, R>, T, R> instrumented = (state, item, downstream) -> {
+            if (state.elementsIn++ % SAMPLE_INTERVAL != 0) {
+                return integrator.integrate(state.state, item, state.counting(downstream));
+            }
+
+            final long start = System.nanoTime();
+
+            try {
+                return integrator.integrate(state.state, item, state.counting(downstream));
+            } finally {
+                this.metrics.recordIntegration(System.nanoTime() - start);
+                this.recordStateSize(state.state);
+            }
+        };
+
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R). The instrumented integrator is
+         * greedy whenever the wrapped one is.
+         */
+
+        if (integrator instanceof Integrator.Greedy<A, T, R>) {
+            return Integrator.<InstrumentedGathererState<A, R>, T, R>ofGreedy(instrumented::integrate);
+        }
+
+        return Integrator.of(instrumented);
+    }
+
+    /**
+     * A function which accepts two intermediate states and combines them into one.
+     *
+     * @return  java.util.function.BinaryOperator&lt;net.jmp.demo.java22.gatherers.InstrumentedGathererState&lt;A, R&gt;&gt;
+     */
+    @Override
+    public BinaryOperator<InstrumentedGathererState<A, R>> combiner() {
+        final BinaryOperator<A> combiner = this.gatherer.combiner();
+
+        if (combiner == Gatherer.<A>defaultCombiner()) {
+            return Gatherer.defaultCombiner();  // Sequential only, like the wrapped gatherer
+        }
+
+        return (left, right) -> {
+            final GathererEvent event = this.recordEvents ? new GathererEvent() : null;
+
+            if (event != null) {
+                event.begin();
+            }
+
+            final long start = System.nanoTime();
+
+            left.state = combiner.apply(left.state, right.state);
+
+            this.metrics.recordCombine(System.nanoTime() - start);
+
+            left.elementsIn += right.elementsIn;
+            left.elementsOut += right.elementsOut;
+
+            if (event != null) {
+                this.commit(event, "combiner", left, sizeOf(left.state));
+            }
+
+            return left;
+        };
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.InstrumentedGathererState&lt;A, R&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<InstrumentedGathererState<A, R>, Downstream<? super R>> finisher() {
+        final BiConsumer<A, Downstream<? super R>> finisher = this.gatherer.finisher();
+
+        return (state, downstream) -> {
+            final long stateSize = this.recordStateSize(state.state);
+
+            final GathererEvent event = this.recordEvents ? new GathererEvent() : null;
+
+            if (event != null) {
+                event.begin();
+            }
+
+            final long start = System.nanoTime();
+
+            try {
+                finisher.accept(state.state, state.counting(downstream));
+            } finally {
+                this.metrics.recordFinish(System.nanoTime() - start);
+                this.metrics.recordElements(state.elementsIn, state.elementsOut);
+            }
+
+            if (event != null) {
+                this.commit(event, "finisher", state, stateSize);
+            }
+        };
+    }
+
+    /**
+     * Record the size of the state if it can be measured,
+     * and return it, or -1 if it cannot.
+     *
+     * @param   state   java.lang.Object
+     * @return          long
+     */
+    private long recordStateSize(final Object state) {
+        final long stateSize = sizeOf(state);
+
+        if (stateSize >= 0) {
+            this.metrics.recordStateSize(stateSize);
+        }
+
+        return stateSize;
+    }
+
+    /**
+     * Return the number of elements in the state if it is
+     * a collection, map, or sized state, otherwise -1.
+     *
+     * @param   state   java.lang.Object
+     * @return          long
+     */
+    private static long sizeOf(final Object state) {
+        return switch (state) {
+            case SizedState sized -> sized.stateSize();
+            case Collection<?> collection -> collection.size();
+            case Map<?, ?> map -> map.size();
+            case null, default -> -1;
+        };
+    }
+
+    /**
+     * End and commit the event if it is enabled.
+     *
+     * @param   event       net.jmp.demo.java22.gatherers.GathererEvent
+     * @param   phase       java.lang.String
+     * @param   state       net.jmp.demo.java22.gatherers.InstrumentedGathererState&lt;A, R&gt;
+     * @param   stateSize   long
+     */
+    private void commit(final GathererEvent event,
+                        final String phase,
+                        final InstrumentedGathererState<A, R> state,
+                        final long stateSize) {
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.name = this.metrics.getName();
+            event.phase = phase;
+            event.elementsIn = state.elementsIn;
+            event.elementsOut = state.elementsOut;
+            event.stateSize = stateSize;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)InstrumentedGathererState.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.stream.Gatherer;
+
+/**
+ * The internal state of the instrumented gatherer: the state
+ * of the gatherer it wraps and the counts of its segment.
+ *
+ * @param   <A> The type of the wrapped gatherer's state
+ * @param   <R> The type of result
+ */
+public final class InstrumentedGathererState<A, R> {
+    /** The wrapped gatherer's state. */
+    A state;
+
+    /** The number of elements integrated. */
+    long elementsIn;
+
+    /** The number of elements pushed downstream. */
+    long elementsOut;
+
+    /** The counting downstream last used; null until the first push. */
+    CountingDownstream<R> downstream;
+
+    /**
+     * The constructor.
+     *
+     * @param   state   A
+     */
+    InstrumentedGathererState(final A state) {
+        super();
+
+        this.state = state;
+    }
+
+    /**
+     * Return a downstream that counts the elements pushed to the
+     * given one. It is reused while the given downstream is the same.
+     *
+     * @param   delegate    java.util.stream.Gatherer.Downstream&lt;? super R&gt;
+     * @return              java.util.stream.Gatherer.Downstream&lt;R&gt;
+     */
+    Gatherer.Downstream<R> counting(final Gatherer.Downstream<? super R> delegate) {
+        if (this.downstream == null || this.downstream.delegate != delegate) {
+            this.downstream = new CountingDownstream<>(this, delegate);
+        }
+
+        return this.downstream;
+    }
+
+    /**
+     * A downstream that counts the elements pushed to another.
+     *
+     * @param   <R> The type of result
+     */
+    static final class CountingDownstream<R> implements Gatherer.Downstream<R> {
+        /** The state whose count is kept. */
+        private final InstrumentedGathererState<?, R> owner;
+
+        /** The downstream pushed to. */
+        private final Gatherer.Downstream<? super R> delegate;
+
+        /**
+         * The constructor.
+         *
+         * @param   owner       net.jmp.demo.java22.gatherers.InstrumentedGathererState&lt;?, R&gt;
+         * @param   delegate    java.util.stream.Gatherer.Downstream&lt;? super R&gt;
+         */
+        CountingDownstream(final InstrumentedGathererState<?, R> owner, final Gatherer.Downstream<? super R> delegate) {
+            super();
+
+            this.owner = owner;
+            this.delegate = delegate;
+        }
+
+        /**
+         * Count and push the element.
+         *
+         * @param   element R
+         * @return          boolean
+         */
+        @Override
+        public boolean push(final R element) {
+            this.owner.elementsOut++;
+
+            return this.delegate.push(element);
+        }
+
+        /**
+         * Return true if the downstream is rejecting elements.
+         *
+         * @return  boolean
+         */
+        @Override
+        public boolean isRejecting() {
+            return this.delegate.isRejecting();
+        }
+    }
+}
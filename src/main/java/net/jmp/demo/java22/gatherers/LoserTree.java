@@ -0,0 +1,206 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)LoserTree.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An iterator that merges sorted sources with a loser tree. Each
+ * internal node keeps the source that lost the comparison there, so
+ * taking an element replays only the path from its source to the
+ * root: log2(k) comparisons for k sources, half as many as a binary
+ * heap needs. Of equal elements, the one from the earlier source
+ * comes first, so the merge is stable.
+ *
+ * @param   <T> The type of element
+ */
+public final class LoserTree<T> implements Iterator<T> {
+    /** The sources. */
+    private final List<? extends Iterator<? extends T>> sources;
+
+    /** The comparator. */
+    private final Comparator<? super T> comparator;
+
+    /** The current element of each source. */
+    private final Object[] heads;
+
+    /** True for each source that has no current element. */
+    private final boolean[] exhausted;
+
+    /** The winning source at index 0 and the losing source at each internal node. */
+    private final int[] tree;
+
+    /**
+     * The constructor.
+     *
+     * @param   sources     java.util.List&lt;? extends java.util.Iterator&lt;? extends T&gt;&gt;
+     * @param   comparator  java.util.Comparator&lt;? super T&gt;
+     */
+    public LoserTree(final List<? extends Iterator<? extends T>> sources, final Comparator<? super T> comparator) {
+        super();
+
+        this.sources = List.copyOf(sources);
+        this.comparator = Objects.requireNonNull(comparator);
+
+        final int k = this.sources.size();
+
+        this.heads = new Object[k];
+        this.exhausted = new boolean[k];
+        this.tree = new int[Math.max(1, k)];
+
+        for (int source = 0; source < k; source++) {
+            this.advance(source);
+        }
+
+        if (k > 0) {
+            this.tree[0] = this.play(1);
+        }
+    }
+
+    /**
+     * Return true if any source has elements left.
+     *
+     * @return  boolean
+     */
+    @Override
+    public boolean hasNext() {
+        return !this.sources.isEmpty() && !this.exhausted[this.tree[0]];
+    }
+
+    /**
+     * Return the least element of the sources.
+     *
+     * @return  T
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final int winner = this.tree[0];
+        final T element = (T) this.heads[winner];
+
+        this.advance(winner);
+        this.replay(winner);
+
+        return element;
+    }
+
+    /**
+     * Fill the subtree rooted at the node, whose leaves are at
+     * k to 2k - 1 for source 0 to k - 1, and return its winner.
+     *
+     * @param   node    int
+     * @return          int
+     */
+    private int play(final int node) {
+        final int k = this.sources.size();
+
+        if (node >= k) {
+            return node - k;
+        }
+
+        final int left = this.play(2 * node);
+        final int right = this.play(2 * node + 1);
+
+        if (this.precedes(left, right)) {
+            this.tree[node] = right;
+
+            return left;
+        }
+
+        this.tree[node] = left;
+
+        return right;
+    }
+
+    /**
+     * Replay the matches on the path from the source's leaf to the root.
+     *
+     * @param   source  int
+     */
+    private void replay(final int source) {
+        int winner = source;
+
+        for (int node = (source + this.sources.size()) / 2; node > 0; node /= 2) {
+            if (this.precedes(this.tree[node], winner)) {
+                final int loser = winner;
+
+                winner = this.tree[node];
+                this.tree[node] = loser;
+            }
+        }
+
+        this.tree[0] = winner;
+    }
+
+    /**
+     * Move the source to its next element.
+     *
+     * @param   source  int
+     */
+    private void advance(final int source) {
+        final Iterator<? extends T> iterator = this.sources.get(source);
+
+        if (iterator.hasNext()) {
+            this.heads[source] = iterator.next();
+        } else {
+            this.heads[source] = null;
+            this.exhausted[source] = true;
+        }
+    }
+
+    /**
+     * Return true if the first source's element comes before
+     * the second's. Exhausted sources come last and ties go
+     * to the earlier source.
+     *
+     * @param   first   int
+     * @param   second  int
+     * @return          boolean
+     */
+    @SuppressWarnings("unchecked")
+    private boolean precedes(final int first, final int second) {
+        if (this.exhausted[first] || this.exhausted[second]) {
+            return !this.exhausted[first] || (this.exhausted[second] && first < second);
+        }
+
+        final int comparison = this.comparator.compare((T) this.heads[first], (T) this.heads[second]);
+
+        return comparison < 0 || (comparison == 0 && first < second);
+    }
+}
@@ -0,0 +1,316 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)MapConcurrentBatchedGatherer.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer maps elements on virtual threads a batch at a time, with at most
+ * a maximum number of batches in flight. The memory held is bounded by the
+ * number of batches in flight times the batch size. Ordered, results are pushed
+ * in encounter order; unordered, each batch's results are pushed as soon as the
+ * batch completes, so a slow element holds back only its own batch. The batches
+ * in flight are cancelled when downstream stops accepting elements or when a
+ * mapping fails, and the failure is rethrown. The optional combiner operation is
+ * not present in this gatherer.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ * @param   <R> The type of result
+ */
+public final class MapConcurrentBatchedGatherer<T, R> implements Gatherer<T, MapConcurrentBatchedGathererState<T, R>, R> {
+    /** The maximum number of batches in flight. */
+    private final int maxInFlight;
+
+    /** The number of elements in a batch. */
+    private final int batchSize;
+
+    /** The mapper. */
+    private final Function<? super T, ? extends R> mapper;
+
+    /** True if results are pushed in encounter order. */
+    private final boolean ordered;
+
+    /**
+     * The constructor.
+     *
+     * @param   maxInFlight int
+     * @param   batchSize   int
+     * @param   mapper      java.util.function.Function&lt;? super T, ? extends R&gt;
+     * @param   ordered     boolean
+     */
+    public MapConcurrentBatchedGatherer(final int maxInFlight,
+                                        final int batchSize,
+                                        final Function<? super T, ? extends R> mapper,
+                                        final boolean ordered) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in flight must be greater than 0");
+        }
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+
+        this.maxInFlight = maxInFlight;
+        this.batchSize = batchSize;
+        this.mapper = Objects.requireNonNull(mapper);
+        this.ordered = ordered;
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.MapConcurrentBatchedGathererState&lt;T, R&gt;&gt;
+     */
+    @Override
+    public Supplier<MapConcurrentBatchedGathererState<T, R>> initializer() {
+        return () -> new MapConcurrentBatchedGathererState<>(this.batchSize);
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.MapConcurrentBatchedGathererState&lt;T, R&gt;, T, R&gt;
+     */
+    @Override
+    public Integrator<MapConcurrentBatchedGathererState<T, R>, T, R> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            state.batch.add(item);
+
+            if (state.batch.size() < this.batchSize) {
+                return true;    // True if subsequent integration is desired
+            }
+
+            try {
+                boolean more = true;
+
+                if (state.inFlight.size() == this.maxInFlight) {
+                    more = this.pushNext(state, downstream, true);
+                }
+
+                if (more) {
+                    this.dispatch(state);
+
+                    // Push whatever has already completed without waiting
+
+                    while (more && this.pushNext(state, downstream, false)) {
+                        more = !downstream.isRejecting();
+                    }
+
+                    more = more && !downstream.isRejecting();
+                }
+
+                if (!more) {
+                    this.cancel(state);
+                }
+
+                return more;
+            } catch (final RuntimeException | Error e) {
+                this.cancel(state);
+
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.MapConcurrentBatchedGathererState&lt;T, R&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<MapConcurrentBatchedGathererState<T, R>, Downstream<? super R>> finisher() {
+        return (state, downstream) -> {
+            try {
+                boolean more = !downstream.isRejecting();
+
+                if (more && !state.batch.isEmpty()) {
+                    if (state.inFlight.size() == this.maxInFlight) {
+                        more = this.pushNext(state, downstream, true);
+                    }
+
+                    if (more) {
+                        this.dispatch(state);
+                    }
+                }
+
+                while (more && !state.inFlight.isEmpty()) {
+                    more = this.pushNext(state, downstream, true);
+                }
+            } finally {
+                this.cancel(state);     // A no-op unless downstream stopped early or a mapping failed
+            }
+        };
+    }
+
+    /**
+     * Start a virtual thread to map the current batch.
+     *
+     * @param   state   net.jmp.demo.java22.gatherers.MapConcurrentBatchedGathererState&lt;T, R&gt;
+     */
+    private void dispatch(final MapConcurrentBatchedGathererState<T, R> state) {
+        final List<T> batch = state.batch;
+
+        state.batch = new ArrayList<>(this.batchSize);
+
+        final FutureTask<List<R>> task = new FutureTask<>(() -> {
+            final List<R> results = new ArrayList<>(batch.size());
+
+            for (final T element : batch) {
+                results.add(this.mapper.apply(element));
+            }
+
+            return results;
+        }) {
+            @Override
+            protected void done() {
+                if (!MapConcurrentBatchedGatherer.this.ordered) {
+                    state.completed.offer(this);    // Ordered pushes take from the batches in flight instead
+                }
+            }
+        };
+
+        state.inFlight.addLast(task);
+
+        Thread.ofVirtual().start(task);
+    }
+
+    /**
+     * Push the results of the next batch: the oldest one when ordered
+     * or the first to complete when unordered. If wait is false and that
+     * batch has not completed, nothing is pushed and false is returned.
+     * Otherwise false is returned only if downstream stopped accepting.
+     *
+     * @param   state       net.jmp.demo.java22.gatherers.MapConcurrentBatchedGathererState&lt;T, R&gt;
+     * @param   downstream  java.util.stream.Gatherer.Downstream&lt;? super R&gt;
+     * @param   wait        boolean
+     * @return              boolean
+     */
+    private boolean pushNext(final MapConcurrentBatchedGathererState<T, R> state,
+                             final Downstream<? super R> downstream,
+                             final boolean wait) {
+        final Future<List<R>> next;
+
+        try {
+            if (this.ordered) {
+                next = state.inFlight.peekFirst();
+
+                if (next == null || (!wait && !next.isDone())) {
+                    return false;
+                }
+
+                state.inFlight.removeFirst();
+            } else {
+                next = wait ? state.completed.take() : state.completed.poll();
+
+                if (next == null) {
+                    return false;
+                }
+
+                state.inFlight.remove(next);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new CancellationException("Interrupted while waiting for a batch");
+        }
+
+        for (final R result : this.resultsOf(next)) {
+            if (!downstream.push(result)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Wait for and return the results of a batch,
+     * rethrowing any exception thrown by the mapper.
+     *
+     * @param   future  java.util.concurrent.Future&lt;java.util.List&lt;R&gt;&gt;
+     * @return          java.util.List&lt;R&gt;
+     */
+    private List<R> resultsOf(final Future<List<R>> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new CancellationException("Interrupted while waiting for a batch");
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw (RuntimeException) e.getCause();   // A function only throws unchecked exceptions
+        }
+    }
+
+    /**
+     * Cancel the batches in flight and discard any partial batch.
+     *
+     * @param   state   net.jmp.demo.java22.gatherers.MapConcurrentBatchedGathererState&lt;T, R&gt;
+     */
+    private void cancel(final MapConcurrentBatchedGathererState<T, R> state) {
+        state.inFlight.forEach(future -> future.cancel(true));
+        state.inFlight.clear();
+        state.completed.clear();
+        state.batch.clear();
+    }
+}
@@ -0,0 +1,78 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)MapConcurrentBatchedGathererState.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * The internal state of the batched map concurrent gatherer.
+ *
+ * @param   <T> The type of element
+ * @param   <R> The type of result
+ */
+public final class MapConcurrentBatchedGathererState<T, R> implements SizedState {
+    /** The batch being filled. */
+    List<T> batch;
+
+    /** The batches in flight in the order they were dispatched. */
+    final Deque<Future<List<R>>> inFlight = new ArrayDeque<>();
+
+    /** The batches in flight that have completed, in completion order; only used when unordered. */
+    final BlockingQueue<Future<List<R>>> completed = new LinkedBlockingQueue<>();
+
+    /**
+     * The constructor.
+     *
+     * @param   batchSize   int
+     */
+    MapConcurrentBatchedGathererState(final int batchSize) {
+        super();
+
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Return the number of batches in flight.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return this.inFlight.size();
+    }
+}
@@ -0,0 +1,137 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)MapNotNullFusedGatherer.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Objects;
+
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer fuses a map not null gatherer with the gatherer that follows it.
+ * The null check and the mapping are done in the same integrator that hands the
+ * mapped element straight to the next gatherer's integrator, so there is no
+ * intermediate downstream push and no composite state. The next gatherer's
+ * state, combiner and finisher are used as they are, so the fused gatherer
+ * runs in parallel whenever the next one does.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ * @param   <U> The type of the mapped elements
+ * @param   <A> The type of the next gatherer's state
+ * @param   <R> The type of result
+ */
+public final class MapNotNullFusedGatherer<T, U, A, R> implements Gatherer<T, A, R> {
+    /** The mapping function. */
+    private final Function<T, U> mapper;
+
+    /** The gatherer the mapped elements go to. */
+    private final Gatherer<U, A, R> next;
+
+    /**
+     * The constructor.
+     *
+     * @param   mapper  java.util.function.Function&lt;T, U&gt;
+     * @param   next    java.util.stream.Gatherer&lt;U, A, R&gt;
+     */
+    public MapNotNullFusedGatherer(final Function<T, U> mapper, final Gatherer<U, A, R> next) {
+        this.mapper = Objects.requireNonNull(mapper);
+        this.next = Objects.requireNonNull(next);
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;A&gt;
+     */
+    @Override
+    public Supplier<A> initializer() {
+        return this.next.initializer();
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;A, T, R&gt;
+     */
+    @Override
+    public Integrator<A, T, R> integrator() {
+        final Integrator<A, U, R> integrator = this.next.integrator();
+        final Function<T, U> function = this.mapper;
+
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R). The fused integrator is greedy
+         * whenever the next one is.
+         */
+
+        if (integrator instanceof Integrator.Greedy<A, U, R>) {
+            return Integrator.ofGreedy((state, item, downstream) ->
+                    item == null || integrator.integrate(state, function.apply(item), downstream));
+        }
+
+        return Integrator.of((state, item, downstream) ->
+                item == null || integrator.integrate(state, function.apply(item), downstream));
+    }
+
+    /**
+     * A function which accepts two intermediate states and combines them into one.
+     *
+     * @return  java.util.function.BinaryOperator&lt;A&gt;
+     */
+    @Override
+    public BinaryOperator<A> combiner() {
+        return this.next.combiner();
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;A, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<A, Downstream<? super R>> finisher() {
+        return this.next.finisher();
+    }
+}
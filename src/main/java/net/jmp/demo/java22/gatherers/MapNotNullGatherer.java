@@ -1,10 +1,11 @@
 package net.jmp.demo.java22.gatherers;
 
 /*
+ * (#)MapNotNullGatherer.java   0.10.0  10/18/2026
  * (#)MapNotNullGatherer.java   0.4.0   08/10/2024
  *
  * @author   Jonathan Parker
- * @version  0.4.0
+ * @version  0.10.0
  * @since    0.4.0
  *
  * MIT License
@@ -59,6 +60,16 @@ public final class MapNotNullGatherer<T, R> implements Gatherer<T, T, R> {
         this.mapper = Objects.requireNonNull(mapper);
     }
 
+    /**
+     * Return the mapping function.
+     *
+     * @return  java.util.function.Function&lt;T, R&gt;
+     * @since   0.10.0
+     */
+    Function<T, R> mapper() {
+        return this.mapper;
+    }
+
     /**
      * A function which integrates provided elements,
      * potentially using the provided intermediate state,
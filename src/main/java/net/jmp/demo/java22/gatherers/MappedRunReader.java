@@ -0,0 +1,226 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)MappedRunReader.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import java.nio.MappedByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import net.jmp.demo.java22.util.Codec;
+
+/**
+ * Reads the elements of a sorted run through a memory mapping of
+ * its file. The file is mapped a window at a time, so runs larger
+ * than a single mapping can hold are read too. A run starts with
+ * the number of elements, followed by each element as encoded by
+ * the codec.
+ *
+ * @param   <T> The type of element
+ */
+final class MappedRunReader<T> implements Iterator<T>, Closeable {
+    /** The number of bytes mapped at a time. */
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    /** The channel. */
+    private final FileChannel channel;
+
+    /** The input over the mapped windows. */
+    private final DataInputStream input;
+
+    /** The codec. */
+    private final Codec<T> codec;
+
+    /** The number of elements not yet read. */
+    private long remaining;
+
+    /**
+     * The constructor.
+     *
+     * @param   run     java.nio.file.Path
+     * @param   codec   net.jmp.demo.java22.util.Codec&lt;T&gt;
+     * @throws          java.io.IOException
+     */
+    MappedRunReader(final Path run, final Codec<T> codec) throws IOException {
+        super();
+
+        this.channel = FileChannel.open(run, StandardOpenOption.READ);
+        this.input = new DataInputStream(new MappedInputStream(this.channel));
+        this.codec = codec;
+        this.remaining = this.input.readLong();
+    }
+
+    /**
+     * Return true if there are more elements.
+     *
+     * @return  boolean
+     */
+    @Override
+    public boolean hasNext() {
+        return this.remaining > 0;
+    }
+
+    /**
+     * Read the next element.
+     *
+     * @return  T
+     */
+    @Override
+    public T next() {
+        if (this.remaining == 0) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+            final T element = this.codec.decode(this.input);
+
+            this.remaining--;
+
+            return element;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Close the channel. The mapping is
+     * released when it is garbage collected.
+     *
+     * @throws  java.io.IOException
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * An input stream over successive
+     * mapped windows of a file.
+     */
+    private static final class MappedInputStream extends InputStream {
+        /** The channel. */
+        private final FileChannel channel;
+
+        /** The size of the file. */
+        private final long size;
+
+        /** The file position of the window after the current one. */
+        private long position;
+
+        /** The current window. */
+        private MappedByteBuffer window;
+
+        /**
+         * The constructor.
+         *
+         * @param   channel java.nio.channels.FileChannel
+         * @throws          java.io.IOException
+         */
+        private MappedInputStream(final FileChannel channel) throws IOException {
+            super();
+
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        /**
+         * Read a byte.
+         *
+         * @return  int
+         * @throws  java.io.IOException
+         */
+        @Override
+        public int read() throws IOException {
+            return this.nextWindow() ? this.window.get() & 0xff : -1;
+        }
+
+        /**
+         * Read bytes into the array.
+         *
+         * @param   bytes   byte[]
+         * @param   offset  int
+         * @param   length  int
+         * @return          int
+         * @throws          java.io.IOException
+         */
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+
+            if (!this.nextWindow()) {
+                return -1;
+            }
+
+            final int count = Math.min(length, this.window.remaining());
+
+            this.window.get(bytes, offset, count);
+
+            return count;
+        }
+
+        /**
+         * Map the next window if the current one
+         * is used up. Return false at the end.
+         *
+         * @return  boolean
+         * @throws  java.io.IOException
+         */
+        private boolean nextWindow() throws IOException {
+            if (this.window != null && this.window.hasRemaining()) {
+                return true;
+            }
+
+            if (this.position >= this.size) {
+                return false;
+            }
+
+            final long length = Math.min(WINDOW_SIZE, this.size - this.position);
+
+            this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, this.position, length);
+            this.position += length;
+
+            return true;
+        }
+    }
+}
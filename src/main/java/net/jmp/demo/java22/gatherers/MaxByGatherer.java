@@ -1,10 +1,11 @@
 package net.jmp.demo.java22.gatherers;
 
 /*
+ * (#)MaxByGatherer.java    0.10.0  10/18/2026
  * (#)MaxByGatherer.java    0.4.0   08/09/2024
  *
  * @author   Jonathan Parker
- * @version  0.4.0
+ * @version  0.10.0
  * @since    0.4.0
  *
  * MIT License
@@ -88,17 +89,11 @@ public final class MaxByGatherer<T, C extends Comparable<C>> implements Gatherer
          */
 
         return Integrator.ofGreedy((state, item, _) -> {
-            if (state.maxElement == null) {
-                state.maxElement = item;
-
-                return true;    // True if subsequent integration is desired
-            }
+            final C currentKey = this.selector.apply(item);
 
-            final C currentItem = selector.apply(item);
-            final C maxItem = selector.apply(state.maxElement);
-
-            if (currentItem.compareTo(maxItem) > 0) {
+            if (state.maxElement == null || currentKey.compareTo(keyOf(state)) > 0) {
                 state.maxElement = item;
+                state.maxKey = currentKey;
             }
 
             return true;    // True if subsequent integration is desired
@@ -122,25 +117,20 @@ public final class MaxByGatherer<T, C extends Comparable<C>> implements Gatherer
         return (first, second) -> {
             // Check for nulls
 
-            if (first.maxElement == null && second.maxElement == null) {
-                return null;
+            if (second.maxElement == null) {
+                return first;
             }
 
             if (first.maxElement == null) {
                 return second;
             }
 
-            if (second.maxElement == null) {
-                return first;
-            }
-
-            final C firstItem = selector.apply(first.maxElement);
-            final C secondItem = selector.apply(second.maxElement);
+            // On a tie the first segment's element wins, as it does sequentially
 
-            if (firstItem.compareTo(secondItem) > 0) {
-                return first;
-            } else {
+            if (keyOf(second).compareTo(keyOf(first)) > 0) {
                 return second;
+            } else {
+                return first;
             }
         };
     }
@@ -157,4 +147,21 @@ public final class MaxByGatherer<T, C extends Comparable<C>> implements Gatherer
     public BiConsumer<MaxByGathererState<T>, Downstream<? super T>> finisher () {
         return (state, downstream) -> downstream.push(state.maxElement);
     }
-}
\ No newline at end of file
+
+    /**
+     * Return the cached key of the max element. A state
+     * restored from a checkpoint has no cached key, so
+     * it is selected again.
+     *
+     * @param   state   net.jmp.demo.java22.gatherers.MaxByGathererState&lt;T&gt;
+     * @return          C
+     */
+    @SuppressWarnings("unchecked")
+    private C keyOf(final MaxByGathererState<T> state) {
+        if (state.maxKey == null) {
+            state.maxKey = this.selector.apply(state.maxElement);
+        }
+
+        return (C) state.maxKey;
+    }
+}
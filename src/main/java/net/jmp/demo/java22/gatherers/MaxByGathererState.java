@@ -1,10 +1,11 @@
 package net.jmp.demo.java22.gatherers;
 
 /*
+ * (#)MaxByGathererState.java   0.10.0  10/18/2026
  * (#)MaxByGathererState.java   0.4.0   08/09/2024
  *
  * @author   Jonathan Parker
- * @version  0.4.0
+ * @version  0.10.0
  * @since    0.4.0
  *
  * MIT License
@@ -35,6 +36,25 @@ package net.jmp.demo.java22.gatherers;
  *
  * @param   <T> The type of element
  */
-public final class MaxByGathererState<T> {
+public final class MaxByGathererState<T> implements SizedState {
     T maxElement;
+
+    /** The selected key of the max element, so the selector is applied once per element. */
+    Object maxKey;
+
+    /** The key of the max element when selected as a long. */
+    long maxLongKey;
+
+    /** The key of the max element when selected as a double. */
+    double maxDoubleKey;
+
+    /**
+     * Return one if there is a max element, otherwise zero.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return this.maxElement != null ? 1 : 0;
+    }
 }
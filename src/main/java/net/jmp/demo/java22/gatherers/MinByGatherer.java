@@ -1,10 +1,11 @@
 package net.jmp.demo.java22.gatherers;
 
 /*
+ * (#)MinByGatherer.java    0.10.0  10/18/2026
  * (#)MinByGatherer.java    0.4.0   08/09/2024
  *
  * @author   Jonathan Parker
- * @version  0.4.0
+ * @version  0.10.0
  * @since    0.4.0
  *
  * MIT License
@@ -88,17 +89,11 @@ public class MinByGatherer<T, C extends Comparable<C>> implements Gatherer<T, Mi
          */
 
         return Integrator.ofGreedy((state, item, _) -> {
-            if (state.minElement == null) {
-                state.minElement = item;
-
-                return true;    // True if subsequent integration is desired
-            }
+            final C currentKey = this.selector.apply(item);
 
-            final C currentItem = selector.apply(item);
-            final C minItem = selector.apply(state.minElement);
-
-            if (currentItem.compareTo(minItem) < 0) {
+            if (state.minElement == null || currentKey.compareTo(keyOf(state)) < 0) {
                 state.minElement = item;
+                state.minKey = currentKey;
             }
 
             return true;    // True if subsequent integration is desired
@@ -122,25 +117,20 @@ public class MinByGatherer<T, C extends Comparable<C>> implements Gatherer<T, Mi
         return (first, second) -> {
             // Check for nulls
 
-            if (first.minElement == null && second.minElement == null) {
-                return null;
+            if (second.minElement == null) {
+                return first;
             }
 
             if (first.minElement == null) {
                 return second;
             }
 
-            if (second.minElement == null) {
-                return first;
-            }
-
-            final C firstItem = selector.apply(first.minElement);
-            final C secondItem = selector.apply(second.minElement);
+            // On a tie the first segment's element wins, as it does sequentially
 
-            if (firstItem.compareTo(secondItem) < 0) {
-                return first;
-            } else {
+            if (keyOf(second).compareTo(keyOf(first)) < 0) {
                 return second;
+            } else {
+                return first;
             }
         };
     }
@@ -157,4 +147,21 @@ public class MinByGatherer<T, C extends Comparable<C>> implements Gatherer<T, Mi
     public BiConsumer<MinByGathererState<T>, Downstream<? super T>> finisher () {
         return (state, downstream) -> downstream.push(state.minElement);
     }
+
+    /**
+     * Return the cached key of the min element. A state
+     * restored from a checkpoint has no cached key, so
+     * it is selected again.
+     *
+     * @param   state   net.jmp.demo.java22.gatherers.MinByGathererState&lt;T&gt;
+     * @return          C
+     */
+    @SuppressWarnings("unchecked")
+    private C keyOf(final MinByGathererState<T> state) {
+        if (state.minKey == null) {
+            state.minKey = this.selector.apply(state.minElement);
+        }
+
+        return (C) state.minKey;
+    }
 }
@@ -1,10 +1,11 @@
 package net.jmp.demo.java22.gatherers;
 
 /*
+ * (#)MinByGathererState.java   0.10.0  10/18/2026
  * (#)MinByGathererState.java   0.4.0   08/09/2024
  *
  * @author   Jonathan Parker
- * @version  0.4.0
+ * @version  0.10.0
  * @since    0.4.0
  *
  * MIT License
@@ -35,6 +36,25 @@ package net.jmp.demo.java22.gatherers;
  *
  * @param   <T> The type of element
  */
-public final class MinByGathererState<T> {
+public final class MinByGathererState<T> implements SizedState {
     T minElement;
+
+    /** The selected key of the min element, so the selector is applied once per element. */
+    Object minKey;
+
+    /** The key of the min element when selected as a long. */
+    long minLongKey;
+
+    /** The key of the min element when selected as a double. */
+    double minDoubleKey;
+
+    /**
+     * Return one if there is a min element, otherwise zero.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return this.minElement != null ? 1 : 0;
+    }
 }
@@ -0,0 +1,167 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)ParallelLongScanGatherer.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Objects;
+
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer is the long specialization of the parallel scan
+ * gatherer, for example running totals of amounts in minor units.
+ * Each element is mapped to a long and the prefixes are kept in long
+ * arrays, so only the pushed results are boxed.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ */
+public final class ParallelLongScanGatherer<T> implements Gatherer<T, ParallelLongScanGathererState, Long> {
+    /** The identity of the operator. */
+    private final long identity;
+
+    /** The associative operator. */
+    private final LongBinaryOperator operator;
+
+    /** Maps an element to a long. */
+    private final ToLongFunction<? super T> mapper;
+
+    /**
+     * The constructor.
+     *
+     * @param   identity    long
+     * @param   operator    java.util.function.LongBinaryOperator
+     * @param   mapper      java.util.function.ToLongFunction&lt;? super T&gt;
+     */
+    public ParallelLongScanGatherer(final long identity,
+                                    final LongBinaryOperator operator,
+                                    final ToLongFunction<? super T> mapper) {
+        this.identity = identity;
+        this.operator = Objects.requireNonNull(operator);
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.ParallelLongScanGathererState&gt;
+     */
+    @Override
+    public Supplier<ParallelLongScanGathererState> initializer() {
+        return () -> new ParallelLongScanGathererState(this.identity);
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.ParallelLongScanGathererState, T, java.lang.Long&gt;
+     */
+    @Override
+    public Integrator<ParallelLongScanGathererState, T, Long> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            if (state.segments.isEmpty()) {
+                state.segments.add(new ParallelLongScanGathererState.Segment());
+            }
+
+            state.total = this.operator.applyAsLong(state.total, this.mapper.applyAsLong(item));
+            state.segments.getLast().add(state.total);
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /**
+     * A function which accepts two intermediate states and combines them into one.
+     *
+     * @return  java.util.function.BinaryOperator&lt;net.jmp.demo.java22.gatherers.ParallelLongScanGathererState&gt;
+     */
+    @Override
+    public BinaryOperator<ParallelLongScanGathererState> combiner() {
+        return (left, right) -> {
+            for (final ParallelLongScanGathererState.Segment segment : right.segments) {
+                segment.offset = segment.hasOffset
+                        ? this.operator.applyAsLong(left.total, segment.offset)
+                        : left.total;
+                segment.hasOffset = true;
+            }
+
+            left.segments.addAll(right.segments);
+            left.total = this.operator.applyAsLong(left.total, right.total);
+
+            return left;
+        };
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.ParallelLongScanGathererState, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<ParallelLongScanGathererState, Downstream<? super Long>> finisher() {
+        return (state, downstream) -> {
+            if (state.segments.size() > 1) {
+                state.segments.parallelStream().filter(segment -> segment.hasOffset).forEach(segment -> {
+                    for (int i = 0; i < segment.size; i++) {
+                        segment.prefixes[i] = this.operator.applyAsLong(segment.offset, segment.prefixes[i]);
+                    }
+                });
+            }
+
+            for (final ParallelLongScanGathererState.Segment segment : state.segments) {
+                for (int i = 0; i < segment.size; i++) {
+                    if (!downstream.push(segment.prefixes[i])) {
+                        return;
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)ParallelLongScanGathererState.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The internal state of the parallel long scan gatherer. Each
+ * segment of the stream keeps its local prefixes in a long array;
+ * combining states only records the offset that each right-hand
+ * segment needs.
+ */
+public final class ParallelLongScanGathererState implements SizedState {
+    /** The segments in encounter order. */
+    final List<Segment> segments = new ArrayList<>();
+
+    /** The reduction of every element so far. */
+    long total;
+
+    /**
+     * The constructor.
+     *
+     * @param   identity    long
+     */
+    ParallelLongScanGathererState(final long identity) {
+        super();
+
+        this.total = identity;
+    }
+
+    /**
+     * The prefixes of one segment.
+     */
+    static final class Segment {
+        /** The segment-local prefixes. */
+        long[] prefixes = new long[16];
+
+        /** The number of prefixes. */
+        int size;
+
+        /** The reduction of the segments before this one, if any. */
+        long offset;
+
+        /** True if there are segments before this one. */
+        boolean hasOffset;
+
+        /**
+         * The constructor.
+         */
+        Segment() {
+            super();
+        }
+
+        /**
+         * Add a prefix.
+         *
+         * @param   prefix  long
+         */
+        void add(final long prefix) {
+            if (this.size == this.prefixes.length) {
+                this.prefixes = Arrays.copyOf(this.prefixes, this.size * 2);
+            }
+
+            this.prefixes[this.size++] = prefix;
+        }
+    }
+
+    /**
+     * Return the number of prefixes held.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return this.segments.stream()
+                .mapToLong(segment -> segment.size)
+                .sum();
+    }
+}
@@ -0,0 +1,160 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)ParallelScanGatherer.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Objects;
+
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer pushes the running reduction of the elements, as
+ * java.util.stream.Gatherers.scan does, but with an associative operator so
+ * that it can run in parallel. Each segment computes its local prefixes; the
+ * combiner only records the offset carried into each right-hand segment; and
+ * the finisher applies the offsets to the segments in parallel, much as
+ * java.util.Arrays.parallelPrefix does for arrays. The prefixes are buffered
+ * until the finisher, so Gatherers.scan is the better choice for sequential
+ * streams.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ */
+public final class ParallelScanGatherer<T> implements Gatherer<T, ParallelScanGathererState<T>, T> {
+    /** The identity of the operator. */
+    private final T identity;
+
+    /** The associative operator. */
+    private final BinaryOperator<T> operator;
+
+    /**
+     * The constructor.
+     *
+     * @param   identity    T
+     * @param   operator    java.util.function.BinaryOperator&lt;T&gt;
+     */
+    public ParallelScanGatherer(final T identity, final BinaryOperator<T> operator) {
+        this.identity = identity;
+        this.operator = Objects.requireNonNull(operator);
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.ParallelScanGathererState&lt;T&gt;&gt;
+     */
+    @Override
+    public Supplier<ParallelScanGathererState<T>> initializer() {
+        return () -> new ParallelScanGathererState<>(this.identity);
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.ParallelScanGathererState&lt;T&gt;, T, T&gt;
+     */
+    @Override
+    public Integrator<ParallelScanGathererState<T>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            if (state.segments.isEmpty()) {
+                state.segments.add(new ParallelScanGathererState.Segment<>());
+            }
+
+            state.total = this.operator.apply(state.total, item);
+            state.segments.getLast().prefixes.add(state.total);
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /**
+     * A function which accepts two intermediate states and combines them into one.
+     *
+     * @return  java.util.function.BinaryOperator&lt;net.jmp.demo.java22.gatherers.ParallelScanGathererState&lt;T&gt;&gt;
+     */
+    @Override
+    public BinaryOperator<ParallelScanGathererState<T>> combiner() {
+        return (left, right) -> {
+            for (final ParallelScanGathererState.Segment<T> segment : right.segments) {
+                segment.offset = segment.hasOffset
+                        ? this.operator.apply(left.total, segment.offset)
+                        : left.total;
+                segment.hasOffset = true;
+            }
+
+            left.segments.addAll(right.segments);
+            left.total = this.operator.apply(left.total, right.total);
+
+            return left;
+        };
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.ParallelScanGathererState&lt;T&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<ParallelScanGathererState<T>, Downstream<? super T>> finisher() {
+        return (state, downstream) -> {
+            if (state.segments.size() > 1) {
+                state.segments.parallelStream().filter(segment -> segment.hasOffset).forEach(segment -> {
+                    segment.prefixes.replaceAll(prefix -> this.operator.apply(segment.offset, prefix));
+                });
+            }
+
+            for (final ParallelScanGathererState.Segment<T> segment : state.segments) {
+                for (final T prefix : segment.prefixes) {
+                    if (!downstream.push(prefix)) {
+                        return;
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)ParallelScanGathererState.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The internal state of the parallel scan gatherer. Each segment
+ * of the stream keeps its local prefixes; combining states only
+ * records the offset that each right-hand segment needs.
+ *
+ * @param   <T> The type of element
+ */
+public final class ParallelScanGathererState<T> implements SizedState {
+    /** The segments in encounter order. */
+    final List<Segment<T>> segments = new ArrayList<>();
+
+    /** The reduction of every element so far. */
+    T total;
+
+    /**
+     * The constructor.
+     *
+     * @param   identity    T
+     */
+    ParallelScanGathererState(final T identity) {
+        super();
+
+        this.total = identity;
+    }
+
+    /**
+     * The prefixes of one segment.
+     *
+     * @param   <T> The type of element
+     */
+    static final class Segment<T> {
+        /** The segment-local prefixes. */
+        final List<T> prefixes = new ArrayList<>();
+
+        /** The reduction of the segments before this one, if any. */
+        T offset;
+
+        /** True if there are segments before this one. */
+        boolean hasOffset;
+
+        /**
+         * The constructor.
+         */
+        Segment() {
+            super();
+        }
+    }
+
+    /**
+     * Return the number of prefixes held.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return this.segments.stream()
+                .mapToLong(segment -> segment.prefixes.size())
+                .sum();
+    }
+}
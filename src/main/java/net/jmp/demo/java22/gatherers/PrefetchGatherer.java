@@ -0,0 +1,243 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)PrefetchGatherer.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Objects;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer applies an I/O-bound mapper, for example one that reads the record
+ * an element refers to, ahead of the caller on a single virtual thread. The mapper
+ * is applied to the elements one at a time in encounter order, and the results of
+ * at most a buffer size of elements are held. Results are pushed downstream in
+ * encounter order, always on the integrating thread, so downstream stages keep
+ * working while the next elements are fetched. When downstream stops accepting
+ * elements, the outstanding fetches are cancelled and integration stops. An
+ * exception thrown by the mapper is rethrown in order, when its result is reached.
+ * The fetch thread exits once it has been idle briefly, so a stream that fails
+ * upstream leaves no thread behind. The optional combiner operation is not present
+ * in this gatherer.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ * @param   <R> The type of result
+ */
+public final class PrefetchGatherer<T, R> implements Gatherer<T, PrefetchGathererState<R>, R> {
+    /** How long the fetch thread waits for more work before it exits. */
+    private static final long KEEP_ALIVE_MILLIS = 100;
+
+    /** The buffer size. */
+    private final int bufferSize;
+
+    /** The mapper. */
+    private final Function<? super T, ? extends R> mapper;
+
+    /**
+     * The constructor.
+     *
+     * @param   bufferSize  int
+     * @param   mapper      java.util.function.Function&lt;? super T, ? extends R&gt;
+     */
+    public PrefetchGatherer(final int bufferSize, final Function<? super T, ? extends R> mapper) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be greater than 0");
+        }
+
+        this.bufferSize = bufferSize;
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.PrefetchGathererState&lt;R&gt;&gt;
+     */
+    @Override
+    public Supplier<PrefetchGathererState<R>> initializer() {
+        return PrefetchGathererState::new;
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.PrefetchGathererState&lt;R&gt;, T, R&gt;
+     */
+    @Override
+    public Integrator<PrefetchGathererState<R>, T, R> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            if (state.fetcher == null) {
+                state.fetcher = this.newFetcher();
+            }
+
+            try {
+                state.pending.addLast(state.fetcher.submit(() -> this.mapper.apply(item)));
+
+                final boolean more = this.drain(state, downstream, this.bufferSize) && !downstream.isRejecting();
+
+                if (!more) {
+                    this.cancel(state);
+                }
+
+                return more;
+            } catch (final RuntimeException | Error e) {
+                this.cancel(state);
+
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.PrefetchGathererState&lt;R&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<PrefetchGathererState<R>, Downstream<? super R>> finisher() {
+        return (state, downstream) -> {
+            try {
+                if (!downstream.isRejecting()) {
+                    this.drain(state, downstream, 0);
+                }
+            } finally {
+                this.cancel(state);     // Only cancels fetches if downstream stopped early or a mapping failed
+            }
+        };
+    }
+
+    /**
+     * Create the executor that fetches on a single virtual
+     * thread. The thread is started when work is submitted
+     * and exits once it has been idle for the keep-alive time.
+     *
+     * @return  java.util.concurrent.ExecutorService
+     */
+    private ExecutorService newFetcher() {
+        return new ThreadPoolExecutor(0, 1,
+                KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                Thread.ofVirtual().name("prefetch").factory());
+    }
+
+    /**
+     * Push results in encounter order until no more than keep are
+     * pending, then go on pushing only those already fetched.
+     * Return false if downstream stopped accepting.
+     *
+     * @param   state       net.jmp.demo.java22.gatherers.PrefetchGathererState&lt;R&gt;
+     * @param   downstream  java.util.stream.Gatherer.Downstream&lt;? super R&gt;
+     * @param   keep        int
+     * @return              boolean
+     */
+    private boolean drain(final PrefetchGathererState<R> state,
+                          final Downstream<? super R> downstream,
+                          final int keep) {
+        while (!state.pending.isEmpty()) {
+            final Future<R> next = state.pending.peekFirst();
+
+            if (state.pending.size() <= keep && !next.isDone()) {
+                break;
+            }
+
+            state.pending.removeFirst();
+
+            if (!downstream.push(this.resultOf(next))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Wait for and return a result,
+     * rethrowing any exception thrown by the mapper.
+     *
+     * @param   future  java.util.concurrent.Future&lt;R&gt;
+     * @return          R
+     */
+    private R resultOf(final Future<R> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new CancellationException("Interrupted while waiting for a prefetched element");
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw (RuntimeException) e.getCause();   // A function only throws unchecked exceptions
+        }
+    }
+
+    /**
+     * Cancel the pending fetches and stop the fetch thread.
+     *
+     * @param   state   net.jmp.demo.java22.gatherers.PrefetchGathererState&lt;R&gt;
+     */
+    private void cancel(final PrefetchGathererState<R> state) {
+        state.pending.forEach(future -> future.cancel(true));
+        state.pending.clear();
+
+        if (state.fetcher != null) {
+            state.fetcher.shutdownNow();
+        }
+    }
+}
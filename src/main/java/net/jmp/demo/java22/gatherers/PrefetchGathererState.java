@@ -0,0 +1,67 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)PrefetchGathererState.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * The internal state of the prefetch gatherer.
+ *
+ * @param   <R> The type of result
+ */
+public final class PrefetchGathererState<R> implements SizedState {
+    /** The fetches not yet pushed downstream, in encounter order. */
+    final Deque<Future<R>> pending = new ArrayDeque<>();
+
+    /** The executor running the fetches; created on the first element. */
+    ExecutorService fetcher;
+
+    /**
+     * The default constructor.
+     */
+    PrefetchGathererState() {
+        super();
+    }
+
+    /**
+     * Return the number of elements being or already mapped.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return this.pending.size();
+    }
+}
@@ -0,0 +1,190 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)ReduceByChangelogGatherer.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.time.Duration;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer reduces the elements by key like the reduce by gatherer, but
+ * instead of pushing the aggregates in the finisher it pushes an update with the
+ * key's new aggregate whenever a key changes, so it is usable on long-running
+ * and infinite streams. Updates can be throttled: they are then held until
+ * a number of updates have accumulated or a maximum delay has passed since the
+ * last flush, and only the latest aggregate of each changed key is pushed. The
+ * delay is checked as elements arrive. The finisher flushes any held updates.
+ * The optional combiner operation is not present in this gatherer.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ * @param   <A> The type of key
+ */
+public final class ReduceByChangelogGatherer<T, A> implements Gatherer<T, ReduceByChangelogGathererState<T, A>, AggregateUpdate<A, T>> {
+    /** The selector function. */
+    private final Function<T, A> selector;
+
+    /** The reducer function. */
+    private final BiFunction<T, T, T> reducer;
+
+    /** The number of updates that triggers a flush. */
+    private final int everyUpdates;
+
+    /** The delay since the last flush that triggers a flush; zero if none. */
+    private final long maxDelayNanos;
+
+    /**
+     * The constructor.
+     *
+     * @param   selector        java.util.function.Function&lt;T, A&gt;
+     * @param   reducer         java.util.function.BiFunction&lt;T, T, T&gt;
+     * @param   everyUpdates    int
+     * @param   maxDelay        java.time.Duration
+     */
+    public ReduceByChangelogGatherer(final Function<T, A> selector,
+                                     final BiFunction<T, T, T> reducer,
+                                     final int everyUpdates,
+                                     final Duration maxDelay) {
+        if (everyUpdates <= 0) {
+            throw new IllegalArgumentException("Every updates must be greater than 0");
+        }
+
+        if (maxDelay.isNegative()) {
+            throw new IllegalArgumentException("Max delay must not be negative");
+        }
+
+        this.selector = Objects.requireNonNull(selector);
+        this.reducer = Objects.requireNonNull(reducer);
+        this.everyUpdates = everyUpdates;
+        this.maxDelayNanos = maxDelay.toNanos();
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.ReduceByChangelogGathererState&lt;T, A&gt;&gt;
+     */
+    @Override
+    public Supplier<ReduceByChangelogGathererState<T, A>> initializer() {
+        return ReduceByChangelogGathererState::new;
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.ReduceByChangelogGathererState&lt;T, A&gt;, T, net.jmp.demo.java22.gatherers.AggregateUpdate&lt;A, T&gt;&gt;
+     */
+    @Override
+    public Integrator<ReduceByChangelogGathererState<T, A>, T, AggregateUpdate<A, T>> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            final A key = this.selector.apply(item);
+            final T aggregate = state.aggregates.merge(key, item, this.reducer);
+
+            if (this.everyUpdates == 1) {
+                return downstream.push(new AggregateUpdate<>(key, aggregate));
+            }
+
+            state.pending.put(key, aggregate);
+
+            if (++state.updates >= this.everyUpdates
+                    || (this.maxDelayNanos > 0 && System.nanoTime() - state.lastFlush >= this.maxDelayNanos)) {
+                return this.flush(state, downstream);
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.ReduceByChangelogGathererState&lt;T, A&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<ReduceByChangelogGathererState<T, A>, Downstream<? super AggregateUpdate<A, T>>> finisher() {
+        return (state, downstream) -> {
+            if (!downstream.isRejecting()) {
+                this.flush(state, downstream);
+            }
+        };
+    }
+
+    /**
+     * Push the held updates and start a new throttling period.
+     * Return false if downstream stopped accepting.
+     *
+     * @param   state       net.jmp.demo.java22.gatherers.ReduceByChangelogGathererState&lt;T, A&gt;
+     * @param   downstream  java.util.stream.Gatherer.Downstream&lt;? super net.jmp.demo.java22.gatherers.AggregateUpdate&lt;A, T&gt;&gt;
+     * @return              boolean
+     */
+    private boolean flush(final ReduceByChangelogGathererState<T, A> state,
+                          final Downstream<? super AggregateUpdate<A, T>> downstream) {
+        state.updates = 0;
+        state.lastFlush = System.nanoTime();
+
+        final Iterator<Map.Entry<A, T>> iterator = state.pending.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            final Map.Entry<A, T> entry = iterator.next();
+
+            iterator.remove();
+
+            if (!downstream.push(new AggregateUpdate<>(entry.getKey(), entry.getValue()))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,72 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)ReduceByChangelogGathererState.java   0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The internal state of the reduce by changelog gatherer.
+ *
+ * @param   <T> The type of element
+ * @param   <A> The type of key
+ */
+public final class ReduceByChangelogGathererState<T, A> implements SizedState {
+    /** The aggregate of each key. */
+    final Map<A, T> aggregates = new HashMap<>();
+
+    /** The keys changed since the last flush and their aggregates, in order of first change. */
+    final Map<A, T> pending = new LinkedHashMap<>();
+
+    /** The number of updates since the last flush. */
+    int updates;
+
+    /** When the last flush happened, in nanoseconds. */
+    long lastFlush = System.nanoTime();
+
+    /**
+     * The constructor.
+     */
+    ReduceByChangelogGathererState() {
+        super();
+    }
+
+    /**
+     * Return the number of keys aggregated.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return this.aggregates.size();
+    }
+}
@@ -1,10 +1,11 @@
 package net.jmp.demo.java22.gatherers;
 
 /*
+ * (#)ReduceByGatherer.java 0.10.0  10/18/2026
  * (#)ReduceByGatherer.java 0.4.0   08/09/2024
  *
  * @author   Jonathan Parker
- * @version  0.4.0
+ * @version  0.10.0
  * @since    0.4.0
  *
  * MIT License
@@ -34,6 +35,7 @@ import java.util.*;
 
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
 
 import java.util.function.Supplier;
@@ -42,18 +44,34 @@ import java.util.stream.Gatherer;
 
 /**
  * This gatherer aggregates elements in a stream based on a selector function.
- * The optional combiner operation is not present in this gatherer.
+ * In sequential mode the combiner operation is not present. In ordered mode each
+ * segment reduces into its own map and the combiner merges the maps with the
+ * reducer, so the reducer need only be associative; the aggregates are pushed in
+ * the order their keys were first encountered. In unordered mode each segment also
+ * reduces into its own map, but the combiner merges the smaller map into the larger
+ * one whichever side it is on, so the reducer must also be commutative; the
+ * aggregates are pushed in no particular order. No state outlives an evaluation,
+ * so an instance may be used by several streams at once, even when composed.
  *
  * @param   <T> The type of input elements to the gathering operation
  * @param   <A> The potentially mutable state type of the gathering operation
  */
 public final class ReduceByGatherer<T, A> implements Gatherer<T, Map<A, T>, T>  {
+    /** The number of keys expected when no hint is given. */
+    private static final int DEFAULT_EXPECTED_KEYS = 16;
+
     /** The selector function. */
     private final Function<T, A> selector;
 
     /** The reducer function. */
     private final BiFunction<T, T, T> reducer;
 
+    /** The parallel mode. */
+    private final ParallelMode mode;
+
+    /** The number of keys each map is sized for. */
+    private final int expectedKeys;
+
     /**
      * The constructor.
      *
@@ -61,8 +79,31 @@ public final class ReduceByGatherer<T, A> implements Gatherer<T, Map<A, T>, T>
      * @param   reducer     java.util.function.BiFunction&lt;T, T, T&gt;
      */
     public ReduceByGatherer(final Function<T, A> selector, final BiFunction<T, T, T> reducer) {
+        this(selector, reducer, ParallelMode.ORDERED, DEFAULT_EXPECTED_KEYS);
+    }
+
+    /**
+     * A constructor that takes the parallel mode and the number
+     * of distinct keys expected, which sizes the maps up front.
+     *
+     * @param   selector        java.util.function.Function&lt;T, A&gt;
+     * @param   reducer         java.util.function.BiFunction&lt;T, T, T&gt;
+     * @param   mode            net.jmp.demo.java22.gatherers.ParallelMode
+     * @param   expectedKeys    int
+     * @since                   0.10.0
+     */
+    public ReduceByGatherer(final Function<T, A> selector,
+                            final BiFunction<T, T, T> reducer,
+                            final ParallelMode mode,
+                            final int expectedKeys) {
+        if (expectedKeys < 0) {
+            throw new IllegalArgumentException("Expected keys must not be negative");
+        }
+
         this.selector = Objects.requireNonNull(selector);
         this.reducer = Objects.requireNonNull(reducer);
+        this.mode = Objects.requireNonNull(mode);
+        this.expectedKeys = expectedKeys;
     }
 
     /**
@@ -73,7 +114,10 @@ public final class ReduceByGatherer<T, A> implements Gatherer<T, Map<A, T>, T>
      */
     @Override
     public Supplier<Map<A, T>> initializer() {
-        return HashMap::new;
+        return switch (this.mode) {
+            case SEQUENTIAL, UNORDERED -> () -> HashMap.newHashMap(this.expectedKeys);
+            case ORDERED -> () -> LinkedHashMap.newLinkedHashMap(this.expectedKeys);
+        };
     }
 
     /**
@@ -101,6 +145,36 @@ public final class ReduceByGatherer<T, A> implements Gatherer<T, Map<A, T>, T>
         });
     }
 
+    /**
+     * A function which accepts two intermediate states and combines them into one.
+     * Used for parallel streams to combine states from different segments.
+     *
+     * @return  java.util.function.BinaryOperator&lt;java.util.Map&lt;A, T&gt;&gt;
+     */
+    @Override
+    public BinaryOperator<Map<A, T>> combiner() {
+        return switch (this.mode) {
+            case SEQUENTIAL -> Gatherer.defaultCombiner();
+            case ORDERED -> (first, second) -> {
+                // The first segment precedes the second, so its aggregates are the left operands
+
+                second.forEach((key, value) -> first.merge(key, value, this.reducer));
+
+                return first;
+            };
+            case UNORDERED -> (first, second) -> {
+                // The reducer is commutative, so the smaller map can be merged into the larger
+
+                final Map<A, T> larger = first.size() >= second.size() ? first : second;
+                final Map<A, T> smaller = larger == first ? second : first;
+
+                smaller.forEach((key, value) -> larger.merge(key, value, this.reducer));
+
+                return larger;
+            };
+        };
+    }
+
     /**
      * A function which accepts the final intermediate state and a
      * downstream object, allowing to perform a final action at the
@@ -0,0 +1,161 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)RunFiles.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.lang.ref.Cleaner;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.List;
+
+/**
+ * Helpers for the temporary run files
+ * written by the spilling gatherers.
+ */
+final class RunFiles {
+    /** Deletes the runs of states that become unreachable before they are finished. */
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /**
+     * The default constructor.
+     */
+    private RunFiles() {
+        super();
+    }
+
+    /**
+     * Register the runs to be deleted once the state holding them
+     * becomes unreachable, as it does when its stream fails or is
+     * abandoned before the finisher runs. Cleaning the returned
+     * cleanable deletes the runs at once. The runs must not refer
+     * to the state.
+     *
+     * @param   state   java.lang.Object
+     * @param   runs    java.util.List&lt;java.nio.file.Path&gt;
+     * @return          java.lang.ref.Cleaner.Cleanable
+     */
+    static Cleaner.Cleanable deleteWhenUnreachable(final Object state, final List<Path> runs) {
+        return CLEANER.register(state, () -> {
+            runs.forEach(RunFiles::deleteQuietly);
+            runs.clear();
+        });
+    }
+
+    /**
+     * Create a run, add it to the runs, and write it. If
+     * writing fails the run is removed and deleted at once.
+     *
+     * @param   runs    java.util.List&lt;java.nio.file.Path&gt;
+     * @param   prefix  java.lang.String
+     * @param   writer  net.jmp.demo.java22.gatherers.RunFiles.RunWriter
+     */
+    static void write(final List<Path> runs, final String prefix, final RunWriter writer) {
+        Path run = null;
+
+        try {
+            run = Files.createTempFile(prefix, ".run");
+
+            runs.add(run);
+
+            try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+                writer.write(output);
+            }
+        } catch (final IOException e) {
+            discard(runs, run);
+
+            throw new UncheckedIOException(e);
+        } catch (final RuntimeException | Error e) {
+            discard(runs, run);     // E.g. a codec failed
+
+            throw e;
+        }
+    }
+
+    /**
+     * Close the closeable, ignoring any exception.
+     *
+     * @param   closeable   java.io.Closeable
+     */
+    static void closeQuietly(final Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (final IOException _) {
+            // The run is deleted next
+        }
+    }
+
+    /**
+     * Delete the file, or delete it on exit if it cannot be deleted now.
+     *
+     * @param   file    java.nio.file.Path
+     */
+    static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException _) {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * Remove the run, if it was created, and delete it.
+     *
+     * @param   runs    java.util.List&lt;java.nio.file.Path&gt;
+     * @param   run     java.nio.file.Path
+     */
+    private static void discard(final List<Path> runs, final Path run) {
+        if (run != null) {
+            runs.remove(run);
+            deleteQuietly(run);
+        }
+    }
+
+    /**
+     * Writes the contents of a run.
+     */
+    @FunctionalInterface
+    interface RunWriter {
+        /**
+         * Write the run.
+         *
+         * @param   output  java.io.DataOutputStream
+         * @throws          java.io.IOException
+         */
+        void write(DataOutputStream output) throws IOException;
+    }
+}
@@ -0,0 +1,293 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)SessionWindowGatherer.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer aggregates elements by key into event-time sessions: runs of
+ * elements no more than a gap apart. A session ends at its latest event time plus
+ * the gap. Elements are folded into their session's aggregate as they arrive, in
+ * any order; an element that bridges two sessions of its key merges them, and
+ * their aggregates are combined by the merger, the earlier session's first. A
+ * session is pushed only once the watermark, which trails the greatest event time
+ * seen by the allowed lateness, reaches its end; sessions are checked against the
+ * watermark each time it has advanced by the gap. An element is dropped as late if
+ * its own session would already be complete, that is, if its event time plus the
+ * gap is at or before the watermark, or if it belongs to a session of its key that
+ * has already been pushed. The finisher pushes the sessions still open. The
+ * optional combiner operation is not present in this gatherer.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ * @param   <K> The type of key
+ * @param   <R> The type of aggregate
+ */
+public final class SessionWindowGatherer<T, K, R>
+        implements Gatherer<T, SessionWindowGathererState<K, R>, EventTimeWindow<K, R>> {
+    /** The event time of each element. */
+    private final ToLongFunction<T> eventTime;
+
+    /** The greatest time between elements of a session. */
+    private final long gap;
+
+    /** How far event times may run behind the greatest seen. */
+    private final long allowedLateness;
+
+    /** The key selector function. */
+    private final Function<T, K> keySelector;
+
+    /** Creates an aggregate from the first element of a session. */
+    private final Function<T, R> initial;
+
+    /** Folds an element into an aggregate. */
+    private final BiFunction<R, T, R> accumulator;
+
+    /** Combines the aggregates of two sessions that are merged. */
+    private final BinaryOperator<R> merger;
+
+    /**
+     * The constructor. Times are in any unit, such
+     * as epoch milliseconds, as long as they agree.
+     *
+     * @param   eventTime       java.util.function.ToLongFunction&lt;T&gt;
+     * @param   gap             long
+     * @param   allowedLateness long
+     * @param   keySelector     java.util.function.Function&lt;T, K&gt;
+     * @param   initial         java.util.function.Function&lt;T, R&gt;
+     * @param   accumulator     java.util.function.BiFunction&lt;R, T, R&gt;
+     * @param   merger          java.util.function.BinaryOperator&lt;R&gt;
+     */
+    public SessionWindowGatherer(final ToLongFunction<T> eventTime,
+                                 final long gap,
+                                 final long allowedLateness,
+                                 final Function<T, K> keySelector,
+                                 final Function<T, R> initial,
+                                 final BiFunction<R, T, R> accumulator,
+                                 final BinaryOperator<R> merger) {
+        if (gap <= 0) {
+            throw new IllegalArgumentException("Gap must be greater than 0");
+        }
+
+        if (allowedLateness < 0) {
+            throw new IllegalArgumentException("Allowed lateness must not be negative");
+        }
+
+        this.eventTime = Objects.requireNonNull(eventTime);
+        this.gap = gap;
+        this.allowedLateness = allowedLateness;
+        this.keySelector = Objects.requireNonNull(keySelector);
+        this.initial = Objects.requireNonNull(initial);
+        this.accumulator = Objects.requireNonNull(accumulator);
+        this.merger = Objects.requireNonNull(merger);
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.SessionWindowGathererState&lt;K, R&gt;&gt;
+     */
+    @Override
+    public Supplier<SessionWindowGathererState<K, R>> initializer() {
+        return SessionWindowGathererState::new;
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.SessionWindowGathererState&lt;K, R&gt;, T, net.jmp.demo.java22.gatherers.EventTimeWindow&lt;K, R&gt;&gt;
+     */
+    @Override
+    public Integrator<SessionWindowGathererState<K, R>, T, EventTimeWindow<K, R>> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            final long time = this.eventTime.applyAsLong(item);
+
+            state.maxEventTime = Math.max(state.maxEventTime, time);
+
+            final long watermark = state.maxEventTime - this.allowedLateness;
+
+            if (time + this.gap > watermark) {
+                final SessionWindowGathererState.Sessions<R> sessions =
+                        state.sessions.computeIfAbsent(this.keySelector.apply(item), _ -> new SessionWindowGathererState.Sessions<>());
+
+                if (time > sessions.pushedEnd) {
+                    this.add(sessions, time, item);
+                }
+            }
+
+            if (watermark >= state.nextCheck) {
+                state.nextCheck = watermark + this.gap;
+
+                return this.pushSessionsEndingBy(state, watermark, downstream);
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.SessionWindowGathererState&lt;K, R&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<SessionWindowGathererState<K, R>, Downstream<? super EventTimeWindow<K, R>>> finisher() {
+        return (state, downstream) -> this.pushSessionsEndingBy(state, Long.MAX_VALUE, downstream);
+    }
+
+    /**
+     * Fold the element into the open session it falls in or
+     * next to, merging any sessions it bridges, or open a new
+     * session for it.
+     *
+     * @param   sessions    net.jmp.demo.java22.gatherers.SessionWindowGathererState.Sessions&lt;R&gt;
+     * @param   time        long
+     * @param   item        T
+     */
+    private void add(final SessionWindowGathererState.Sessions<R> sessions, final long time, final T item) {
+        SessionWindowGathererState.Session<R> merged = null;
+
+        // The open sessions are disjoint, so those within a gap of the element are contiguous; visit them latest first
+
+        final Iterator<SessionWindowGathererState.Session<R>> near = sessions.open
+                .headMap(time + this.gap, true)
+                .descendingMap()
+                .values()
+                .iterator();
+
+        while (near.hasNext()) {
+            final SessionWindowGathererState.Session<R> session = near.next();
+
+            if (session.end < time) {
+                break;
+            }
+
+            near.remove();
+
+            if (merged == null) {
+                session.start = Math.min(session.start, time);
+                session.end = Math.max(session.end, time + this.gap);
+                session.aggregate = this.accumulator.apply(session.aggregate, item);
+
+                merged = session;
+            } else {
+                merged.start = session.start;
+                merged.aggregate = this.merger.apply(session.aggregate, merged.aggregate);
+            }
+        }
+
+        if (merged == null) {
+            merged = new SessionWindowGathererState.Session<>(time, time + this.gap, this.initial.apply(item));
+        }
+
+        sessions.open.put(merged.start, merged);
+    }
+
+    /**
+     * Push and remove the sessions that end at or before
+     * the watermark. Keys with nothing open are forgotten
+     * once no element can still reach their last pushed
+     * session. False is returned if the downstream does
+     * not want more elements.
+     *
+     * @param   state       net.jmp.demo.java22.gatherers.SessionWindowGathererState&lt;K, R&gt;
+     * @param   watermark   long
+     * @param   downstream  java.util.stream.Gatherer.Downstream&lt;? super net.jmp.demo.java22.gatherers.EventTimeWindow&lt;K, R&gt;&gt;
+     * @return              boolean
+     */
+    private boolean pushSessionsEndingBy(final SessionWindowGathererState<K, R> state,
+                                         final long watermark,
+                                         final Downstream<? super EventTimeWindow<K, R>> downstream) {
+        final Iterator<Map.Entry<K, SessionWindowGathererState.Sessions<R>>> keys = state.sessions.entrySet().iterator();
+
+        while (keys.hasNext()) {
+            final Map.Entry<K, SessionWindowGathererState.Sessions<R>> entry = keys.next();
+            final SessionWindowGathererState.Sessions<R> sessions = entry.getValue();
+
+            // Sessions are disjoint, so they end in the order they start
+
+            while (!sessions.open.isEmpty() && sessions.open.firstEntry().getValue().end <= watermark) {
+                final SessionWindowGathererState.Session<R> session = sessions.open.pollFirstEntry().getValue();
+
+                sessions.pushedEnd = session.end;
+
+                if (!this.push(entry.getKey(), session, downstream)) {
+                    return false;
+                }
+            }
+
+            if (sessions.open.isEmpty() && sessions.pushedEnd <= watermark - this.gap) {
+                keys.remove();      // Any element still accepted starts after the pushed session
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Push the session.
+     *
+     * @param   key         K
+     * @param   session     net.jmp.demo.java22.gatherers.SessionWindowGathererState.Session&lt;R&gt;
+     * @param   downstream  java.util.stream.Gatherer.Downstream&lt;? super net.jmp.demo.java22.gatherers.EventTimeWindow&lt;K, R&gt;&gt;
+     * @return              boolean
+     */
+    private boolean push(final K key,
+                         final SessionWindowGathererState.Session<R> session,
+                         final Downstream<? super EventTimeWindow<K, R>> downstream) {
+        return downstream.push(new EventTimeWindow<>(key, session.start, session.end, session.aggregate));
+    }
+}
@@ -0,0 +1,117 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)SessionWindowGathererState.java   0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The internal state of the session window
+ * gatherer: the open sessions of each key.
+ *
+ * @param   <K> The type of key
+ * @param   <R> The type of aggregate
+ */
+public final class SessionWindowGathererState<K, R> implements SizedState {
+    /** The sessions of each key. */
+    final Map<K, Sessions<R>> sessions = new LinkedHashMap<>();
+
+    /** The greatest event time seen. */
+    long maxEventTime = Long.MIN_VALUE;
+
+    /** The watermark at which the sessions are next checked for completion. */
+    long nextCheck = Long.MIN_VALUE;
+
+    /**
+     * The sessions of a key.
+     *
+     * @param   <R> The type of aggregate
+     */
+    static final class Sessions<R> {
+        /** The open sessions by start; they never overlap or touch. */
+        final NavigableMap<Long, Session<R>> open = new TreeMap<>();
+
+        /** The end of the latest session pushed. */
+        long pushedEnd = Long.MIN_VALUE;
+
+        /**
+         * The default constructor.
+         */
+        Sessions() {
+            super();
+        }
+    }
+
+    /**
+     * An open session.
+     *
+     * @param   <R> The type of aggregate
+     */
+    static final class Session<R> {
+        /** The earliest event time. */
+        long start;
+
+        /** The latest event time plus the gap. */
+        long end;
+
+        /** The aggregate. */
+        R aggregate;
+
+        /**
+         * The constructor.
+         *
+         * @param   start       long
+         * @param   end         long
+         * @param   aggregate   R
+         */
+        Session(final long start, final long end, final R aggregate) {
+            super();
+
+            this.start = start;
+            this.end = end;
+            this.aggregate = aggregate;
+        }
+    }
+
+    /**
+     * Return the number of open sessions.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return this.sessions.values().stream()
+                .mapToLong(keySessions -> keySessions.open.size())
+                .sum();
+    }
+}
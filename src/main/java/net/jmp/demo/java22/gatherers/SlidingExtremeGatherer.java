@@ -0,0 +1,179 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)SlidingExtremeGatherer.java   0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Comparator;
+import java.util.Objects;
+
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer pushes the greatest element of each sliding window of a fixed size
+ * according to a comparator; a reversed comparator gives the least. It keeps a
+ * monotonic deque of the elements that could still become the greatest, so each
+ * element costs amortized O(1) and nothing is allocated per element. Of equal
+ * elements the latest is pushed. As with java.util.stream.Gatherers.windowSliding,
+ * a stream shorter than the size gives a single partial result. The optional
+ * combiner operation is not present in this gatherer.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ */
+public final class SlidingExtremeGatherer<T> implements Gatherer<T, SlidingExtremeGathererState<T>, T> {
+    /** The window size. */
+    private final int size;
+
+    /** The comparator. */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * The constructor.
+     *
+     * @param   size        int
+     * @param   comparator  java.util.Comparator&lt;? super T&gt;
+     */
+    public SlidingExtremeGatherer(final int size, final Comparator<? super T> comparator) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be greater than 0");
+        }
+
+        this.size = size;
+        this.comparator = Objects.requireNonNull(comparator);
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.SlidingExtremeGathererState&lt;T&gt;&gt;
+     */
+    @Override
+    public Supplier<SlidingExtremeGathererState<T>> initializer() {
+        return () -> new SlidingExtremeGathererState<>(this.size);
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.SlidingExtremeGathererState&lt;T&gt;, T, T&gt;
+     */
+    @Override
+    public Integrator<SlidingExtremeGathererState<T>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            final long position = state.position++;
+
+            // Drop the first candidate if it has left the window, freeing its slot
+
+            if (state.count > 0 && state.candidates[state.first] <= position - this.size) {
+                state.first = this.next(state.first);
+                state.count--;
+            }
+
+            // Drop the candidates that can no longer be the greatest
+
+            while (state.count > 0 && this.comparator.compare(this.elementAt(state, this.lastCandidate(state)), item) <= 0) {
+                state.count--;
+            }
+
+            state.elements[(int) (position % this.size)] = item;
+            state.candidates[(state.first + state.count) % this.size] = position;
+            state.count++;
+
+            if (position < this.size - 1) {
+                return true;    // True if subsequent integration is desired
+            }
+
+            return downstream.push(this.elementAt(state, state.candidates[state.first]));
+        });
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.SlidingExtremeGathererState&lt;T&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<SlidingExtremeGathererState<T>, Downstream<? super T>> finisher() {
+        return (state, downstream) -> {
+            if (state.position > 0 && state.position < this.size) {
+                downstream.push(this.elementAt(state, state.candidates[state.first]));
+            }
+        };
+    }
+
+    /**
+     * Return the position of the last candidate.
+     *
+     * @param   state   net.jmp.demo.java22.gatherers.SlidingExtremeGathererState&lt;T&gt;
+     * @return          long
+     */
+    private long lastCandidate(final SlidingExtremeGathererState<T> state) {
+        return state.candidates[(state.first + state.count - 1) % this.size];
+    }
+
+    /**
+     * Return the index after the given one in the candidate ring.
+     *
+     * @param   index   int
+     * @return          int
+     */
+    private int next(final int index) {
+        return index + 1 == this.size ? 0 : index + 1;
+    }
+
+    /**
+     * Return the element at the position.
+     *
+     * @param   state       net.jmp.demo.java22.gatherers.SlidingExtremeGathererState&lt;T&gt;
+     * @param   position    long
+     * @return              T
+     */
+    @SuppressWarnings("unchecked")
+    private T elementAt(final SlidingExtremeGathererState<T> state, final long position) {
+        return (T) state.elements[(int) (position % this.size)];
+    }
+}
@@ -0,0 +1,77 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)SlidingExtremeGathererState.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * The internal state of the sliding extreme gatherer: the window's
+ * elements in a ring buffer, and a monotonic deque of the positions
+ * of the elements that could still become the window's extreme.
+ *
+ * @param   <T> The type of element
+ */
+public final class SlidingExtremeGathererState<T> implements SizedState {
+    /** The window's elements by position modulo the size. */
+    final Object[] elements;
+
+    /** The deque of candidate positions, a ring of the same size. */
+    final long[] candidates;
+
+    /** The index in the candidates of the first one. */
+    int first;
+
+    /** The number of candidates. */
+    int count;
+
+    /** The position of the next element. */
+    long position;
+
+    /**
+     * The constructor.
+     *
+     * @param   size    int
+     */
+    SlidingExtremeGathererState(final int size) {
+        super();
+
+        this.elements = new Object[size];
+        this.candidates = new long[size];
+    }
+
+    /**
+     * Return the number of elements in the window.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return Math.min(this.position, this.elements.length);
+    }
+}
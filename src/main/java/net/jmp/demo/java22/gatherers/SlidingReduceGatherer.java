@@ -0,0 +1,132 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)SlidingReduceGatherer.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Objects;
+
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer pushes a reduction of each sliding window of a fixed size. The
+ * reducer is told about each element as it enters and leaves the window, so each
+ * result costs O(1) however large the window is. As with
+ * java.util.stream.Gatherers.windowSliding, a stream shorter than the size gives a
+ * single partial result. The optional combiner operation is not present in this
+ * gatherer.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ * @param   <R> The type of result
+ */
+public final class SlidingReduceGatherer<T, R> implements Gatherer<T, SlidingReduceGathererState<T, R>, R> {
+    /** The window size. */
+    private final int size;
+
+    /** Creates a reducer for each stream. */
+    private final Supplier<? extends WindowReducer<T, R>> reducerFactory;
+
+    /**
+     * The constructor.
+     *
+     * @param   size            int
+     * @param   reducerFactory  java.util.function.Supplier&lt;? extends net.jmp.demo.java22.gatherers.WindowReducer&lt;T, R&gt;&gt;
+     */
+    public SlidingReduceGatherer(final int size, final Supplier<? extends WindowReducer<T, R>> reducerFactory) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be greater than 0");
+        }
+
+        this.size = size;
+        this.reducerFactory = Objects.requireNonNull(reducerFactory);
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.SlidingReduceGathererState&lt;T, R&gt;&gt;
+     */
+    @Override
+    public Supplier<SlidingReduceGathererState<T, R>> initializer() {
+        return () -> new SlidingReduceGathererState<>(new SlidingWindowGathererState<>(this.size), this.reducerFactory.get());
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.SlidingReduceGathererState&lt;T, R&gt;, T, R&gt;
+     */
+    @Override
+    public Integrator<SlidingReduceGathererState<T, R>, T, R> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            final boolean full = state.window.isFull();
+            final T evicted = state.window.slide(item);
+
+            if (full) {
+                state.reducer.remove(evicted);  // Null elements may be evicted too
+            }
+
+            state.reducer.add(item);
+
+            return !state.window.isFull() || downstream.push(state.reducer.result());
+        });
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.SlidingReduceGathererState&lt;T, R&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<SlidingReduceGathererState<T, R>, Downstream<? super R>> finisher() {
+        return (state, downstream) -> {
+            if (!state.window.isEmpty() && !state.window.isFull()) {
+                downstream.push(state.reducer.result());
+            }
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)SlidingWindowGatherer.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.List;
+
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer pushes each sliding window of a fixed size as a read-only list
+ * view of a ring buffer, so nothing is allocated per element. The view is the same
+ * object every time and its contents change as the next element arrives; copy it,
+ * for example with java.util.List.copyOf, to keep a window. As with
+ * java.util.stream.Gatherers.windowSliding, a stream shorter than the size gives a
+ * single partial window. The optional combiner operation is not present in this
+ * gatherer.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ */
+public final class SlidingWindowGatherer<T> implements Gatherer<T, SlidingWindowGathererState<T>, List<T>> {
+    /** The window size. */
+    private final int size;
+
+    /**
+     * The constructor.
+     *
+     * @param   size    int
+     */
+    public SlidingWindowGatherer(final int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be greater than 0");
+        }
+
+        this.size = size;
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.SlidingWindowGathererState&lt;T&gt;&gt;
+     */
+    @Override
+    public Supplier<SlidingWindowGathererState<T>> initializer() {
+        return () -> new SlidingWindowGathererState<>(this.size);
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.SlidingWindowGathererState&lt;T&gt;, T, java.util.List&lt;T&gt;&gt;
+     */
+    @Override
+    public Integrator<SlidingWindowGathererState<T>, T, List<T>> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            state.slide(item);
+
+            return !state.isFull() || downstream.push(state);
+        });
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.SlidingWindowGathererState&lt;T&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<SlidingWindowGathererState<T>, Downstream<? super List<T>>> finisher() {
+        return (state, downstream) -> {
+            if (!state.isEmpty() && !state.isFull()) {
+                downstream.push(state);
+            }
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)SlidingWindowGathererState.java   0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * The internal state of the sliding window gatherers: a ring
+ * buffer of the latest elements, which is also a read-only list
+ * view of them, oldest first.
+ *
+ * @param   <T> The type of element
+ */
+public final class SlidingWindowGathererState<T> extends AbstractList<T> implements RandomAccess {
+    /** The elements; the oldest is at the head once the buffer is full. */
+    private final Object[] elements;
+
+    /** The index of the oldest element. */
+    private int head;
+
+    /** The number of elements. */
+    private int size;
+
+    /**
+     * The constructor.
+     *
+     * @param   capacity    int
+     */
+    SlidingWindowGathererState(final int capacity) {
+        super();
+
+        this.elements = new Object[capacity];
+    }
+
+    /**
+     * Add the element, evicting the oldest one if the buffer
+     * is full. The evicted element is returned, or null if
+     * none was evicted.
+     *
+     * @param   element T
+     * @return          T
+     */
+    @SuppressWarnings("unchecked")
+    T slide(final T element) {
+        if (this.size < this.elements.length) {
+            this.elements[this.size++] = element;
+
+            return null;
+        }
+
+        final T evicted = (T) this.elements[this.head];
+
+        this.elements[this.head] = element;
+        this.head = this.head + 1 == this.elements.length ? 0 : this.head + 1;
+
+        return evicted;
+    }
+
+    /**
+     * Return true if the buffer is full.
+     *
+     * @return  boolean
+     */
+    boolean isFull() {
+        return this.size == this.elements.length;
+    }
+
+    /**
+     * Return the element at the index, where zero is the oldest.
+     *
+     * @param   index   int
+     * @return          T
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        final int slot = this.head + index;
+
+        return (T) this.elements[slot < this.elements.length ? slot : slot - this.elements.length];
+    }
+
+    /**
+     * Return the number of elements.
+     *
+     * @return  int
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+}
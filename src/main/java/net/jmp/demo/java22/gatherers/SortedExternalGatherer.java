@@ -0,0 +1,229 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)SortedExternalGatherer.java   0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.lang.ref.Reference;
+
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+import net.jmp.demo.java22.util.Codec;
+
+/**
+ * This gatherer sorts streams larger than memory. When more than the maximum
+ * number of elements are held in memory, they are sorted and written through
+ * the codec to a temporary run file. The finisher merges the runs, read through
+ * memory mappings, and the elements still in memory with a loser tree, and
+ * pushes the elements one at a time, so it stops reading the runs as soon as
+ * downstream stops accepting. The sort is stable. The temporary files are
+ * deleted by the finisher, or, if the stream fails or is abandoned, once the
+ * state becomes unreachable. Segments of a parallel stream write their runs
+ * independently and the combiner keeps them in encounter order.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ */
+public final class SortedExternalGatherer<T> implements Gatherer<T, SortedExternalGathererState<T>, T> {
+    /** The comparator. */
+    private final Comparator<? super T> comparator;
+
+    /** The maximum number of elements held in memory. */
+    private final int maxElementsInMemory;
+
+    /** The codec. */
+    private final Codec<T> codec;
+
+    /**
+     * The constructor.
+     *
+     * @param   comparator          java.util.Comparator&lt;? super T&gt;
+     * @param   maxElementsInMemory int
+     * @param   codec               net.jmp.demo.java22.util.Codec&lt;T&gt;
+     */
+    public SortedExternalGatherer(final Comparator<? super T> comparator,
+                                  final int maxElementsInMemory,
+                                  final Codec<T> codec) {
+        if (maxElementsInMemory <= 0) {
+            throw new IllegalArgumentException("Max elements in memory must be greater than 0");
+        }
+
+        this.comparator = Objects.requireNonNull(comparator);
+        this.maxElementsInMemory = maxElementsInMemory;
+        this.codec = Objects.requireNonNull(codec);
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.SortedExternalGathererState&lt;T&gt;&gt;
+     */
+    @Override
+    public Supplier<SortedExternalGathererState<T>> initializer() {
+        return SortedExternalGathererState::new;
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.SortedExternalGathererState&lt;T&gt;, T, T&gt;
+     */
+    @Override
+    public Integrator<SortedExternalGathererState<T>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            state.elements.add(item);
+
+            if (state.elements.size() > this.maxElementsInMemory) {
+                this.spill(state);
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /**
+     * A function which accepts two intermediate states and combines them into one.
+     *
+     * @return  java.util.function.BinaryOperator&lt;net.jmp.demo.java22.gatherers.SortedExternalGathererState&lt;T&gt;&gt;
+     */
+    @Override
+    public BinaryOperator<SortedExternalGathererState<T>> combiner() {
+        return (first, second) -> {
+            if (second.runs.isEmpty()) {
+                first.elements.addAll(second.elements);
+
+                if (first.elements.size() > this.maxElementsInMemory) {
+                    this.spill(first);
+                }
+            } else {
+                // Spill the first segment's elements so that the runs stay in encounter order
+
+                this.spill(first);
+
+                first.runs.addAll(second.runs);
+                first.elements = second.elements;
+
+                second.runs.clear();    // The first state now owns the runs
+            }
+
+            return first;
+        };
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.SortedExternalGathererState&lt;T&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<SortedExternalGathererState<T>, Downstream<? super T>> finisher() {
+        return (state, downstream) -> {
+            final List<MappedRunReader<T>> readers = new ArrayList<>(state.runs.size());
+
+            try {
+                for (final Path run : state.runs) {
+                    readers.add(new MappedRunReader<>(run, this.codec));
+                }
+
+                state.elements.sort(this.comparator);
+
+                final List<Iterator<T>> sources = new ArrayList<>(readers);
+
+                sources.add(state.elements.iterator());     // The newest elements
+
+                final LoserTree<T> merged = new LoserTree<>(sources, this.comparator);
+
+                while (merged.hasNext() && downstream.push(merged.next())) {
+                    // Push until the runs are merged or downstream stops accepting
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                readers.forEach(RunFiles::closeQuietly);
+                state.cleanable.clean();    // Deletes the runs
+                state.elements = new ArrayList<>();
+
+                Reference.reachabilityFence(state);     // The runs must not be cleaned while they are read
+            }
+        };
+    }
+
+    /**
+     * Write the elements in memory to a new
+     * run, sorted, and clear them.
+     *
+     * @param   state   net.jmp.demo.java22.gatherers.SortedExternalGathererState&lt;T&gt;
+     */
+    private void spill(final SortedExternalGathererState<T> state) {
+        if (state.elements.isEmpty()) {
+            return;
+        }
+
+        state.elements.sort(this.comparator);
+
+        RunFiles.write(state.runs, "sorted", output -> {
+            output.writeLong(state.elements.size());
+
+            for (final T element : state.elements) {
+                this.codec.encode(element, output);
+            }
+        });
+
+        state.elements = new ArrayList<>();
+    }
+}
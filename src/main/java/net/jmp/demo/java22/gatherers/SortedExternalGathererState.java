@@ -0,0 +1,72 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)SortedExternalGathererState.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.lang.ref.Cleaner;
+
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The internal state of the external sort gatherer: the
+ * elements held in memory and the runs written to disk.
+ *
+ * @param   <T> The type of element
+ */
+public final class SortedExternalGathererState<T> implements SizedState {
+    /** The elements in memory. */
+    List<T> elements = new ArrayList<>();
+
+    /** The sorted runs on disk, oldest first. */
+    final List<Path> runs = new ArrayList<>();
+
+    /** Deletes the runs if the state becomes unreachable before it is finished. */
+    final Cleaner.Cleanable cleanable = RunFiles.deleteWhenUnreachable(this, this.runs);
+
+    /**
+     * The constructor.
+     */
+    SortedExternalGathererState() {
+        super();
+    }
+
+    /**
+     * Return the number of elements held in memory.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return this.elements.size();
+    }
+}
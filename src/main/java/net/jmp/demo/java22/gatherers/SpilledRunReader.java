@@ -0,0 +1,128 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)SpilledRunReader.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import net.jmp.demo.java22.util.Codec;
+
+/**
+ * Reads the key and value entries of a run spilled to disk. A
+ * run starts with the number of entries, followed by each key
+ * and value as encoded by their codecs.
+ *
+ * @param   <K> The type of key
+ * @param   <V> The type of value
+ */
+final class SpilledRunReader<K, V> implements Iterator<Map.Entry<K, V>>, Closeable {
+    /** The input. */
+    private final DataInputStream input;
+
+    /** The key codec. */
+    private final Codec<K> keyCodec;
+
+    /** The value codec. */
+    private final Codec<V> valueCodec;
+
+    /** The number of entries not yet read. */
+    private int remaining;
+
+    /**
+     * The constructor.
+     *
+     * @param   run         java.nio.file.Path
+     * @param   keyCodec    net.jmp.demo.java22.util.Codec&lt;K&gt;
+     * @param   valueCodec  net.jmp.demo.java22.util.Codec&lt;V&gt;
+     * @throws              java.io.IOException
+     */
+    SpilledRunReader(final Path run, final Codec<K> keyCodec, final Codec<V> valueCodec) throws IOException {
+        super();
+
+        this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.remaining = this.input.readInt();
+    }
+
+    /**
+     * Return true if there are more entries.
+     *
+     * @return  boolean
+     */
+    @Override
+    public boolean hasNext() {
+        return this.remaining > 0;
+    }
+
+    /**
+     * Read the next entry.
+     *
+     * @return  java.util.Map.Entry&lt;K, V&gt;
+     */
+    @Override
+    public Map.Entry<K, V> next() {
+        if (this.remaining == 0) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+            final K key = this.keyCodec.decode(this.input);
+            final V value = this.valueCodec.decode(this.input);
+
+            this.remaining--;
+
+            return Map.entry(key, value);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Close the input.
+     *
+     * @throws  java.io.IOException
+     */
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+}
@@ -0,0 +1,311 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)SpillingReduceByGatherer.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.lang.ref.Reference;
+
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+import net.jmp.demo.java22.util.Codec;
+
+/**
+ * This gatherer reduces the elements by key like the reduce by gatherer, for
+ * more keys than fit in memory. When more than the maximum number of keys are
+ * held in memory, the partial results are sorted by key and spilled to a
+ * temporary file through the key and value codecs. The finisher merges the
+ * spilled runs and the keys still in memory, reducing the partial results of
+ * equal keys in encounter order, and pushes the results in key order. The
+ * temporary files are deleted by the finisher, or, if the stream fails or is
+ * abandoned, once the state becomes unreachable. Segments of a parallel stream
+ * spill independently and the combiner keeps their runs in encounter order.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ * @param   <A> The type of key
+ */
+public final class SpillingReduceByGatherer<T, A> implements Gatherer<T, SpillingReduceByGathererState<T, A>, T> {
+    /** The selector function. */
+    private final Function<T, A> selector;
+
+    /** The reducer function. */
+    private final BiFunction<T, T, T> reducer;
+
+    /** The key comparator. */
+    private final Comparator<? super A> keyComparator;
+
+    /** The maximum number of keys held in memory. */
+    private final int maxKeysInMemory;
+
+    /** The key codec. */
+    private final Codec<A> keyCodec;
+
+    /** The element codec. */
+    private final Codec<T> elementCodec;
+
+    /**
+     * The constructor.
+     *
+     * @param   selector        java.util.function.Function&lt;T, A&gt;
+     * @param   reducer         java.util.function.BiFunction&lt;T, T, T&gt;
+     * @param   keyComparator   java.util.Comparator&lt;? super A&gt;
+     * @param   maxKeysInMemory int
+     * @param   keyCodec        net.jmp.demo.java22.util.Codec&lt;A&gt;
+     * @param   elementCodec    net.jmp.demo.java22.util.Codec&lt;T&gt;
+     */
+    public SpillingReduceByGatherer(final Function<T, A> selector,
+                                    final BiFunction<T, T, T> reducer,
+                                    final Comparator<? super A> keyComparator,
+                                    final int maxKeysInMemory,
+                                    final Codec<A> keyCodec,
+                                    final Codec<T> elementCodec) {
+        if (maxKeysInMemory <= 0) {
+            throw new IllegalArgumentException("Max keys in memory must be greater than 0");
+        }
+
+        this.selector = Objects.requireNonNull(selector);
+        this.reducer = Objects.requireNonNull(reducer);
+        this.keyComparator = Objects.requireNonNull(keyComparator);
+        this.maxKeysInMemory = maxKeysInMemory;
+        this.keyCodec = Objects.requireNonNull(keyCodec);
+        this.elementCodec = Objects.requireNonNull(elementCodec);
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.SpillingReduceByGathererState&lt;T, A&gt;&gt;
+     */
+    @Override
+    public Supplier<SpillingReduceByGathererState<T, A>> initializer() {
+        return SpillingReduceByGathererState::new;
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.SpillingReduceByGathererState&lt;T, A&gt;, T, T&gt;
+     */
+    @Override
+    public Integrator<SpillingReduceByGathererState<T, A>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            state.partials.merge(this.selector.apply(item), item, this.reducer);
+
+            if (state.partials.size() > this.maxKeysInMemory) {
+                this.spill(state);
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /**
+     * A function which accepts two intermediate states and combines them into one.
+     *
+     * @return  java.util.function.BinaryOperator&lt;net.jmp.demo.java22.gatherers.SpillingReduceByGathererState&lt;T, A&gt;&gt;
+     */
+    @Override
+    public BinaryOperator<SpillingReduceByGathererState<T, A>> combiner() {
+        return (first, second) -> {
+            if (second.runs.isEmpty()) {
+                // The first segment precedes the second, so its partial results are the left operands
+
+                second.partials.forEach((key, value) -> first.partials.merge(key, value, this.reducer));
+
+                if (first.partials.size() > this.maxKeysInMemory) {
+                    this.spill(first);
+                }
+            } else {
+                // Spill the first segment's partial results so that the runs stay in encounter order
+
+                this.spill(first);
+
+                first.runs.addAll(second.runs);
+                first.partials = second.partials;
+
+                second.runs.clear();    // The first state now owns the runs
+            }
+
+            return first;
+        };
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.SpillingReduceByGathererState&lt;T, A&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<SpillingReduceByGathererState<T, A>, Downstream<? super T>> finisher() {
+        return (state, downstream) -> {
+            final List<SpilledRunReader<A, T>> readers = new ArrayList<>(state.runs.size());
+
+            try {
+                for (final Path run : state.runs) {
+                    readers.add(new SpilledRunReader<>(run, this.keyCodec, this.elementCodec));
+                }
+
+                final List<Iterator<Map.Entry<A, T>>> sources = new ArrayList<>(readers);
+
+                sources.add(this.sorted(state.partials).iterator());    // The newest partial results
+
+                this.merge(sources, downstream);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                readers.forEach(RunFiles::closeQuietly);
+                state.cleanable.clean();    // Deletes the runs
+                state.partials = new HashMap<>();
+
+                Reference.reachabilityFence(state);     // The runs must not be cleaned while they are read
+            }
+        };
+    }
+
+    /**
+     * Write the partial results in memory to
+     * a new run, sorted by key, and clear them.
+     *
+     * @param   state   net.jmp.demo.java22.gatherers.SpillingReduceByGathererState&lt;T, A&gt;
+     */
+    private void spill(final SpillingReduceByGathererState<T, A> state) {
+        if (state.partials.isEmpty()) {
+            return;
+        }
+
+        RunFiles.write(state.runs, "reduceBy", output -> {
+            output.writeInt(state.partials.size());
+
+            for (final Map.Entry<A, T> entry : this.sorted(state.partials)) {
+                this.keyCodec.encode(entry.getKey(), output);
+                this.elementCodec.encode(entry.getValue(), output);
+            }
+        });
+
+        state.partials = new HashMap<>();
+    }
+
+    /**
+     * Return the entries of the partial results sorted by key.
+     *
+     * @param   partials    java.util.Map&lt;A, T&gt;
+     * @return              java.util.List&lt;java.util.Map.Entry&lt;A, T&gt;&gt;
+     */
+    private List<Map.Entry<A, T>> sorted(final Map<A, T> partials) {
+        final List<Map.Entry<A, T>> entries = new ArrayList<>(partials.entrySet());
+
+        entries.sort(Map.Entry.comparingByKey(this.keyComparator));
+
+        return entries;
+    }
+
+    /**
+     * Merge the sorted sources, reducing the values of equal
+     * keys from the oldest source to the newest, and push
+     * the results in key order.
+     *
+     * @param   sources     java.util.List&lt;java.util.Iterator&lt;java.util.Map.Entry&lt;A, T&gt;&gt;&gt;
+     * @param   downstream  java.util.stream.Gatherer.Downstream&lt;? super T&gt;
+     */
+    private void merge(final List<Iterator<Map.Entry<A, T>>> sources, final Downstream<? super T> downstream) {
+        record Head<K, V>(Map.Entry<K, V> entry, int source) {}
+
+        final Comparator<Head<A, T>> order = Comparator.<Head<A, T>, A>comparing(head -> head.entry().getKey(), this.keyComparator)
+                .thenComparingInt(Head::source);
+        final PriorityQueue<Head<A, T>> heads = new PriorityQueue<>(Math.max(1, sources.size()), order);
+
+        for (int i = 0; i < sources.size(); i++) {
+            if (sources.get(i).hasNext()) {
+                heads.add(new Head<>(sources.get(i).next(), i));
+            }
+        }
+
+        while (!heads.isEmpty()) {
+            Head<A, T> head = heads.poll();
+
+            final A key = head.entry().getKey();
+
+            T result = head.entry().getValue();
+
+            while (true) {
+                final Iterator<Map.Entry<A, T>> source = sources.get(head.source());
+
+                if (source.hasNext()) {
+                    heads.add(new Head<>(source.next(), head.source()));
+                }
+
+                if (heads.isEmpty() || this.keyComparator.compare(heads.peek().entry().getKey(), key) != 0) {
+                    break;
+                }
+
+                head = heads.poll();
+                result = this.reducer.apply(result, head.entry().getValue());
+            }
+
+            if (!downstream.push(result)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)TimeWindowGatherer.java   0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer aggregates elements by key into event-time windows of a fixed size
+ * that start every slide, aligned to time zero. Windows are tumbling when the slide
+ * equals the size and hopping when it is smaller. Each element is folded into the
+ * aggregate of each window it falls in, so no window holds its elements. The
+ * watermark trails the greatest event time seen by the allowed lateness; a window is
+ * pushed once the watermark reaches its end, and an element whose windows have all
+ * been pushed is dropped as late. The finisher pushes the windows still open. The
+ * optional combiner operation is not present in this gatherer.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ * @param   <K> The type of key
+ * @param   <R> The type of aggregate
+ */
+public final class TimeWindowGatherer<T, K, R>
+        implements Gatherer<T, TimeWindowGathererState<K, R>, EventTimeWindow<K, R>> {
+    /** The event time of each element. */
+    private final ToLongFunction<T> eventTime;
+
+    /** The window size. */
+    private final long size;
+
+    /** The time between window starts. */
+    private final long slide;
+
+    /** How far event times may run behind the greatest seen. */
+    private final long allowedLateness;
+
+    /** The key selector function. */
+    private final Function<T, K> keySelector;
+
+    /** Creates an aggregate from the first element of a key in a window. */
+    private final Function<T, R> initial;
+
+    /** Folds an element into an aggregate. */
+    private final BiFunction<R, T, R> accumulator;
+
+    /**
+     * The constructor. Times are in any unit, such
+     * as epoch milliseconds, as long as they agree.
+     *
+     * @param   eventTime       java.util.function.ToLongFunction&lt;T&gt;
+     * @param   size            long
+     * @param   slide           long
+     * @param   allowedLateness long
+     * @param   keySelector     java.util.function.Function&lt;T, K&gt;
+     * @param   initial         java.util.function.Function&lt;T, R&gt;
+     * @param   accumulator     java.util.function.BiFunction&lt;R, T, R&gt;
+     */
+    public TimeWindowGatherer(final ToLongFunction<T> eventTime,
+                              final long size,
+                              final long slide,
+                              final long allowedLateness,
+                              final Function<T, K> keySelector,
+                              final Function<T, R> initial,
+                              final BiFunction<R, T, R> accumulator) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be greater than 0");
+        }
+
+        if (slide <= 0 || slide > size) {
+            throw new IllegalArgumentException("Slide must be greater than 0 and at most the size");
+        }
+
+        if (allowedLateness < 0) {
+            throw new IllegalArgumentException("Allowed lateness must not be negative");
+        }
+
+        this.eventTime = Objects.requireNonNull(eventTime);
+        this.size = size;
+        this.slide = slide;
+        this.allowedLateness = allowedLateness;
+        this.keySelector = Objects.requireNonNull(keySelector);
+        this.initial = Objects.requireNonNull(initial);
+        this.accumulator = Objects.requireNonNull(accumulator);
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;net.jmp.demo.java22.gatherers.TimeWindowGathererState&lt;K, R&gt;&gt;
+     */
+    @Override
+    public Supplier<TimeWindowGathererState<K, R>> initializer() {
+        return TimeWindowGathererState::new;
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;net.jmp.demo.java22.gatherers.TimeWindowGathererState&lt;K, R&gt;, T, net.jmp.demo.java22.gatherers.EventTimeWindow&lt;K, R&gt;&gt;
+     */
+    @Override
+    public Integrator<TimeWindowGathererState<K, R>, T, EventTimeWindow<K, R>> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            final long time = this.eventTime.applyAsLong(item);
+
+            state.maxEventTime = Math.max(state.maxEventTime, time);
+
+            final long watermark = state.maxEventTime - this.allowedLateness;
+            final K key = this.keySelector.apply(item);
+
+            // The windows containing the time start at multiples of the slide after time - size
+
+            for (long start = Math.floorDiv(time, this.slide) * this.slide; start > time - this.size; start -= this.slide) {
+                if (start + this.size > watermark) {
+                    state.windows.computeIfAbsent(start, _ -> new LinkedHashMap<>())
+                            .compute(key, (_, aggregate) ->
+                                    aggregate == null ? this.initial.apply(item) : this.accumulator.apply(aggregate, item));
+                }
+            }
+
+            return this.pushWindowsEndingBy(state, watermark, downstream);
+        });
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;net.jmp.demo.java22.gatherers.TimeWindowGathererState&lt;K, R&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<TimeWindowGathererState<K, R>, Downstream<? super EventTimeWindow<K, R>>> finisher() {
+        return (state, downstream) -> this.pushWindowsEndingBy(state, Long.MAX_VALUE, downstream);
+    }
+
+    /**
+     * Push and remove the windows that end at or before the
+     * watermark, earliest first. False is returned if the
+     * downstream does not want more elements.
+     *
+     * @param   state       net.jmp.demo.java22.gatherers.TimeWindowGathererState&lt;K, R&gt;
+     * @param   watermark   long
+     * @param   downstream  java.util.stream.Gatherer.Downstream&lt;? super net.jmp.demo.java22.gatherers.EventTimeWindow&lt;K, R&gt;&gt;
+     * @return              boolean
+     */
+    private boolean pushWindowsEndingBy(final TimeWindowGathererState<K, R> state,
+                                        final long watermark,
+                                        final Downstream<? super EventTimeWindow<K, R>> downstream) {
+        while (!state.windows.isEmpty() && state.windows.firstKey() + this.size <= watermark) {
+            final Map.Entry<Long, Map<K, R>> window = state.windows.pollFirstEntry();
+            final long start = window.getKey();
+
+            for (final Map.Entry<K, R> entry : window.getValue().entrySet()) {
+                if (!downstream.push(new EventTimeWindow<>(entry.getKey(), start, start + this.size, entry.getValue()))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,61 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)TimeWindowGathererState.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The internal state of the time window gatherer:
+ * the aggregate of each key in each open window.
+ *
+ * @param   <K> The type of key
+ * @param   <R> The type of aggregate
+ */
+public final class TimeWindowGathererState<K, R> implements SizedState {
+    /** The aggregates of each open window by window start. */
+    final TreeMap<Long, Map<K, R>> windows = new TreeMap<>();
+
+    /** The greatest event time seen. */
+    long maxEventTime = Long.MIN_VALUE;
+
+    /**
+     * Return the number of aggregates in the open windows.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return this.windows.values().stream()
+                .mapToLong(Map::size)
+                .sum();
+    }
+}
@@ -0,0 +1,197 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)TopKByLongGathererState.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Arrays;
+
+/**
+ * The internal state of the top-k by long gatherer: a binary
+ * min-heap of at most k elements held in parallel arrays of
+ * keys and elements, so keys are never boxed.
+ *
+ * @param   <T> The type of element
+ */
+public final class TopKByLongGathererState<T> implements SizedState {
+    /** The capacity the arrays start with. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The maximum number of elements. */
+    private final int k;
+
+    /** The keys in heap order. */
+    private long[] keys;
+
+    /** The elements, parallel to the keys. */
+    private Object[] elements;
+
+    /** The number of elements. */
+    int size;
+
+    /**
+     * The constructor.
+     *
+     * @param   k   int
+     */
+    TopKByLongGathererState(final int k) {
+        super();
+
+        this.k = k;
+        this.keys = new long[Math.min(k, INITIAL_CAPACITY)];
+        this.elements = new Object[this.keys.length];
+    }
+
+    /**
+     * Add the element if its key is among
+     * the k greatest seen so far.
+     *
+     * @param   key     long
+     * @param   element T
+     */
+    void offer(final long key, final T element) {
+        if (this.size < this.k) {
+            if (this.size == this.keys.length) {
+                final int capacity = (int) Math.min(this.k, this.keys.length * 2L);
+
+                this.keys = Arrays.copyOf(this.keys, capacity);
+                this.elements = Arrays.copyOf(this.elements, capacity);
+            }
+
+            this.siftUp(this.size++, key, element);
+        } else if (key > this.keys[0]) {
+            this.siftDown(0, this.size, key, element);
+        }
+    }
+
+    /**
+     * Add every element of the other heap.
+     *
+     * @param   other   net.jmp.demo.java22.gatherers.TopKByLongGathererState&lt;T&gt;
+     */
+    @SuppressWarnings("unchecked")
+    void offerAll(final TopKByLongGathererState<T> other) {
+        for (int i = 0; i < other.size; i++) {
+            this.offer(other.keys[i], (T) other.elements[i]);
+        }
+    }
+
+    /**
+     * Sort the elements in place, greatest key first.
+     * The heap is no longer usable afterward.
+     */
+    void sortDescending() {
+        for (int end = this.size - 1; end > 0; end--) {
+            final long key = this.keys[end];
+            final Object element = this.elements[end];
+
+            this.keys[end] = this.keys[0];
+            this.elements[end] = this.elements[0];
+
+            this.siftDown(0, end, key, element);
+        }
+    }
+
+    /**
+     * Return the element at the index.
+     *
+     * @param   index   int
+     * @return          T
+     */
+    @SuppressWarnings("unchecked")
+    T elementAt(final int index) {
+        return (T) this.elements[index];
+    }
+
+    /**
+     * Place the key and element at the index or above it.
+     *
+     * @param   index   int
+     * @param   key     long
+     * @param   element java.lang.Object
+     */
+    private void siftUp(int index, final long key, final Object element) {
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+
+            if (key >= this.keys[parent]) {
+                break;
+            }
+
+            this.keys[index] = this.keys[parent];
+            this.elements[index] = this.elements[parent];
+
+            index = parent;
+        }
+
+        this.keys[index] = key;
+        this.elements[index] = element;
+    }
+
+    /**
+     * Place the key and element at the index or below
+     * it, considering only the first end entries.
+     *
+     * @param   index   int
+     * @param   end     int
+     * @param   key     long
+     * @param   element java.lang.Object
+     */
+    private void siftDown(int index, final int end, final long key, final Object element) {
+        int child;
+
+        while ((child = 2 * index + 1) < end) {
+            if (child + 1 < end && this.keys[child + 1] < this.keys[child]) {
+                child++;
+            }
+
+            if (key <= this.keys[child]) {
+                break;
+            }
+
+            this.keys[index] = this.keys[child];
+            this.elements[index] = this.elements[child];
+
+            index = child;
+        }
+
+        this.keys[index] = key;
+        this.elements[index] = element;
+    }
+
+    /**
+     * Return the number of elements in the heap.
+     *
+     * @return  long
+     */
+    @Override
+    public long stateSize() {
+        return this.size;
+    }
+}
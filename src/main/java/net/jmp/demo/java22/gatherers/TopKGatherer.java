@@ -0,0 +1,169 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)TopKGatherer.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+import java.util.stream.Gatherer;
+
+/**
+ * This gatherer finds the k greatest elements in a stream according to a comparator.
+ * The state is a heap bounded at k elements whose head is the least of them, so each
+ * element costs O(log k) and memory is O(k). The combiner merges the smaller heap into
+ * the larger, and the finisher pushes the elements greatest first.
+ *
+ * @param   <T> The type of input elements to the gathering operation
+ */
+public final class TopKGatherer<T> implements Gatherer<T, PriorityQueue<T>, T> {
+    /** The number of elements to keep. */
+    private final int k;
+
+    /** The comparator. */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * The constructor.
+     *
+     * @param   k           int
+     * @param   comparator  java.util.Comparator&lt;? super T&gt;
+     */
+    public TopKGatherer(final int k, final Comparator<? super T> comparator) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("K must be greater than 0");
+        }
+
+        this.k = k;
+        this.comparator = Objects.requireNonNull(comparator);
+    }
+
+    /**
+     * A function that produces an instance of the intermediate
+     * state used for this gathering operation.
+     *
+     * @return  java.util.function.Supplier&lt;java.util.PriorityQueue&lt;T&gt;&gt;
+     */
+    @Override
+    public Supplier<PriorityQueue<T>> initializer() {
+        return () -> new PriorityQueue<>(this.comparator);
+    }
+
+    /**
+     * A function which integrates provided elements,
+     * potentially using the provided intermediate state,
+     * optionally producing output to the provided
+     * downstream type.
+     *
+     * @return  java.util.stream.Gatherer.Integrator&lt;java.util.PriorityQueue&lt;T&gt;, T, T&gt;
+     */
+    @Override
+    public Integrator<PriorityQueue<T>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            this.offer(state, item);
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /**
+     * A function which accepts two intermediate states and combines them into one.
+     * Used for parallel streams to combine states from different segments.
+     *
+     * @return  java.util.function.BinaryOperator&lt;java.util.PriorityQueue&lt;T&gt;&gt;
+     */
+    @Override
+    public BinaryOperator<PriorityQueue<T>> combiner() {
+        return (first, second) -> {
+            final PriorityQueue<T> larger = first.size() >= second.size() ? first : second;
+            final PriorityQueue<T> smaller = larger == first ? second : first;
+
+            for (final T item : smaller) {
+                this.offer(larger, item);
+            }
+
+            return larger;
+        };
+    }
+
+    /**
+     * A function which accepts the final intermediate state and a
+     * downstream object, allowing to perform a final action at the
+     * end of input elements. The lambda is the state (A) and the
+     * result type (R).
+     *
+     * @return  java.util.function.BiConsumer&lt;java.util.PriorityQueue&lt;T&gt;, java.util.stream.Gatherer.Downstream&gt;
+     */
+    @Override
+    public BiConsumer<PriorityQueue<T>, Downstream<? super T>> finisher() {
+        return (state, downstream) -> {
+            final List<T> greatestFirst = new ArrayList<>(state);
+
+            greatestFirst.sort(this.comparator.reversed());
+
+            for (final T item : greatestFirst) {
+                if (!downstream.push(item)) {
+                    break;
+                }
+            }
+        };
+    }
+
+    /**
+     * Add the item to the heap if it is among
+     * the k greatest seen so far.
+     *
+     * @param   heap    java.util.PriorityQueue&lt;T&gt;
+     * @param   item    T
+     */
+    private void offer(final PriorityQueue<T> heap, final T item) {
+        if (heap.size() < this.k) {
+            heap.offer(item);
+        } else if (this.comparator.compare(item, heap.peek()) > 0) {
+            heap.poll();
+            heap.offer(item);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)WindowReducer.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Objects;
+
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A mutable reduction over a sliding window that is
+ * updated as elements enter and leave the window.
+ *
+ * @param   <T> The type of element
+ * @param   <R> The type of result
+ */
+public interface WindowReducer<T, R> {
+    /**
+     * Add an element entering the window.
+     *
+     * @param   element T
+     */
+    void add(T element);
+
+    /**
+     * Remove an element leaving the window.
+     *
+     * @param   element T
+     */
+    void remove(T element);
+
+    /**
+     * Return the result for the elements in the window.
+     *
+     * @return  R
+     */
+    R result();
+
+    /**
+     * A reducer that sums long values.
+     *
+     * @param   mapper  java.util.function.ToLongFunction&lt;T&gt;
+     * @return          net.jmp.demo.java22.gatherers.WindowReducer&lt;T, java.lang.Long&gt;
+     * @param   <T>     The type of element
+     */
+    static <T> WindowReducer<T, Long> summingLong(final ToLongFunction<T> mapper) {
+        Objects.requireNonNull(mapper);
+
+        return new WindowReducer<>() {
+            private long sum;
+
+            @Override
+            public void add(final T element) {
+                this.sum += mapper.applyAsLong(element);
+            }
+
+            @Override
+            public void remove(final T element) {
+                this.sum -= mapper.applyAsLong(element);
+            }
+
+            @Override
+            public Long result() {
+                return this.sum;
+            }
+        };
+    }
+
+    /**
+     * A reducer that sums double values. The sum
+     * is compensated so that rounding errors do not
+     * build up as elements are added and removed.
+     *
+     * @param   mapper  java.util.function.ToDoubleFunction&lt;T&gt;
+     * @return          net.jmp.demo.java22.gatherers.WindowReducer&lt;T, java.lang.Double&gt;
+     * @param   <T>     The type of element
+     */
+    static <T> WindowReducer<T, Double> summingDouble(final ToDoubleFunction<T> mapper) {
+        Objects.requireNonNull(mapper);
+
+        return new WindowReducer<>() {
+            private final CompensatedSum sum = new CompensatedSum();
+
+            @Override
+            public void add(final T element) {
+                this.sum.add(mapper.applyAsDouble(element));
+            }
+
+            @Override
+            public void remove(final T element) {
+                this.sum.add(-mapper.applyAsDouble(element));
+            }
+
+            @Override
+            public Double result() {
+                return this.sum.get();
+            }
+        };
+    }
+
+    /**
+     * A reducer that averages double values.
+     *
+     * @param   mapper  java.util.function.ToDoubleFunction&lt;T&gt;
+     * @return          net.jmp.demo.java22.gatherers.WindowReducer&lt;T, java.lang.Double&gt;
+     * @param   <T>     The type of element
+     */
+    static <T> WindowReducer<T, Double> averagingDouble(final ToDoubleFunction<T> mapper) {
+        Objects.requireNonNull(mapper);
+
+        return new WindowReducer<>() {
+            private final CompensatedSum sum = new CompensatedSum();
+
+            private long count;
+
+            @Override
+            public void add(final T element) {
+                this.sum.add(mapper.applyAsDouble(element));
+                this.count++;
+            }
+
+            @Override
+            public void remove(final T element) {
+                this.sum.add(-mapper.applyAsDouble(element));
+                this.count--;
+            }
+
+            @Override
+            public Double result() {
+                return this.count == 0 ? 0.0 : this.sum.get() / this.count;
+            }
+        };
+    }
+}
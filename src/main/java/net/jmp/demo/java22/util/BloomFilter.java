@@ -0,0 +1,211 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)BloomFilter.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Objects;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe Bloom filter. It records items in a fixed
+ * number of bits sized from the expected number of items
+ * and the acceptable false-positive rate. An item that was
+ * added is always reported as present; one that was not may
+ * be reported as present at roughly that rate once the
+ * expected number of items has been added.
+ *
+ * @param   <T> The type of item
+ */
+public final class BloomFilter<T> {
+    /** The number of bits; always a multiple of 64. */
+    private final long bitCount;
+
+    /** The number of bits set for each item. */
+    private final int hashCount;
+
+    /** The bits. */
+    private final AtomicLongArray bits;
+
+    /**
+     * A constructor that takes the expected number
+     * of items and the false-positive rate.
+     *
+     * @param   expectedItems       long
+     * @param   falsePositiveRate   double
+     */
+    public BloomFilter(final long expectedItems, final double falsePositiveRate) {
+        if (expectedItems <= 0) {
+            throw new IllegalArgumentException("Expected items must be greater than 0");
+        }
+
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+
+        super();
+
+        final double optimalBits = -expectedItems * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        final long words = (long) Math.ceil(optimalBits / Long.SIZE);
+
+        if (words > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("The filter would be too large");
+        }
+
+        this.bitCount = words * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) this.bitCount / expectedItems * Math.log(2)));
+        this.bits = new AtomicLongArray((int) words);
+    }
+
+    /**
+     * Add the item. True is returned if the item was
+     * not already present, or false if it probably was.
+     * The item's bits are set one at a time, so threads
+     * that add the same new item concurrently may each
+     * be told that it was not present.
+     *
+     * @param   item    T
+     * @return          boolean
+     */
+    public boolean put(final T item) {
+        final long hash = hash(Objects.requireNonNull(item));
+
+        boolean changed = false;
+
+        for (int i = 0; i < this.hashCount; i++) {
+            final long index = this.index(hash, i);
+            final long mask = 1L << index;      // Shifts use the low six bits
+            final int word = (int) (index >>> 6);
+
+            if ((this.bits.get(word) & mask) == 0) {
+                changed |= (this.bits.getAndAccumulate(word, mask, (current, bit) -> current | bit) & mask) == 0;
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * Return true if the item might have been added,
+     * or false if it definitely was not.
+     *
+     * @param   item    T
+     * @return          boolean
+     */
+    public boolean mightContain(final T item) {
+        final long hash = hash(Objects.requireNonNull(item));
+
+        for (int i = 0; i < this.hashCount; i++) {
+            final long index = this.index(hash, i);
+
+            if ((this.bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Fold the other filter into this one. Afterward this
+     * filter contains the items added to either of them.
+     *
+     * @param   other   net.jmp.demo.java22.util.BloomFilter&lt;T&gt;
+     */
+    public void merge(final BloomFilter<T> other) {
+        if (other.bitCount != this.bitCount || other.hashCount != this.hashCount) {
+            throw new IllegalArgumentException("Only filters of equal size can be merged");
+        }
+
+        for (int i = 0; i < this.bits.length(); i++) {
+            final long word = other.bits.get(i);
+
+            if (word != 0) {
+                this.bits.getAndAccumulate(i, word, (current, set) -> current | set);
+            }
+        }
+    }
+
+    /**
+     * Remove every item.
+     */
+    public void clear() {
+        for (int i = 0; i < this.bits.length(); i++) {
+            this.bits.set(i, 0);
+        }
+    }
+
+    /**
+     * Return the number of bits.
+     *
+     * @return  long
+     */
+    public long getBitCount() {
+        return this.bitCount;
+    }
+
+    /**
+     * Return the number of bits set for each item.
+     *
+     * @return  int
+     */
+    public int getHashCount() {
+        return this.hashCount;
+    }
+
+    /**
+     * Return the bit index of the hash for the i-th hash
+     * function, derived from the two halves of the hash.
+     *
+     * @param   hash    long
+     * @param   i       int
+     * @return          long
+     */
+    private long index(final long hash, final int i) {
+        final long combined = (int) hash + (long) i * (int) (hash >>> 32);
+
+        return Math.floorMod(combined, this.bitCount);
+    }
+
+    /**
+     * Spread the item's hash code over 64 bits.
+     *
+     * @param   item    java.lang.Object
+     * @return          long
+     */
+    private static long hash(final Object item) {
+        long hash = item.hashCode() * 0x9E3779B97F4A7C15L;
+
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+
+        return hash ^ (hash >>> 33);
+    }
+}
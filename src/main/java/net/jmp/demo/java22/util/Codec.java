@@ -0,0 +1,127 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)Codec.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes values to and decodes
+ * values from a binary form.
+ *
+ * @param   <T> The type of value
+ */
+public interface Codec<T> {
+    /**
+     * Encode the value.
+     *
+     * @param   value       T
+     * @param   output      java.io.DataOutput
+     * @throws  java.io.IOException
+     */
+    void encode(T value, DataOutput output) throws IOException;
+
+    /**
+     * Decode a value.
+     *
+     * @param   input   java.io.DataInput
+     * @return          T
+     * @throws          java.io.IOException
+     */
+    T decode(DataInput input) throws IOException;
+
+    /**
+     * Return a codec for strings of any length.
+     *
+     * @return  net.jmp.demo.java22.util.Codec&lt;java.lang.String&gt;
+     */
+    static Codec<String> ofString() {
+        return new Codec<>() {
+            @Override
+            public void encode(final String value, final DataOutput output) throws IOException {
+                final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+
+            @Override
+            public String decode(final DataInput input) throws IOException {
+                final byte[] bytes = new byte[input.readInt()];
+
+                input.readFully(bytes);
+
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /**
+     * Return a codec for integers.
+     *
+     * @return  net.jmp.demo.java22.util.Codec&lt;java.lang.Integer&gt;
+     */
+    static Codec<Integer> ofInteger() {
+        return new Codec<>() {
+            @Override
+            public void encode(final Integer value, final DataOutput output) throws IOException {
+                output.writeInt(value);
+            }
+
+            @Override
+            public Integer decode(final DataInput input) throws IOException {
+                return input.readInt();
+            }
+        };
+    }
+
+    /**
+     * Return a codec for longs.
+     *
+     * @return  net.jmp.demo.java22.util.Codec&lt;java.lang.Long&gt;
+     */
+    static Codec<Long> ofLong() {
+        return new Codec<>() {
+            @Override
+            public void encode(final Long value, final DataOutput output) throws IOException {
+                output.writeLong(value);
+            }
+
+            @Override
+            public Long decode(final DataInput input) throws IOException {
+                return input.readLong();
+            }
+        };
+    }
+}
@@ -0,0 +1,159 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)CountMinSketch.java   0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Objects;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe count-min sketch. It estimates how
+ * often items have been seen in a fixed amount of
+ * memory. Estimates may be too high because of hash
+ * collisions but are never too low.
+ *
+ * @param   <T> The type of item
+ */
+public final class CountMinSketch<T> {
+    /** The number of counters in each row; always a power of two. */
+    private final int width;
+
+    /** The number of rows, each using a different hash. */
+    private final int depth;
+
+    /** The counters, stored row after row. */
+    private final AtomicLongArray counters;
+
+    /**
+     * A constructor that takes the width and depth.
+     * The width is rounded up to a power of two.
+     *
+     * @param   width   int
+     * @param   depth   int
+     */
+    public CountMinSketch(final int width, final int depth) {
+        if (width <= 0 || width > 1 << 30) {
+            throw new IllegalArgumentException("Width must be greater than 0 and at most 2^30");
+        }
+
+        if (depth <= 0) {
+            throw new IllegalArgumentException("Depth must be greater than 0");
+        }
+
+        super();
+
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.depth = depth;
+        this.counters = new AtomicLongArray(this.width * depth);
+    }
+
+    /**
+     * Add one occurrence of the item and
+     * return its new estimated count.
+     *
+     * @param   item    T
+     * @return          long
+     */
+    public long add(final T item) {
+        final int hash = hash(Objects.requireNonNull(item));
+
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < this.depth; row++) {
+            estimate = Math.min(estimate, this.counters.incrementAndGet(this.index(hash, row)));
+        }
+
+        return estimate;
+    }
+
+    /**
+     * Return the estimated count of the item.
+     *
+     * @param   item    T
+     * @return          long
+     */
+    public long estimate(final T item) {
+        final int hash = hash(Objects.requireNonNull(item));
+
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < this.depth; row++) {
+            estimate = Math.min(estimate, this.counters.get(this.index(hash, row)));
+        }
+
+        return estimate;
+    }
+
+    /**
+     * Return the width.
+     *
+     * @return  int
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Return the depth.
+     *
+     * @return  int
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Return the counter index of the hash in the row. Each
+     * row uses a different odd multiplier so that items that
+     * collide in one row are unlikely to collide in another.
+     *
+     * @param   hash    int
+     * @param   row     int
+     * @return          int
+     */
+    private int index(final int hash, final int row) {
+        final int rowHash = (hash + row) * (0x9E3779B9 + (row << 1));
+
+        return row * this.width + ((rowHash ^ (rowHash >>> 16)) & (this.width - 1));
+    }
+
+    /**
+     * Spread the item's hash code.
+     *
+     * @param   item    java.lang.Object
+     * @return          int
+     */
+    private static int hash(final Object item) {
+        final int hash = item.hashCode() * 0x85EBCA6B;
+
+        return hash ^ (hash >>> 13);
+    }
+}
@@ -0,0 +1,186 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)HyperLogLog.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Objects;
+
+/**
+ * A HyperLogLog sketch. It estimates the number of
+ * distinct items seen in a fixed amount of memory:
+ * one byte for each of 2^precision registers. The
+ * relative standard error is 1.04 / sqrt(2^precision).
+ * Sketches of equal precision can be merged. It is
+ * not thread-safe.
+ *
+ * @param   <T> The type of item
+ */
+public final class HyperLogLog<T> {
+    /** The lowest precision. */
+    public static final int MINIMUM_PRECISION = 4;
+
+    /** The highest precision. */
+    public static final int MAXIMUM_PRECISION = 18;
+
+    /** The number of bits of the hash that select a register. */
+    private final int precision;
+
+    /** The highest rank seen by each register. */
+    private final byte[] registers;
+
+    /**
+     * A constructor that takes the precision.
+     *
+     * @param   precision   int
+     */
+    public HyperLogLog(final int precision) {
+        if (precision < MINIMUM_PRECISION || precision > MAXIMUM_PRECISION) {
+            throw new IllegalArgumentException(STR."Precision must be between \{MINIMUM_PRECISION} and \{MAXIMUM_PRECISION}");
+        }
+
+        super();
+
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Add the item.
+     *
+     * @param   item    T
+     */
+    public void add(final T item) {
+        final long hash = hash(Objects.requireNonNull(item));
+        final int index = (int) (hash >>> (Long.SIZE - this.precision));
+
+        // The sentinel bit caps the rank once the remaining bits are all zero
+
+        final int rank = Long.numberOfLeadingZeros((hash << this.precision) | (1L << (this.precision - 1))) + 1;
+
+        if (rank > this.registers[index]) {
+            this.registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Fold the other sketch into this one. Afterward this sketch
+     * estimates the distinct items added to either of them.
+     *
+     * @param   other   net.jmp.demo.java22.util.HyperLogLog&lt;T&gt;
+     */
+    public void merge(final HyperLogLog<T> other) {
+        if (other.precision != this.precision) {
+            throw new IllegalArgumentException("Only sketches of equal precision can be merged");
+        }
+
+        for (int i = 0; i < this.registers.length; i++) {
+            if (other.registers[i] > this.registers[i]) {
+                this.registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Return the estimated number of distinct items.
+     *
+     * @return  long
+     */
+    public long estimate() {
+        final int count = this.registers.length;
+
+        double sum = 0;
+        int zeros = 0;
+
+        for (final byte register : this.registers) {
+            sum += Math.scalb(1.0, -register);
+
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        final double estimate = alpha(count) * count * count / sum;
+
+        if (estimate <= 2.5 * count && zeros > 0) {
+            return Math.round(count * Math.log((double) count / zeros));   // Linear counting for small sets
+        }
+
+        return Math.round(estimate);
+    }
+
+    /**
+     * Return the precision.
+     *
+     * @return  int
+     */
+    public int getPrecision() {
+        return this.precision;
+    }
+
+    /**
+     * Return the relative standard error of the estimates.
+     *
+     * @return  double
+     */
+    public double getStandardError() {
+        return 1.04 / Math.sqrt(this.registers.length);
+    }
+
+    /**
+     * Return the bias correction constant
+     * for the number of registers.
+     *
+     * @param   count   int
+     * @return          double
+     */
+    private static double alpha(final int count) {
+        return switch (count) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / count);
+        };
+    }
+
+    /**
+     * Spread the item's hash code over 64 bits.
+     *
+     * @param   item    java.lang.Object
+     * @return          long
+     */
+    private static long hash(final Object item) {
+        long hash = item.hashCode() * 0x9E3779B97F4A7C15L;
+
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+
+        return hash ^ (hash >>> 33);
+    }
+}
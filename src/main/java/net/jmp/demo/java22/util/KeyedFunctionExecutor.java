@@ -1,6 +1,7 @@
 package net.jmp.demo.java22.util;
 
 /*
+ * (#)KeyedFunctionExecutor.java    0.10.0  10/18/2026
  * (#)KeyedFunctionExecutor.java    0.9.0   08/24/2024
  * (#)KeyedFunctionExecutor.java    0.8.0   08/22/2024
  * (#)KeyedFunctionExecutor.java    0.5.0   08/14/2024
@@ -8,7 +9,7 @@ package net.jmp.demo.java22.util;
  * (#)KeyedFunctionExecutor.java    0.2.0   08/07/2024
  *
  * @author   Jonathan Parker
- * @version  0.9.0
+ * @version  0.10.0
  * @since    0.2.0
  *
  * MIT License
@@ -34,17 +35,23 @@ package net.jmp.demo.java22.util;
  * SOFTWARE.
  */
 
-import com.google.common.util.concurrent.Striped;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import java.time.Duration;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
 
 import java.util.concurrent.*;
 
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
 
 import java.util.function.Function;
 
@@ -59,30 +66,67 @@ import org.slf4j.LoggerFactory;
  * @param   <T> The type of value
  */
 public final class KeyedFunctionExecutor<T> implements AutoCloseable {
+    /** The lane used when no lanes are configured. */
+    public static final WeightedFairExecutor.Lane DEFAULT_LANE = new WeightedFairExecutor.Lane("default", 1);
+
     private static final int DEFAULT_NUMBER_OF_THREADS = Runtime.getRuntime().availableProcessors();
 
+    /** The number of hot keys reported in the metrics. */
+    private static final int HOT_KEY_COUNT = 10;
+
+    /** The factor by which the default stripe table may grow. */
+    private static final int MAXIMUM_STRIPE_GROWTH = 16;
+
     /** The logger. */
     private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
 
     /** The map of keyed entries. */
-    private final Map<String, T> map = new ConcurrentHashMap<>();
+    private final Map<String, KeyedValue<T>> map = new ConcurrentHashMap<>();
+
+    /** The map of keyed entries whose callers are waiting on a result, one per function in submission order. */
+    private final Map<String, List<PendingResult<T>>> pendingResults = new ConcurrentHashMap<>();
+
+    /** The keys that have a result-returning function running. */
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
 
     /** The executor service. */
-    private final ExecutorService executor;
+    private final WeightedFairExecutor executor;
+
+    /** The lane used when none is given. */
+    private final WeightedFairExecutor.Lane defaultLane;
+
+    /** Schedules the dispatch of keys that were throttled. */
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    /** The keys waiting on a scheduled retry because they were throttled. */
+    private final Set<String> throttledKeys = ConcurrentHashMap.newKeySet();
 
-    /** A list of runnable futures. */
-    private final List<Future<Void>> futures = new ArrayList<>();
+    /** The token bucket of each key; null if keys are not rate limited. */
+    private volatile LoadingCache<String, TokenBucket> keyBuckets;
+
+    /** The token bucket shared by all keys; null if there is no global rate limit. */
+    private volatile TokenBucket globalBucket;
+
+    /** A queue of runnable futures. */
+    private final Queue<Future<?>> futures = new ConcurrentLinkedQueue<>();
 
     /** Control access to the map. */
-    private final Striped<ReadWriteLock> locks = Striped.readWriteLock(64);
+    private final StripedLocks locks;
+
+    /** The metrics. */
+    private final KeyedFunctionExecutorMetrics metrics;
+
+    /** The recently computed results; null if result caching is disabled. */
+    private final Cache<String, CachedResult> resultCache;
+
+    /** The journal of pending values; null if journaling is disabled. */
+    private final PendingWorkJournal<T> journal;
 
     /**
      * The default constructor.
      */
     public KeyedFunctionExecutor() {
-        super();
-
-        this.executor = Executors.newFixedThreadPool(DEFAULT_NUMBER_OF_THREADS);
+        this(DEFAULT_NUMBER_OF_THREADS);
     }
 
     /**
@@ -90,13 +134,124 @@ public final class KeyedFunctionExecutor<T> implements AutoCloseable {
      * the number of threads to use.
      */
     public KeyedFunctionExecutor(final int numberOfThreads) {
+        this(numberOfThreads, Duration.ZERO);
+    }
+
+    /**
+     * A constructor that takes the number of threads
+     * to use and how long a computed result may be
+     * reused for an identical key, function and value.
+     * A zero duration disables result caching.
+     *
+     * @param   numberOfThreads     int
+     * @param   resultTimeToLive    java.time.Duration
+     * @since                       0.10.0
+     */
+    public KeyedFunctionExecutor(final int numberOfThreads, final Duration resultTimeToLive) {
+        this(numberOfThreads, resultTimeToLive, StripedLocks.defaultStripes(), StripedLocks.defaultStripes() * MAXIMUM_STRIPE_GROWTH);
+    }
+
+    /**
+     * A constructor that also takes the initial and
+     * maximum number of lock stripes. The stripe table
+     * doubles online when unrelated keys are seen to
+     * collide, until it reaches the maximum. Pass equal
+     * values for a fixed number of stripes.
+     *
+     * @param   numberOfThreads     int
+     * @param   resultTimeToLive    java.time.Duration
+     * @param   initialStripes      int
+     * @param   maximumStripes      int
+     * @since                       0.10.0
+     */
+    public KeyedFunctionExecutor(final int numberOfThreads,
+                                 final Duration resultTimeToLive,
+                                 final int initialStripes,
+                                 final int maximumStripes) {
+        this(numberOfThreads, resultTimeToLive, initialStripes, maximumStripes, null, List.of(DEFAULT_LANE));
+    }
+
+    /**
+     * A constructor that takes the number of threads to
+     * use and the priority lanes. The threads are shared
+     * by the lanes in proportion to their weights while
+     * they are busy. The first lane is the default lane.
+     *
+     * @param   numberOfThreads int
+     * @param   lanes           java.util.List&lt;net.jmp.demo.java22.util.WeightedFairExecutor.Lane&gt;
+     * @since                   0.10.0
+     */
+    public KeyedFunctionExecutor(final int numberOfThreads, final List<WeightedFairExecutor.Lane> lanes) {
+        this(numberOfThreads,
+                Duration.ZERO,
+                StripedLocks.defaultStripes(),
+                StripedLocks.defaultStripes() * MAXIMUM_STRIPE_GROWTH,
+                null,
+                lanes);
+    }
+
+    /**
+     * A constructor that takes the number of threads to use
+     * and a journal. Every value given to process is appended
+     * to the journal before it is dispatched and marked done
+     * once its function completes. Values given to submit are
+     * not journaled, since the futures awaiting them cannot
+     * survive a restart. The journal is not closed by this
+     * executor.
+     *
+     * @param   numberOfThreads int
+     * @param   journal         net.jmp.demo.java22.util.PendingWorkJournal&lt;T&gt;
+     * @since                   0.10.0
+     * @see                     #resume(java.util.function.Function)
+     */
+    public KeyedFunctionExecutor(final int numberOfThreads, final PendingWorkJournal<T> journal) {
+        this(numberOfThreads,
+                Duration.ZERO,
+                StripedLocks.defaultStripes(),
+                StripedLocks.defaultStripes() * MAXIMUM_STRIPE_GROWTH,
+                Objects.requireNonNull(journal),
+                List.of(DEFAULT_LANE));
+    }
+
+    /**
+     * The constructor that all others delegate to.
+     *
+     * @param   numberOfThreads     int
+     * @param   resultTimeToLive    java.time.Duration
+     * @param   initialStripes      int
+     * @param   maximumStripes      int
+     * @param   journal             net.jmp.demo.java22.util.PendingWorkJournal&lt;T&gt; or null
+     * @param   lanes               java.util.List&lt;net.jmp.demo.java22.util.WeightedFairExecutor.Lane&gt;
+     */
+    private KeyedFunctionExecutor(final int numberOfThreads,
+                                  final Duration resultTimeToLive,
+                                  final int initialStripes,
+                                  final int maximumStripes,
+                                  final PendingWorkJournal<T> journal,
+                                  final List<WeightedFairExecutor.Lane> lanes) {
         if (numberOfThreads <= 0) {
             throw new IllegalArgumentException("Number of threads must be greater than 0");
         }
 
+        if (Objects.requireNonNull(resultTimeToLive).isNegative()) {
+            throw new IllegalArgumentException("Result time-to-live must not be negative");
+        }
+
         super();
 
-        this.executor = Executors.newFixedThreadPool(numberOfThreads);
+        this.executor = new WeightedFairExecutor(numberOfThreads, lanes);
+        this.defaultLane = lanes.getFirst();
+        this.locks = new StripedLocks(initialStripes, maximumStripes);
+        this.metrics = new KeyedFunctionExecutorMetrics(this.locks, HOT_KEY_COUNT);
+        this.journal = journal;
+
+        if (resultTimeToLive.isZero()) {
+            this.resultCache = null;
+        } else {
+            this.resultCache = CacheBuilder.newBuilder()
+                    .expireAfterWrite(resultTimeToLive)
+                    .build();
+        }
     }
 
     /**
@@ -110,6 +265,7 @@ public final class KeyedFunctionExecutor<T> implements AutoCloseable {
 
         this.waitForFutures();
         this.executor.shutdown();
+        this.retryScheduler.shutdown();
 
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
@@ -117,14 +273,17 @@ public final class KeyedFunctionExecutor<T> implements AutoCloseable {
     }
 
     /**
-     * Wait for any futures to complete.
+     * Wait for any futures to complete. Futures
+     * queued while waiting are waited on as well.
      */
     private void waitForFutures() {
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(entry());
         }
 
-        this.futures.forEach(future -> {
+        Future<?> future;
+
+        while ((future = this.futures.poll()) != null) {
             if (!future.isDone()) {
                 try {
                     future.get();
@@ -136,9 +295,7 @@ public final class KeyedFunctionExecutor<T> implements AutoCloseable {
                     }
                 }
             }
-        });
-
-        this.futures.clear();
+        }
 
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
@@ -153,36 +310,523 @@ public final class KeyedFunctionExecutor<T> implements AutoCloseable {
      * @param   value       T
      */
     public void process(final Function<? super T, Void> function, final String key, final T value) {
+        this.process(function, key, value, this.defaultLane);
+    }
+
+    /**
+     * Process the keyed function in the lane.
+     *
+     * @param   function    java.util.function.Function&lt;? super T, java.lang.Void&gt;
+     * @param   key         java.lang.String
+     * @param   value       T
+     * @param   lane        net.jmp.demo.java22.util.WeightedFairExecutor.Lane
+     * @since               0.10.0
+     */
+    public void process(final Function<? super T, Void> function,
+                        final String key,
+                        final T value,
+                        final WeightedFairExecutor.Lane lane) {
         if (this.logger.isTraceEnabled()) {
-            this.logger.trace(entryWith(function, key, value));
+            this.logger.trace(entryWith(function, key, value, lane));
         }
 
         Objects.requireNonNull(function);
         Objects.requireNonNull(key);
         Objects.requireNonNull(value);
 
-        this.map.put(key, value);
+        this.checkLane(lane);
+
+        final long sequence = this.journal == null ? 0 : this.journal.append(key, value);
+
+        this.dispatch(key, new KeyedValue<>(function, value, sequence, lane));
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Dispatch the values that were pending in the journal
+     * when it was opened. Call this once, before processing
+     * any new values. Each value is applied with the function
+     * and marked done in the journal as it completes.
+     *
+     * @param   function    java.util.function.Function&lt;? super T, java.lang.Void&gt;
+     * @return              int
+     * @since               0.10.0
+     */
+    public int resume(final Function<? super T, Void> function) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(function));
+        }
+
+        Objects.requireNonNull(function);
 
-        final Lock lock = this.locks.get(key).writeLock();
+        if (this.journal == null) {
+            throw new IllegalStateException("This executor has no journal to resume from");
+        }
 
-        if (lock.tryLock()) {
-            try {
-                while (map.containsKey(key)) {
-                    final T val = map.get(key);
+        final List<PendingWorkJournal.RecoveredValue<T>> recoveredValues = this.journal.takeRecoveredValues();
 
-                    this.map.remove(key);
+        recoveredValues.forEach(recoveredValue -> {
+            this.dispatch(recoveredValue.key(), new KeyedValue<>(function, recoveredValue.value(), recoveredValue.sequence(), this.defaultLane));
+        });
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(recoveredValues.size()));
+        }
+
+        return recoveredValues.size();
+    }
+
+    /**
+     * Limit how often each key's function may be dispatched.
+     * Values of a key that is over its limit wait, and keep
+     * being coalesced, until a token is available; callers
+     * of process and submit are never blocked.
+     *
+     * @param   permitsPerSecond    double
+     * @param   burst               int
+     * @since                       0.10.0
+     */
+    public void setKeyRateLimit(final double permitsPerSecond, final int burst) {
+        final TokenBucket prototype = new TokenBucket(permitsPerSecond, burst);
+
+        // A bucket idle long enough to be evicted would be full again anyway
+
+        this.keyBuckets = CacheBuilder.newBuilder()
+                .expireAfterAccess(Duration.ofNanos(prototype.getNanosToFill()))
+                .build(CacheLoader.from(_ -> new TokenBucket(permitsPerSecond, burst)));
+    }
+
+    /**
+     * Limit how often functions may be
+     * dispatched across all keys.
+     *
+     * @param   permitsPerSecond    double
+     * @param   burst               int
+     * @since                       0.10.0
+     */
+    public void setGlobalRateLimit(final double permitsPerSecond, final int burst) {
+        this.globalBucket = new TokenBucket(permitsPerSecond, burst);
+    }
+
+    /**
+     * Store the value as the key's entry and dispatch it.
+     * An entry with a higher journal sequence is kept.
+     *
+     * @param   key         java.lang.String
+     * @param   keyedValue  net.jmp.demo.java22.util.KeyedFunctionExecutor.KeyedValue&lt;T&gt;
+     */
+    private void dispatch(final String key, final KeyedValue<T> keyedValue) {
+        final WrappedObject<Boolean> coalesced = WrappedObject.of(false);
+
+        this.map.compute(key, (_, replaced) -> {
+            if (replaced == null) {
+                return keyedValue;
+            }
 
-                    final Future<Void> future = this.executor.submit(() -> function.apply(val));
+            coalesced.set(true);
 
-                    this.futures.add(future);
+            return replaced.sequence() > keyedValue.sequence() ? replaced : keyedValue;
+        });
+
+        this.metrics.recordSubmission(key, coalesced.get());
+        this.drain(key);
+    }
+
+    /**
+     * Dispatch the key's entries unless the key is waiting
+     * on a retry. The key's stripe is locked, waiting for
+     * any other key that shares it, so an entry stored
+     * before the call is always seen by this or an
+     * earlier holder.
+     *
+     * @param   key java.lang.String
+     */
+    private void drain(final String key) {
+        if (this.throttledKeys.contains(key)) {
+            return;     // The scheduled retry drains the key
+        }
+
+        final Lock lock = this.locks.lock(key);
+
+        try {
+            while (this.map.containsKey(key)) {
+                final long wait = this.throttle(key);
+
+                if (wait > 0) {
+                    this.scheduleRetry(key, wait);
+
+                    break;
                 }
-            } finally {
-                lock.unlock();
+
+                final KeyedValue<T> dispatched = this.map.remove(key);
+                final long queuedAt = System.nanoTime();
+
+                final Future<Void> future = this.executor.submit(dispatched.lane(), () -> {
+                    this.metrics.recordQueueWait(System.nanoTime() - queuedAt);
+
+                    try {
+                        return dispatched.function().apply(dispatched.value());
+                    } finally {
+                        this.markDone(key, dispatched.sequence());
+                    }
+                });
+
+                this.futures.add(future);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take a token for the key. Zero is returned if
+     * the key may be dispatched now, otherwise the
+     * nanoseconds to wait before trying again.
+     *
+     * @param   key java.lang.String
+     * @return      long
+     */
+    private long throttle(final String key) {
+        final LoadingCache<String, TokenBucket> buckets = this.keyBuckets;
+        final TokenBucket keyBucket = buckets == null ? null : buckets.getUnchecked(key);
+        final TokenBucket global = this.globalBucket;
+
+        long wait = keyBucket == null ? 0 : keyBucket.tryAcquire();
+
+        if (wait == 0 && global != null) {
+            wait = global.tryAcquire();
+
+            if (wait > 0 && keyBucket != null) {
+                keyBucket.refund();
             }
         }
 
+        if (wait > 0) {
+            this.metrics.recordThrottle();
+        }
+
+        return wait;
+    }
+
+    /**
+     * Schedule the key to be dispatched again
+     * unless a retry is already scheduled.
+     *
+     * @param   key     java.lang.String
+     * @param   nanos   long
+     */
+    private void scheduleRetry(final String key, final long nanos) {
+        if (this.throttledKeys.add(key)) {
+            this.futures.add(this.retryScheduler.schedule(() -> {
+                this.throttledKeys.remove(key);
+                this.drain(key);
+                this.dispatchPendingResult(key);
+            }, nanos, TimeUnit.NANOSECONDS));
+        }
+    }
+
+    /**
+     * Check that the lane belongs to this executor.
+     *
+     * @param   lane    net.jmp.demo.java22.util.WeightedFairExecutor.Lane
+     */
+    private void checkLane(final WeightedFairExecutor.Lane lane) {
+        if (!this.executor.hasLane(Objects.requireNonNull(lane))) {
+            throw new IllegalArgumentException(STR."Lane \{lane.name()} does not belong to this executor");
+        }
+    }
+
+    /**
+     * Mark the value with the sequence done
+     * in the journal if there is one.
+     *
+     * @param   key         java.lang.String
+     * @param   sequence    long
+     */
+    private void markDone(final String key, final long sequence) {
+        if (this.journal != null) {
+            this.journal.markDone(key, sequence);
+        }
+    }
+
+    /**
+     * Process the keyed function and return a future that
+     * completes with its result. At most one function runs
+     * per key at a time. Values submitted for a key and
+     * function while they wait are coalesced so that only
+     * the newest one is applied, and the futures of the
+     * values it replaced complete with that newer result.
+     * Different functions for a key run in submission order.
+     * Submitted values are not journaled.
+     *
+     * @param   function    java.util.function.Function&lt;? super T, ? extends R&gt;
+     * @param   key         java.lang.String
+     * @param   value       T
+     * @return              java.util.concurrent.CompletableFuture&lt;R&gt;
+     * @param   <R>         The type of result
+     * @since               0.10.0
+     */
+    public <R> CompletableFuture<R> submit(final Function<? super T, ? extends R> function,
+                                           final String key,
+                                           final T value) {
+        return this.submit(function, key, value, this.defaultLane);
+    }
+
+    /**
+     * Process the keyed function in the lane and
+     * return a future that completes with its result.
+     *
+     * @param   function    java.util.function.Function&lt;? super T, ? extends R&gt;
+     * @param   key         java.lang.String
+     * @param   value       T
+     * @param   lane        net.jmp.demo.java22.util.WeightedFairExecutor.Lane
+     * @return              java.util.concurrent.CompletableFuture&lt;R&gt;
+     * @param   <R>         The type of result
+     * @since               0.10.0
+     * @see                 #submit(java.util.function.Function, java.lang.String, java.lang.Object)
+     */
+    public <R> CompletableFuture<R> submit(final Function<? super T, ? extends R> function,
+                                           final String key,
+                                           final T value,
+                                           final WeightedFairExecutor.Lane lane) {
         if (this.logger.isTraceEnabled()) {
-            this.logger.trace(exit());
+            this.logger.trace(entryWith(function, key, value, lane));
+        }
+
+        Objects.requireNonNull(function);
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+
+        this.checkLane(lane);
+
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        final CachedResult cachedResult = this.getCachedResult(key, function, value);
+
+        if (cachedResult != null) {
+            this.metrics.recordSubmission(key, false);
+
+            complete(result, cachedResult.result());
+        } else {
+            final WrappedObject<Boolean> coalesced = WrappedObject.of(false);
+
+            this.pendingResults.compute(key, (_, pending) -> {
+                final List<PendingResult<T>> pendingResults = pending == null ? new ArrayList<>() : pending;
+                final PendingResult<T> pendingResult = new PendingResult<>(function, value, lane, new ArrayList<>());
+
+                pendingResult.waiters().add(result);
+
+                // Only a value for the same function is replaced, as the waiters expect its type of result
+
+                for (int i = 0; i < pendingResults.size(); i++) {
+                    final PendingResult<T> replaced = pendingResults.get(i);
+
+                    if (replaced.function() == function) {
+                        pendingResult.waiters().addAll(0, replaced.waiters());
+                        pendingResults.set(i, pendingResult);
+                        coalesced.set(true);
+
+                        return pendingResults;
+                    }
+                }
+
+                pendingResults.add(pendingResult);
+
+                return pendingResults;
+            });
+
+            this.metrics.recordSubmission(key, coalesced.get());
+            this.dispatchPendingResult(key);
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(result));
+        }
+
+        return result;
+    }
+
+    /**
+     * Return a snapshot of the metrics.
+     *
+     * @return  net.jmp.demo.java22.util.KeyedFunctionExecutorMetrics.Snapshot
+     * @since   0.10.0
+     */
+    public KeyedFunctionExecutorMetrics.Snapshot getMetricsSnapshot() {
+        return this.metrics.snapshot();
+    }
+
+    /**
+     * Dispatch the pending result-returning function for
+     * the key unless one is already running. The key's
+     * stripe is locked, waiting for any other key that
+     * shares it, so a function made pending or finished
+     * before the call is always seen by this or an
+     * earlier holder.
+     *
+     * @param   key java.lang.String
+     */
+    private void dispatchPendingResult(final String key) {
+        if (this.throttledKeys.contains(key)) {
+            return;     // The scheduled retry dispatches the key
+        }
+
+        final Lock lock = this.locks.lock(key);
+
+        try {
+            if (!this.inFlight.contains(key) && this.pendingResults.containsKey(key)) {
+                final long wait = this.throttle(key);
+
+                if (wait > 0) {
+                    this.scheduleRetry(key, wait);
+                } else {
+                    final PendingResult<T> pendingResult = this.takePendingResult(key);
+                    final long queuedAt = System.nanoTime();
+
+                    this.inFlight.add(key);
+                    this.futures.add(this.executor.submit(pendingResult.lane(), () -> {
+                        this.metrics.recordQueueWait(System.nanoTime() - queuedAt);
+                        this.computeResult(key, pendingResult);
+
+                        return null;
+                    }));
+                }
+            }
+        } finally {
+            lock.unlock();
         }
     }
+
+    /**
+     * Apply the pending function, complete every future
+     * waiting on it, and dispatch any value that was
+     * coalesced while it was running.
+     *
+     * @param   key             java.lang.String
+     * @param   pendingResult   net.jmp.demo.java22.util.KeyedFunctionExecutor.PendingResult&lt;T&gt;
+     */
+    private void computeResult(final String key, final PendingResult<T> pendingResult) {
+        try {
+            final Object result = pendingResult.function().apply(pendingResult.value());
+
+            if (this.resultCache != null) {
+                this.resultCache.put(key, new CachedResult(pendingResult.function(), pendingResult.value(), result));
+            }
+
+            pendingResult.waiters().forEach(waiter -> complete(waiter, result));
+        } catch (final RuntimeException | Error e) {
+            this.logger.error("A keyed function incurred an exception", e);
+
+            pendingResult.waiters().forEach(waiter -> waiter.completeExceptionally(e));
+
+            if (e instanceof Error) {
+                throw e;    // The waiters are complete; let the executor see it
+            }
+        } finally {
+            this.inFlight.remove(key);
+            this.dispatchPendingResult(key);
+        }
+    }
+
+    /**
+     * Remove and return the key's oldest pending
+     * result-returning function. Only called with
+     * the key's lock held and a function pending.
+     *
+     * @param   key java.lang.String
+     * @return      net.jmp.demo.java22.util.KeyedFunctionExecutor.PendingResult&lt;T&gt;
+     */
+    private PendingResult<T> takePendingResult(final String key) {
+        final WrappedObject<PendingResult<T>> taken = new WrappedObject<>();
+
+        this.pendingResults.computeIfPresent(key, (_, pending) -> {
+            taken.set(pending.removeFirst());
+
+            return pending.isEmpty() ? null : pending;
+        });
+
+        return taken.get();
+    }
+
+    /**
+     * Return the cached result for the key if it was
+     * computed by the same function from an equal value.
+     *
+     * @param   key         java.lang.String
+     * @param   function    java.util.function.Function&lt;? super T, ?&gt;
+     * @param   value       T
+     * @return              net.jmp.demo.java22.util.KeyedFunctionExecutor.CachedResult
+     */
+    private CachedResult getCachedResult(final String key, final Function<? super T, ?> function, final T value) {
+        if (this.resultCache == null) {
+            return null;
+        }
+
+        final CachedResult cachedResult = this.resultCache.getIfPresent(key);
+
+        if (cachedResult != null && cachedResult.function() == function && cachedResult.value().equals(value)) {
+            return cachedResult;
+        }
+
+        return null;
+    }
+
+    /**
+     * Complete the future with the result. Coalesced values
+     * for one key share a result, so its type is only known
+     * to the callers that submitted them.
+     *
+     * @param   future  java.util.concurrent.CompletableFuture&lt;?&gt;
+     * @param   result  java.lang.Object
+     */
+    @SuppressWarnings("unchecked")
+    private static void complete(final CompletableFuture<?> future, final Object result) {
+        ((CompletableFuture<Object>) future).complete(result);
+    }
+
+    /**
+     * A value waiting to be dispatched
+     * along with the futures awaiting it.
+     *
+     * @param   function    java.util.function.Function&lt;? super T, ?&gt;
+     * @param   value       T
+     * @param   lane        net.jmp.demo.java22.util.WeightedFairExecutor.Lane
+     * @param   waiters     java.util.List&lt;java.util.concurrent.CompletableFuture&lt;?&gt;&gt;
+     * @param   <T>         The type of value
+     */
+    private record PendingResult<T>(Function<? super T, ?> function,
+                                    T value,
+                                    WeightedFairExecutor.Lane lane,
+                                    List<CompletableFuture<?>> waiters) {
+    }
+
+    /**
+     * A value waiting to be dispatched, its function and
+     * lane, and its journal sequence, which is zero if
+     * journaling is disabled.
+     *
+     * @param   function    java.util.function.Function&lt;? super T, java.lang.Void&gt;
+     * @param   value       T
+     * @param   sequence    long
+     * @param   lane        net.jmp.demo.java22.util.WeightedFairExecutor.Lane
+     * @param   <T>         The type of value
+     */
+    private record KeyedValue<T>(Function<? super T, Void> function,
+                                 T value,
+                                 long sequence,
+                                 WeightedFairExecutor.Lane lane) {
+    }
+
+    /**
+     * A computed result and the function
+     * and value it was computed from.
+     *
+     * @param   function    java.util.function.Function&lt;?, ?&gt;
+     * @param   value       java.lang.Object
+     * @param   result      java.lang.Object
+     */
+    private record CachedResult(Function<?, ?> function, Object value, Object result) {
+    }
 }
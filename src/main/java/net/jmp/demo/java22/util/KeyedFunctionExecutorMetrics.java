@@ -0,0 +1,285 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)KeyedFunctionExecutorMetrics.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.*;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics collected by a keyed function executor.
+ * Recording is thread-safe and polling a snapshot
+ * does not block the executor.
+ */
+public final class KeyedFunctionExecutorMetrics {
+    /** The number of queue wait histogram buckets. */
+    private static final int QUEUE_WAIT_BUCKETS = Long.SIZE;
+
+    /** The count-min sketch width. */
+    private static final int SKETCH_WIDTH = 2048;
+
+    /** The count-min sketch depth. */
+    private static final int SKETCH_DEPTH = 4;
+
+    /** The estimated key frequencies. */
+    private final CountMinSketch<String> keyFrequencies = new CountMinSketch<>(SKETCH_WIDTH, SKETCH_DEPTH);
+
+    /** The number of hot keys to report. */
+    private final int hotKeyCount;
+
+    /** The hottest keys seen and their estimated counts. */
+    private final Map<String, Long> hotKeys = new HashMap<>();
+
+    /** The estimate a key must exceed to become a hot key. */
+    private volatile long hotKeyThreshold;
+
+    /** The number of submitted values. */
+    private final LongAdder submissions = new LongAdder();
+
+    /** The number of submitted values coalesced into a newer value. */
+    private final LongAdder coalesced = new LongAdder();
+
+    /** The number of dispatches deferred by a rate limit. */
+    private final LongAdder throttled = new LongAdder();
+
+    /** The lock stripes whose contention is reported. */
+    private final StripedLocks locks;
+
+    /** The queue waits; bucket i counts waits from 2^i up to 2^(i+1) nanoseconds. */
+    private final AtomicLongArray queueWaits = new AtomicLongArray(QUEUE_WAIT_BUCKETS);
+
+    /**
+     * A constructor that takes the lock
+     * stripes and number of hot keys to report.
+     *
+     * @param   locks       net.jmp.demo.java22.util.StripedLocks
+     * @param   hotKeyCount int
+     */
+    KeyedFunctionExecutorMetrics(final StripedLocks locks, final int hotKeyCount) {
+        if (hotKeyCount <= 0) {
+            throw new IllegalArgumentException("Hot key count must be greater than 0");
+        }
+
+        super();
+
+        this.locks = Objects.requireNonNull(locks);
+        this.hotKeyCount = hotKeyCount;
+    }
+
+    /**
+     * Record a submitted value for the key.
+     *
+     * @param   key         java.lang.String
+     * @param   coalesced   boolean
+     */
+    void recordSubmission(final String key, final boolean coalesced) {
+        this.submissions.increment();
+
+        if (coalesced) {
+            this.coalesced.increment();
+        }
+
+        final long estimate = this.keyFrequencies.add(key);
+
+        if (estimate > this.hotKeyThreshold) {
+            this.updateHotKeys(key, estimate);
+        }
+    }
+
+    /**
+     * Record a dispatch deferred by a rate limit.
+     */
+    void recordThrottle() {
+        this.throttled.increment();
+    }
+
+    /**
+     * Record how long a function waited
+     * in the queue before it started.
+     *
+     * @param   nanos   long
+     */
+    void recordQueueWait(final long nanos) {
+        this.queueWaits.incrementAndGet(nanos <= 0 ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Return a snapshot of the metrics.
+     *
+     * @return  net.jmp.demo.java22.util.KeyedFunctionExecutorMetrics.Snapshot
+     */
+    public Snapshot snapshot() {
+        final List<HotKey> hottest;
+
+        synchronized (this.hotKeys) {
+            hottest = this.hotKeys.entrySet().stream()
+                    .map(entry -> new HotKey(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingLong(HotKey::estimatedCount).reversed())
+                    .toList();
+        }
+
+        return new Snapshot(
+                this.submissions.sum(),
+                this.coalesced.sum(),
+                this.throttled.sum(),
+                hottest,
+                this.locks.size(),
+                this.locks.getAcquisitions(),
+                this.locks.getFailures(),
+                this.locks.getCollisions(),
+                toArray(this.queueWaits)
+        );
+    }
+
+    /**
+     * Admit the key to the hot keys, evicting
+     * the coldest one if there are too many.
+     *
+     * @param   key         java.lang.String
+     * @param   estimate    long
+     */
+    private void updateHotKeys(final String key, final long estimate) {
+        synchronized (this.hotKeys) {
+            this.hotKeys.merge(key, estimate, Math::max);
+
+            if (this.hotKeys.size() > this.hotKeyCount) {
+                this.hotKeys.remove(Collections.min(this.hotKeys.entrySet(), Map.Entry.comparingByValue()).getKey());
+            }
+
+            if (this.hotKeys.size() == this.hotKeyCount) {
+                this.hotKeyThreshold = Collections.min(this.hotKeys.values());
+            }
+        }
+    }
+
+    /**
+     * Copy the atomic array.
+     *
+     * @param   array   java.util.concurrent.atomic.AtomicLongArray
+     * @return          long[]
+     */
+    private static long[] toArray(final AtomicLongArray array) {
+        final long[] values = new long[array.length()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i);
+        }
+
+        return values;
+    }
+
+    /**
+     * A key and its estimated number of submissions.
+     *
+     * @param   key             java.lang.String
+     * @param   estimatedCount  long
+     */
+    public record HotKey(String key, long estimatedCount) {
+    }
+
+    /**
+     * A point-in-time copy of the metrics. The lock
+     * counts cover the stripes of the current table
+     * and restart whenever the table grows.
+     *
+     * @param   submissions         long
+     * @param   coalesced           long
+     * @param   throttled           long
+     * @param   hotKeys             java.util.List&lt;net.jmp.demo.java22.util.KeyedFunctionExecutorMetrics.HotKey&gt;
+     * @param   stripes             int
+     * @param   lockAcquisitions    long[]
+     * @param   lockFailures        long[]
+     * @param   lockCollisions      long[]
+     * @param   queueWaitHistogram  long[]
+     */
+    public record Snapshot(long submissions,
+                           long coalesced,
+                           long throttled,
+                           List<HotKey> hotKeys,
+                           int stripes,
+                           long[] lockAcquisitions,
+                           long[] lockFailures,
+                           long[] lockCollisions,
+                           long[] queueWaitHistogram) {
+        /**
+         * Return the fraction of submitted values
+         * that were coalesced into a newer value.
+         *
+         * @return  double
+         */
+        public double coalesceRatio() {
+            return this.submissions == 0 ? 0.0 : (double) this.coalesced / this.submissions;
+        }
+
+        /**
+         * Return the fraction of lock
+         * attempts that failed.
+         *
+         * @return  double
+         */
+        public double lockFailureRatio() {
+            final long failures = Arrays.stream(this.lockFailures).sum();
+            final long attempts = failures + Arrays.stream(this.lockAcquisitions).sum();
+
+            return attempts == 0 ? 0.0 : (double) failures / attempts;
+        }
+
+        /**
+         * Return an upper bound in nanoseconds of the queue wait at the
+         * percentile, which is a number from 0 to 100. Zero is returned
+         * if no waits have been recorded.
+         *
+         * @param   percentile  double
+         * @return              long
+         */
+        public long queueWaitPercentile(final double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100");
+            }
+
+            final long total = Arrays.stream(this.queueWaitHistogram).sum();
+            final long rank = (long) Math.ceil(total * percentile / 100);
+
+            long seen = 0;
+
+            for (int i = 0; i < this.queueWaitHistogram.length; i++) {
+                seen += this.queueWaitHistogram[i];
+
+                if (seen >= rank && seen > 0) {
+                    return i == Long.SIZE - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                }
+            }
+
+            return 0;
+        }
+    }
+}
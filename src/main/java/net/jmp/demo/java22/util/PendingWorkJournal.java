@@ -0,0 +1,753 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)PendingWorkJournal.java   0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.*;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import java.util.stream.Stream;
+
+import java.util.zip.CRC32;
+
+import static net.jmp.demo.java22.util.LoggerUtils.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A write-ahead journal of pending keyed values. Values are
+ * appended to memory-mapped segment files and marked done
+ * when their functions complete. Sealed segments are
+ * compacted in the background by copying their pending
+ * values forward and deleting them. Reopening the journal
+ * replays the segments and recovers the values that were
+ * still pending. Only the newest value of a key is pending,
+ * so a key's values must be interchangeable, as are those
+ * coalesced by the keyed function executor's process.
+ *
+ * <p>Records survive a crash of the process because mapped
+ * pages belong to the operating system; segments are only
+ * forced to the device when they are sealed, on sync and
+ * on close.
+ *
+ * @param   <T> The type of value
+ */
+public final class PendingWorkJournal<T> implements AutoCloseable {
+    /** The default segment size in bytes. */
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    /** The record header size: the payload length and its CRC. */
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+
+    /** The record type of a pending value. */
+    private static final byte PUT = 1;
+
+    /** The record type of a completed value. */
+    private static final byte DONE = 2;
+
+    /** Compact a sealed segment when at most this fraction of it is pending. */
+    private static final double COMPACTION_THRESHOLD = 0.5;
+
+    /** The segment file name prefix. */
+    private static final String SEGMENT_PREFIX = "pending-";
+
+    /** The segment file name suffix. */
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    /** The logger. */
+    private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
+
+    /** The directory holding the segments. */
+    private final Path directory;
+
+    /** The value codec. */
+    private final Codec<T> codec;
+
+    /** The segment size. */
+    private final int segmentSize;
+
+    /** The sequence of the newest pending value of each key. */
+    private final Map<String, Long> pendingSequences = new HashMap<>();
+
+    /** The highest completed sequence of each key with a pending value. */
+    private final Map<String, Long> completedSequences = new HashMap<>();
+
+    /** The values found pending when the journal was opened. */
+    private final List<RecoveredValue<T>> recoveredValues = new ArrayList<>();
+
+    /** The sealed segments, oldest first. */
+    private final Deque<Segment> sealedSegments = new ArrayDeque<>();
+
+    /** The background compactor. */
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor();
+
+    /** The segment being appended to. */
+    private Segment activeSegment;
+
+    /** The next sequence. */
+    private long nextSequence = 1;
+
+    /** True once closed. */
+    private boolean closed;
+
+    /**
+     * The constructor.
+     *
+     * @param   directory   java.nio.file.Path
+     * @param   codec       net.jmp.demo.java22.util.Codec&lt;T&gt;
+     * @param   segmentSize int
+     */
+    private PendingWorkJournal(final Path directory, final Codec<T> codec, final int segmentSize) {
+        super();
+
+        this.directory = directory;
+        this.codec = codec;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Open the journal in the directory using
+     * the default segment size and replay any
+     * existing segments.
+     *
+     * @param   directory   java.nio.file.Path
+     * @param   codec       net.jmp.demo.java22.util.Codec&lt;T&gt;
+     * @return              net.jmp.demo.java22.util.PendingWorkJournal&lt;T&gt;
+     * @param   <T>         The type of value
+     * @throws              java.io.IOException
+     */
+    public static <T> PendingWorkJournal<T> open(final Path directory, final Codec<T> codec) throws IOException {
+        return open(directory, codec, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Open the journal in the directory and
+     * replay any existing segments.
+     *
+     * @param   directory   java.nio.file.Path
+     * @param   codec       net.jmp.demo.java22.util.Codec&lt;T&gt;
+     * @param   segmentSize int
+     * @return              net.jmp.demo.java22.util.PendingWorkJournal&lt;T&gt;
+     * @param   <T>         The type of value
+     * @throws              java.io.IOException
+     */
+    public static <T> PendingWorkJournal<T> open(final Path directory,
+                                                 final Codec<T> codec,
+                                                 final int segmentSize) throws IOException {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException(STR."Segment size must be greater than \{HEADER_SIZE}");
+        }
+
+        final PendingWorkJournal<T> journal = new PendingWorkJournal<>(
+                Objects.requireNonNull(directory),
+                Objects.requireNonNull(codec),
+                segmentSize
+        );
+
+        Files.createDirectories(directory);
+
+        journal.replay();
+
+        return journal;
+    }
+
+    /**
+     * Return the values that were pending when the journal
+     * was opened, in the order they were first appended,
+     * and forget them so they are only resumed once.
+     *
+     * @return  java.util.List&lt;net.jmp.demo.java22.util.PendingWorkJournal.RecoveredValue&lt;T&gt;&gt;
+     */
+    public synchronized List<RecoveredValue<T>> takeRecoveredValues() {
+        final List<RecoveredValue<T>> values = List.copyOf(this.recoveredValues);
+
+        this.recoveredValues.clear();
+
+        return values;
+    }
+
+    /**
+     * Append a pending value and return its sequence.
+     *
+     * @param   key     java.lang.String
+     * @param   value   T
+     * @return          long
+     */
+    public long append(final String key, final T value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try {
+            this.codec.encode(value, new DataOutputStream(bytes));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        synchronized (this) {
+            final long sequence = this.nextSequence++;
+
+            this.appendRecord(PUT, sequence, key, bytes.toByteArray());
+            this.pendingSequences.put(key, sequence);
+
+            return sequence;
+        }
+    }
+
+    /**
+     * Mark the value with the sequence done. Values
+     * of the key with lower sequences are done too.
+     *
+     * @param   key         java.lang.String
+     * @param   sequence    long
+     */
+    public synchronized void markDone(final String key, final long sequence) {
+        Objects.requireNonNull(key);
+
+        this.appendRecord(DONE, sequence, key, new byte[0]);
+        this.complete(key, sequence);
+    }
+
+    /**
+     * Return the number of keys with a pending value.
+     *
+     * @return  int
+     */
+    public synchronized int getPendingCount() {
+        return this.pendingSequences.size();
+    }
+
+    /**
+     * Force the active segment to the storage device.
+     */
+    public synchronized void sync() {
+        if (!this.closed) {
+            this.activeSegment.buffer.force();
+        }
+    }
+
+    /**
+     * Compact the sealed segments, oldest first. A segment
+     * is compacted by appending its pending values to the
+     * active segment and deleting it. Compaction stops at
+     * the first segment that is still mostly pending.
+     */
+    public void compact() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        int segments;
+
+        synchronized (this) {
+            segments = this.sealedSegments.size();
+        }
+
+        for (int i = 0; i < segments; i++) {
+            final Segment segment;
+
+            synchronized (this) {
+                segment = this.sealedSegments.peekFirst();
+            }
+
+            if (segment == null || !this.compact(segment)) {
+                break;
+            }
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Close the journal.
+     */
+    @Override
+    public void close() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final boolean wasClosed;
+
+        synchronized (this) {
+            wasClosed = this.closed;
+            this.closed = true;
+        }
+
+        if (!wasClosed) {
+            this.compactor.shutdown();
+
+            try {
+                if (!this.compactor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    this.logger.warn("The journal compactor did not terminate");
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            synchronized (this) {
+                this.activeSegment.buffer.force();
+                this.activeSegment.close();
+                this.sealedSegments.forEach(Segment::close);
+            }
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Replay the existing segments and start a new one.
+     *
+     * @throws  java.io.IOException
+     */
+    private void replay() throws IOException {
+        final Map<String, RecoveredValue<T>> pendingValues = new LinkedHashMap<>();
+
+        long lastIndex = 0;
+
+        for (final Path path : this.listSegments()) {
+            final Segment segment = Segment.open(path, this.segmentSize, segmentIndex(path));
+
+            for (final JournalRecord record : segment.records()) {
+                this.nextSequence = Math.max(this.nextSequence, record.sequence() + 1);
+
+                if (record.type() == PUT) {
+                    final Long sequence = this.pendingSequences.get(record.key());
+
+                    if (sequence == null || sequence < record.sequence()) {
+                        this.pendingSequences.put(record.key(), record.sequence());
+                        pendingValues.put(record.key(), new RecoveredValue<>(record.key(), this.decode(record.value()), record.sequence()));
+                    }
+                } else {
+                    this.complete(record.key(), record.sequence());
+
+                    if (!this.pendingSequences.containsKey(record.key())) {
+                        pendingValues.remove(record.key());
+                    }
+                }
+            }
+
+            this.sealedSegments.addLast(segment);
+
+            lastIndex = segment.index;
+        }
+
+        this.recoveredValues.addAll(pendingValues.values());
+        this.activeSegment = Segment.open(this.segmentPath(lastIndex + 1), this.segmentSize, lastIndex + 1);
+
+        if (this.logger.isDebugEnabled()) {
+            this.logger.debug("Recovered {} pending values from {} segments", this.recoveredValues.size(), this.sealedSegments.size());
+        }
+    }
+
+    /**
+     * Record that values of the key up to the sequence are
+     * done, forgetting the key once nothing is pending.
+     *
+     * @param   key         java.lang.String
+     * @param   sequence    long
+     */
+    private void complete(final String key, final long sequence) {
+        final Long pendingSequence = this.pendingSequences.get(key);
+
+        if (pendingSequence == null || pendingSequence <= sequence) {
+            this.pendingSequences.remove(key);
+            this.completedSequences.remove(key);
+        } else {
+            this.completedSequences.merge(key, sequence, Math::max);
+        }
+    }
+
+    /**
+     * Return true if the put record is the
+     * newest pending value of its key.
+     *
+     * @param   record  net.jmp.demo.java22.util.PendingWorkJournal.JournalRecord
+     * @return          boolean
+     */
+    private boolean isPending(final JournalRecord record) {
+        return record.type() == PUT
+                && Objects.equals(this.pendingSequences.get(record.key()), record.sequence())
+                && this.completedSequences.getOrDefault(record.key(), 0L) < record.sequence();
+    }
+
+    /**
+     * Compact one sealed segment. Return
+     * false if it was left in place.
+     *
+     * @param   segment net.jmp.demo.java22.util.PendingWorkJournal.Segment
+     * @return          boolean
+     */
+    private boolean compact(final Segment segment) {
+        final List<JournalRecord> records = segment.records();
+
+        synchronized (this) {
+            if (this.closed) {
+                return false;
+            }
+
+            final long pending = records.stream().filter(this::isPending).count();
+
+            if (pending > records.size() * COMPACTION_THRESHOLD) {
+                return false;
+            }
+        }
+
+        // Check and copy each record atomically so that a value
+        // marked done in between is never copied after its done
+
+        for (final JournalRecord record : records) {
+            synchronized (this) {
+                if (this.closed) {
+                    return false;
+                }
+
+                if (this.isPending(record)) {
+                    this.appendRecord(PUT, record.sequence(), record.key(), record.value());
+                }
+            }
+        }
+
+        synchronized (this) {
+            if (this.closed) {
+                return false;
+            }
+
+            this.activeSegment.buffer.force();
+            this.sealedSegments.remove(segment);
+        }
+
+        segment.close();
+
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (final IOException e) {
+            this.logger.error(STR."Failed to delete journal segment \{segment.path}", e);
+        }
+
+        return true;
+    }
+
+    /**
+     * Append a record to the active segment, sealing
+     * it and starting a new one when it is full.
+     *
+     * @param   type        byte
+     * @param   sequence    long
+     * @param   key         java.lang.String
+     * @param   value       byte[]
+     */
+    private void appendRecord(final byte type, final long sequence, final String key, final byte[] value) {
+        if (this.closed) {
+            throw new IllegalStateException("The journal is closed");
+        }
+
+        final byte[] payload = new JournalRecord(type, sequence, key, value).toBytes();
+
+        if (HEADER_SIZE + payload.length > this.segmentSize) {
+            throw new IllegalArgumentException("The record is larger than a journal segment");
+        }
+
+        if (this.activeSegment.position + HEADER_SIZE + payload.length > this.segmentSize) {
+            this.roll();
+        }
+
+        final CRC32 crc = new CRC32();
+
+        crc.update(payload);
+
+        final MappedByteBuffer buffer = this.activeSegment.buffer;
+        final int position = this.activeSegment.position;
+
+        // The length is written last so a torn record reads as the end
+
+        buffer.put(position + HEADER_SIZE, payload);
+        buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(position, payload.length);
+
+        this.activeSegment.position += HEADER_SIZE + payload.length;
+    }
+
+    /**
+     * Seal the active segment, start a new
+     * one and schedule a compaction.
+     */
+    private void roll() {
+        this.activeSegment.buffer.force();
+        this.sealedSegments.addLast(this.activeSegment);
+
+        final long index = this.activeSegment.index + 1;
+
+        try {
+            this.activeSegment = Segment.open(this.segmentPath(index), this.segmentSize, index);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        this.compactor.execute(this::compact);
+    }
+
+    /**
+     * Decode a value.
+     *
+     * @param   bytes   byte[]
+     * @return          T
+     * @throws          java.io.IOException
+     */
+    private T decode(final byte[] bytes) throws IOException {
+        return this.codec.decode(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    /**
+     * Return the existing segments in index order.
+     *
+     * @return  java.util.List&lt;java.nio.file.Path&gt;
+     * @throws  java.io.IOException
+     */
+    private List<Path> listSegments() throws IOException {
+        try (final Stream<Path> paths = Files.list(this.directory)) {
+            return paths
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(PendingWorkJournal::segmentIndex))
+                    .toList();
+        }
+    }
+
+    /**
+     * Return the path of the segment with the index.
+     *
+     * @param   index   long
+     * @return          java.nio.file.Path
+     */
+    private Path segmentPath(final long index) {
+        return this.directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Return the index of the segment.
+     *
+     * @param   path    java.nio.file.Path
+     * @return          long
+     */
+    private static long segmentIndex(final Path path) {
+        final String name = path.getFileName().toString();
+
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * A value that was pending when the journal was opened.
+     *
+     * @param   key         java.lang.String
+     * @param   value       T
+     * @param   sequence    long
+     * @param   <T>         The type of value
+     */
+    public record RecoveredValue<T>(String key, T value, long sequence) {
+    }
+
+    /**
+     * A journal record.
+     *
+     * @param   type        byte
+     * @param   sequence    long
+     * @param   key         java.lang.String
+     * @param   value       byte[]
+     */
+    private record JournalRecord(byte type, long sequence, String key, byte[] value) {
+        /**
+         * Return the record as a payload.
+         *
+         * @return  byte[]
+         */
+        private byte[] toBytes() {
+            final byte[] keyBytes = this.key.getBytes(StandardCharsets.UTF_8);
+            final ByteBuffer buffer = ByteBuffer.allocate(1 + Long.BYTES + Integer.BYTES * 2 + keyBytes.length + this.value.length);
+
+            buffer.put(this.type)
+                    .putLong(this.sequence)
+                    .putInt(keyBytes.length)
+                    .put(keyBytes)
+                    .putInt(this.value.length)
+                    .put(this.value);
+
+            return buffer.array();
+        }
+
+        /**
+         * Return the record held in the payload.
+         *
+         * @param   payload java.nio.ByteBuffer
+         * @return          net.jmp.demo.java22.util.PendingWorkJournal.JournalRecord
+         */
+        private static JournalRecord fromBytes(final ByteBuffer payload) {
+            final byte type = payload.get();
+            final long sequence = payload.getLong();
+            final byte[] keyBytes = new byte[payload.getInt()];
+
+            payload.get(keyBytes);
+
+            final byte[] value = new byte[payload.getInt()];
+
+            payload.get(value);
+
+            return new JournalRecord(type, sequence, new String(keyBytes, StandardCharsets.UTF_8), value);
+        }
+    }
+
+    /**
+     * A memory-mapped segment file.
+     */
+    private static final class Segment {
+        /** The path. */
+        private final Path path;
+
+        /** The index. */
+        private final long index;
+
+        /** The channel. */
+        private final FileChannel channel;
+
+        /** The mapped buffer. */
+        private final MappedByteBuffer buffer;
+
+        /** The append position; only used by the active segment. */
+        private int position;
+
+        /**
+         * The constructor.
+         *
+         * @param   path    java.nio.file.Path
+         * @param   index   long
+         * @param   channel java.nio.channels.FileChannel
+         * @param   buffer  java.nio.MappedByteBuffer
+         */
+        private Segment(final Path path, final long index, final FileChannel channel, final MappedByteBuffer buffer) {
+            super();
+
+            this.path = path;
+            this.index = index;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Open or create a segment and map it.
+         *
+         * @param   path    java.nio.file.Path
+         * @param   size    int
+         * @param   index   long
+         * @return          net.jmp.demo.java22.util.PendingWorkJournal.Segment
+         * @throws          java.io.IOException
+         */
+        private static Segment open(final Path path, final int size, final long index) throws IOException {
+            final FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+
+            final long mappedSize = Math.max(size, channel.size());
+
+            return new Segment(path, index, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize));
+        }
+
+        /**
+         * Return the intact records in the segment. Reading
+         * stops at the first empty or torn record.
+         *
+         * @return  java.util.List&lt;net.jmp.demo.java22.util.PendingWorkJournal.JournalRecord&gt;
+         */
+        private List<JournalRecord> records() {
+            final List<JournalRecord> records = new ArrayList<>();
+            final ByteBuffer view = this.buffer.duplicate();
+            final CRC32 crc = new CRC32();
+
+            int position = 0;
+
+            while (position + HEADER_SIZE <= view.capacity()) {
+                final int length = view.getInt(position);
+
+                if (length <= 0 || position + HEADER_SIZE + length > view.capacity()) {
+                    break;
+                }
+
+                final ByteBuffer payload = view.slice(position + HEADER_SIZE, length);
+
+                crc.reset();
+                crc.update(payload.duplicate());
+
+                if ((int) crc.getValue() != view.getInt(position + Integer.BYTES)) {
+                    break;
+                }
+
+                records.add(JournalRecord.fromBytes(payload));
+
+                position += HEADER_SIZE + length;
+            }
+
+            return records;
+        }
+
+        /**
+         * Close the channel. The mapping is
+         * released when the buffer is collected.
+         */
+        private void close() {
+            try {
+                this.channel.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
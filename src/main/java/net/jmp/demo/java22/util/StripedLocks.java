@@ -0,0 +1,351 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)StripedLocks.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A table of locks shared by keys that hash to the same
+ * stripe. The table may grow online: a resize holds every
+ * stripe of the old table while it publishes the new one,
+ * so a key is never locked in both tables at once. When
+ * adaptive, the table doubles as soon as one stripe sees
+ * too many collisions between different keys.
+ */
+public final class StripedLocks {
+    /** The number of stripes per processor used by default. */
+    private static final int STRIPES_PER_PROCESSOR = 4;
+
+    /** The collisions a stripe must see before its contention is judged. */
+    private static final long MINIMUM_COLLISIONS = 64;
+
+    /** Grow when collisions exceed this fraction of a stripe's acquisitions. */
+    private static final double COLLISION_THRESHOLD = 0.10;
+
+    /** The maximum number of stripes. */
+    private final int maximumStripes;
+
+    /** True if the table grows when collisions are observed. */
+    private final boolean adaptive;
+
+    /** True while the table is being resized. */
+    private final AtomicBoolean resizing = new AtomicBoolean();
+
+    /** The current stripes. */
+    private volatile Stripe[] stripes;
+
+    /**
+     * A constructor that takes the initial and maximum
+     * number of stripes. Both are rounded up to powers
+     * of two. The table is adaptive if the maximum
+     * is greater than the initial number of stripes.
+     *
+     * @param   initialStripes  int
+     * @param   maximumStripes  int
+     */
+    public StripedLocks(final int initialStripes, final int maximumStripes) {
+        if (initialStripes <= 0 || initialStripes > 1 << 30) {
+            throw new IllegalArgumentException("Initial stripes must be greater than 0 and at most 2^30");
+        }
+
+        if (maximumStripes < initialStripes || maximumStripes > 1 << 30) {
+            throw new IllegalArgumentException("Maximum stripes must be at least the initial stripes and at most 2^30");
+        }
+
+        super();
+
+        this.maximumStripes = ceilingPowerOfTwo(maximumStripes);
+        this.adaptive = this.maximumStripes > ceilingPowerOfTwo(initialStripes);
+        this.stripes = newStripes(ceilingPowerOfTwo(initialStripes));
+    }
+
+    /**
+     * Return the default number of stripes,
+     * which is derived from the processor count.
+     *
+     * @return  int
+     */
+    public static int defaultStripes() {
+        return ceilingPowerOfTwo(Runtime.getRuntime().availableProcessors() * STRIPES_PER_PROCESSOR);
+    }
+
+    /**
+     * Lock the key's stripe, waiting for whichever key holds
+     * it. A first attempt that fails is counted as by tryLock,
+     * so that collisions still grow an adaptive table.
+     *
+     * @param   key java.lang.Object
+     * @return      java.util.concurrent.locks.Lock
+     * @since       0.10.0
+     */
+    public Lock lock(final Object key) {
+        final Lock lock = this.tryLock(key);
+
+        if (lock != null) {
+            return lock;
+        }
+
+        final int hash = spread(key.hashCode());
+
+        while (true) {
+            final Stripe[] table = this.stripes;
+            final Stripe stripe = table[hash & (table.length - 1)];
+
+            stripe.lock.lock();
+
+            if (table == this.stripes) {
+                stripe.acquisitions.incrementAndGet();
+                stripe.ownerHash = hash;
+
+                return stripe.lock;
+            }
+
+            stripe.lock.unlock();   // The table grew; use the new one
+        }
+    }
+
+    /**
+     * Try to lock the key's stripe without waiting on
+     * other keys. Null is returned if the stripe is held,
+     * possibly by a different key that shares it, so the
+     * holder cannot be relied on to do this key's work.
+     * A resize in progress is waited out.
+     *
+     * @param   key java.lang.Object
+     * @return      java.util.concurrent.locks.Lock or null if the stripe is held
+     */
+    public Lock tryLock(final Object key) {
+        final int hash = spread(Objects.requireNonNull(key).hashCode());
+
+        while (true) {
+            final Stripe[] table = this.stripes;
+            final Stripe stripe = table[hash & (table.length - 1)];
+
+            if (stripe.lock.tryLock()) {
+                if (table == this.stripes) {
+                    stripe.acquisitions.incrementAndGet();
+                    stripe.ownerHash = hash;
+
+                    return stripe.lock;
+                }
+
+                stripe.lock.unlock();   // The table grew; use the new one
+            } else if (table == this.stripes) {
+                if (!this.resizing.get()) {
+                    this.recordFailure(stripe, hash);
+
+                    return null;
+                }
+
+                // Wait for the resize to release the old stripes
+
+                stripe.lock.lock();
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Double the number of stripes unless
+     * the maximum has been reached or
+     * another resize is in progress.
+     *
+     * @return  boolean
+     */
+    public boolean grow() {
+        if (!this.resizing.compareAndSet(false, true)) {
+            return false;
+        }
+
+        try {
+            final Stripe[] table = this.stripes;
+
+            if (table.length >= this.maximumStripes) {
+                return false;
+            }
+
+            Arrays.stream(table).forEach(stripe -> stripe.lock.lock());
+
+            try {
+                this.stripes = newStripes(table.length << 1);
+            } finally {
+                Arrays.stream(table).forEach(stripe -> stripe.lock.unlock());
+            }
+
+            return true;
+        } finally {
+            this.resizing.set(false);
+        }
+    }
+
+    /**
+     * Return the number of stripes.
+     *
+     * @return  int
+     */
+    public int size() {
+        return this.stripes.length;
+    }
+
+    /**
+     * Return the maximum number of stripes.
+     *
+     * @return  int
+     */
+    public int getMaximumStripes() {
+        return this.maximumStripes;
+    }
+
+    /**
+     * Return true if the table is adaptive.
+     *
+     * @return  boolean
+     */
+    public boolean isAdaptive() {
+        return this.adaptive;
+    }
+
+    /**
+     * Return the acquisitions of each stripe
+     * since the table was last resized.
+     *
+     * @return  long[]
+     */
+    public long[] getAcquisitions() {
+        return Arrays.stream(this.stripes).mapToLong(stripe -> stripe.acquisitions.get()).toArray();
+    }
+
+    /**
+     * Return the failed acquisitions of each
+     * stripe since the table was last resized.
+     *
+     * @return  long[]
+     */
+    public long[] getFailures() {
+        return Arrays.stream(this.stripes).mapToLong(stripe -> stripe.failures.get()).toArray();
+    }
+
+    /**
+     * Return the failed acquisitions of each stripe that
+     * were caused by a different key holding the stripe.
+     *
+     * @return  long[]
+     */
+    public long[] getCollisions() {
+        return Arrays.stream(this.stripes).mapToLong(stripe -> stripe.collisions.get()).toArray();
+    }
+
+    /**
+     * Record a failed acquisition and grow the table
+     * if the stripe is shared by colliding keys.
+     *
+     * @param   stripe  net.jmp.demo.java22.util.StripedLocks.Stripe
+     * @param   hash    int
+     */
+    private void recordFailure(final Stripe stripe, final int hash) {
+        stripe.failures.incrementAndGet();
+
+        if (stripe.ownerHash != hash) {
+            final long collisions = stripe.collisions.incrementAndGet();
+
+            if (this.adaptive
+                    && collisions >= MINIMUM_COLLISIONS
+                    && collisions > stripe.acquisitions.get() * COLLISION_THRESHOLD) {
+                this.grow();
+            }
+        }
+    }
+
+    /**
+     * Create a table of stripes.
+     *
+     * @param   size    int
+     * @return          net.jmp.demo.java22.util.StripedLocks.Stripe[]
+     */
+    private static Stripe[] newStripes(final int size) {
+        final Stripe[] table = new Stripe[size];
+
+        Arrays.setAll(table, _ -> new Stripe());
+
+        return table;
+    }
+
+    /**
+     * Spread the hash code so that keys whose
+     * hashes differ only in their high bits
+     * use different stripes.
+     *
+     * @param   hashCode    int
+     * @return              int
+     */
+    private static int spread(final int hashCode) {
+        final int hash = hashCode * 0x9E3779B9;
+
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Round up to a power of two.
+     *
+     * @param   value   int
+     * @return          int
+     */
+    private static int ceilingPowerOfTwo(final int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * A lock and its contention counters.
+     */
+    private static final class Stripe {
+        /** The lock. */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /** The successful acquisitions. */
+        private final AtomicLong acquisitions = new AtomicLong();
+
+        /** The failed acquisitions. */
+        private final AtomicLong failures = new AtomicLong();
+
+        /** The failed acquisitions while a different key held the lock. */
+        private final AtomicLong collisions = new AtomicLong();
+
+        /** The spread hash of the key that last acquired the lock. */
+        private volatile int ownerHash;
+    }
+}
@@ -0,0 +1,141 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)TokenBucket.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket rate limiter. Tokens are added at a
+ * steady rate up to the burst capacity; acquiring
+ * never blocks but reports how long to wait instead.
+ */
+public final class TokenBucket {
+    /** The tokens added per nanosecond. */
+    private final double tokensPerNano;
+
+    /** The maximum number of tokens. */
+    private final double capacity;
+
+    /** The nanosecond clock. */
+    private final LongSupplier clock;
+
+    /** The tokens available. */
+    private double tokens;
+
+    /** When the tokens were last refilled. */
+    private long refilledAt;
+
+    /**
+     * A constructor that takes the rate and burst capacity.
+     * The bucket starts full.
+     *
+     * @param   permitsPerSecond    double
+     * @param   burst               int
+     */
+    public TokenBucket(final double permitsPerSecond, final int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    /**
+     * A constructor that also takes the nanosecond clock.
+     *
+     * @param   permitsPerSecond    double
+     * @param   burst               int
+     * @param   clock               java.util.function.LongSupplier
+     */
+    TokenBucket(final double permitsPerSecond, final int burst, final LongSupplier clock) {
+        if (!(permitsPerSecond > 0) || Double.isInfinite(permitsPerSecond)) {
+            throw new IllegalArgumentException("Permits per second must be greater than 0");
+        }
+
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Burst must be greater than 0");
+        }
+
+        super();
+
+        this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = burst;
+        this.clock = clock;
+        this.tokens = burst;
+        this.refilledAt = clock.getAsLong();
+    }
+
+    /**
+     * Try to take a token. Zero is returned if one was
+     * taken, otherwise the nanoseconds until one will be
+     * available.
+     *
+     * @return  long
+     */
+    public synchronized long tryAcquire() {
+        this.refill();
+
+        if (this.tokens >= 1) {
+            this.tokens -= 1;
+
+            return 0;
+        }
+
+        return Math.max(1, (long) Math.ceil((1 - this.tokens) / this.tokensPerNano));
+    }
+
+    /**
+     * Return a token that was taken but not used.
+     */
+    public synchronized void refund() {
+        this.tokens = Math.min(this.capacity, this.tokens + 1);
+    }
+
+    /**
+     * Return the nanoseconds it takes an
+     * empty bucket to fill completely.
+     *
+     * @return  long
+     */
+    public long getNanosToFill() {
+        return (long) Math.ceil(this.capacity / this.tokensPerNano);
+    }
+
+    /**
+     * Add the tokens accrued since the last refill.
+     */
+    private void refill() {
+        final long now = this.clock.getAsLong();
+
+        if (now > this.refilledAt) {
+            this.tokens = Math.min(this.capacity, this.tokens + (now - this.refilledAt) * this.tokensPerNano);
+            this.refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)WeightedFairExecutor.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static net.jmp.demo.java22.util.LoggerUtils.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A fixed pool of threads shared by weighted lanes. Each lane
+ * has its own queue, and workers choose between the lanes that
+ * have work using stride scheduling, so a lane with twice the
+ * weight of another is given twice as many of the pool's turns
+ * while both are busy. Turns a lane does not need go to the
+ * others, and a lane that was idle does not build up credit.
+ */
+public final class WeightedFairExecutor {
+    /** The pass a lane of weight one advances per task. */
+    private static final long STRIDE_FOR_WEIGHT_ONE = 1L << 20;
+
+    /** The logger. */
+    private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
+
+    /** The lanes. */
+    private final List<Lane> lanes;
+
+    /** The queue of each lane by name. */
+    private final Map<String, LaneQueue> queues = new HashMap<>();
+
+    /** Guards the queues. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled when a task is queued or the executor shuts down. */
+    private final Condition workAvailable = this.lock.newCondition();
+
+    /** The worker threads. */
+    private final List<Thread> workers = new ArrayList<>();
+
+    /** The pass of the most recently chosen lane. */
+    private long globalPass;
+
+    /** True once shut down. */
+    private boolean shutdown;
+
+    /**
+     * A constructor that takes the
+     * number of threads and the lanes.
+     *
+     * @param   numberOfThreads int
+     * @param   lanes           java.util.List&lt;net.jmp.demo.java22.util.WeightedFairExecutor.Lane&gt;
+     */
+    public WeightedFairExecutor(final int numberOfThreads, final List<Lane> lanes) {
+        if (numberOfThreads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be greater than 0");
+        }
+
+        if (Objects.requireNonNull(lanes).isEmpty()) {
+            throw new IllegalArgumentException("At least one lane is required");
+        }
+
+        super();
+
+        this.lanes = List.copyOf(lanes);
+
+        for (final Lane lane : this.lanes) {
+            if (this.queues.put(lane.name(), new LaneQueue(Math.max(1, STRIDE_FOR_WEIGHT_ONE / lane.weight()))) != null) {
+                throw new IllegalArgumentException(STR."Lane \{lane.name()} is defined more than once");
+            }
+        }
+
+        for (int i = 0; i < numberOfThreads; i++) {
+            final Thread worker = Thread.ofPlatform()
+                    .name(STR."weighted-fair-worker-\{i}")
+                    .unstarted(this::work);
+
+            this.workers.add(worker);
+
+            worker.start();
+        }
+    }
+
+    /**
+     * Return the lanes.
+     *
+     * @return  java.util.List&lt;net.jmp.demo.java22.util.WeightedFairExecutor.Lane&gt;
+     */
+    public List<Lane> getLanes() {
+        return this.lanes;
+    }
+
+    /**
+     * Return true if the lane belongs to this executor.
+     *
+     * @param   lane    net.jmp.demo.java22.util.WeightedFairExecutor.Lane
+     * @return          boolean
+     */
+    public boolean hasLane(final Lane lane) {
+        return this.lanes.contains(lane);
+    }
+
+    /**
+     * Queue the task in the lane.
+     *
+     * @param   lane    net.jmp.demo.java22.util.WeightedFairExecutor.Lane
+     * @param   task    java.util.concurrent.Callable&lt;V&gt;
+     * @return          java.util.concurrent.Future&lt;V&gt;
+     * @param   <V>     The type of result
+     */
+    public <V> Future<V> submit(final Lane lane, final Callable<V> task) {
+        final LaneQueue queue = this.queues.get(Objects.requireNonNull(lane).name());
+
+        if (queue == null || !this.hasLane(lane)) {
+            throw new IllegalArgumentException(STR."Lane \{lane.name()} does not belong to this executor");
+        }
+
+        final FutureTask<V> future = new FutureTask<>(Objects.requireNonNull(task));
+
+        this.lock.lock();
+
+        try {
+            if (this.shutdown) {
+                throw new RejectedExecutionException("The executor has been shut down");
+            }
+
+            if (queue.tasks.isEmpty()) {
+                queue.pass = Math.max(queue.pass, this.globalPass);     // No credit for idle time
+            }
+
+            queue.tasks.addLast(future);
+
+            this.workAvailable.signal();
+        } finally {
+            this.lock.unlock();
+        }
+
+        return future;
+    }
+
+    /**
+     * Stop accepting tasks. Queued
+     * tasks are still executed.
+     */
+    public void shutdown() {
+        this.lock.lock();
+
+        try {
+            this.shutdown = true;
+            this.workAvailable.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * The worker loop.
+     */
+    private void work() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        Runnable task;
+
+        while ((task = this.take()) != null) {
+            task.run();
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /**
+     * Wait for and take the next task from the lane with
+     * the lowest pass. Null is returned once the executor
+     * is shut down and every lane is empty.
+     *
+     * @return  java.lang.Runnable
+     */
+    private Runnable take() {
+        this.lock.lock();
+
+        try {
+            while (true) {
+                LaneQueue chosen = null;
+
+                for (final LaneQueue queue : this.queues.values()) {
+                    if (!queue.tasks.isEmpty() && (chosen == null || queue.pass < chosen.pass)) {
+                        chosen = queue;
+                    }
+                }
+
+                if (chosen != null) {
+                    this.globalPass = chosen.pass;
+
+                    chosen.pass += chosen.stride;
+
+                    return chosen.tasks.pollFirst();
+                }
+
+                if (this.shutdown) {
+                    return null;
+                }
+
+                this.workAvailable.awaitUninterruptibly();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * A named lane and its weight.
+     *
+     * @param   name    java.lang.String
+     * @param   weight  int
+     */
+    public record Lane(String name, int weight) {
+        /**
+         * The compact constructor.
+         */
+        public Lane {
+            Objects.requireNonNull(name);
+
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Weight must be greater than 0");
+            }
+        }
+    }
+
+    /**
+     * The queue and scheduling state of a lane.
+     */
+    private static final class LaneQueue {
+        /** The queued tasks. */
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+        /** The pass advanced per task; inversely proportional to the weight. */
+        private final long stride;
+
+        /** The virtual time of the lane. */
+        private long pass;
+
+        /**
+         * The constructor.
+         *
+         * @param   stride  long
+         */
+        private LaneQueue(final long stride) {
+            super();
+
+            this.stride = stride;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package net.jmp.demo.java22.gatherers;
+
+/*
+ * (#)TestCheckpoints.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import java.util.stream.Stream;
+
+import net.jmp.demo.java22.util.Codec;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public final class TestCheckpoints {
+    private static final Codec<Map<String, Integer>> CODEC = GathererStateCodecs.reduceBy(Codec.ofString(), Codec.ofInteger());
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testMissingCheckpoint() {
+        final Path file = this.folder.getRoot().toPath().resolve("missing.checkpoint");
+
+        assertNull(Checkpoints.read(file, CODEC));
+        assertEquals(0, Checkpoints.offset(file));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final Path file = this.folder.getRoot().toPath().resolve("state.checkpoint");
+        final Map<String, Integer> state = state(3);
+
+        Checkpoints.write(file, 42, state, CODEC);
+
+        final Checkpoints.Checkpoint<Map<String, Integer>> checkpoint = Checkpoints.read(file, CODEC);
+
+        assertNotNull(checkpoint);
+        assertEquals(42, checkpoint.offset());
+        assertEquals(state, checkpoint.state());
+        assertEquals(42, Checkpoints.offset(file));
+
+        // Only the checkpoint remains; the temporary file was moved over it
+
+        try (final Stream<Path> paths = Files.list(this.folder.getRoot().toPath())) {
+            assertEquals(1, paths.count());
+        }
+    }
+
+    @Test
+    public void testLargerThanBufferRoundTrip() {
+        final Path file = this.folder.getRoot().toPath().resolve("large.checkpoint");
+        final Map<String, Integer> state = state(100_000);
+
+        Checkpoints.write(file, 100_000, state, CODEC);
+
+        assertEquals(state, Checkpoints.read(file, CODEC).state());
+    }
+
+    @Test
+    public void testRewriteReplaces() {
+        final Path file = this.folder.getRoot().toPath().resolve("state.checkpoint");
+
+        Checkpoints.write(file, 1, state(1), CODEC);
+        Checkpoints.write(file, 2, state(2), CODEC);
+
+        final Checkpoints.Checkpoint<Map<String, Integer>> checkpoint = Checkpoints.read(file, CODEC);
+
+        assertEquals(2, checkpoint.offset());
+        assertEquals(state(2), checkpoint.state());
+    }
+
+    @Test
+    public void testFailedEncodeLeavesNoTemporaryFile() {
+        final Path file = this.folder.getRoot().toPath().resolve("state.checkpoint");
+
+        Checkpoints.write(file, 1, state(1), CODEC);
+
+        final Codec<Map<String, Integer>> failing = new Codec<>() {
+            @Override
+            public void encode(final Map<String, Integer> value, final DataOutput output) {
+                throw new IllegalStateException("Cannot encode");
+            }
+
+            @Override
+            public Map<String, Integer> decode(final DataInput input) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        try {
+            Checkpoints.write(file, 2, state(2), failing);
+            fail("Expected an IllegalStateException");
+        } catch (final IllegalStateException _) {
+            // Expected
+        }
+
+        assertFalse(Files.exists(file.resolveSibling("state.checkpoint.tmp")));
+        assertEquals(1, Checkpoints.read(file, CODEC).offset());
+    }
+
+    @Test
+    public void testDelete() {
+        final Path file = this.folder.getRoot().toPath().resolve("state.checkpoint");
+
+        Checkpoints.write(file, 1, state(1), CODEC);
+        Checkpoints.delete(file);
+        Checkpoints.delete(file);
+
+        assertFalse(Files.exists(file));
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testCorruptStateIsRejected() throws IOException {
+        final Path file = this.folder.getRoot().toPath().resolve("state.checkpoint");
+
+        Checkpoints.write(file, 7, state(10), CODEC);
+
+        final byte[] bytes = Files.readAllBytes(file);
+
+        bytes[bytes.length / 2] ^= 0x7F;
+
+        Files.write(file, bytes);
+
+        Checkpoints.read(file, CODEC);
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testTruncatedCheckpointIsRejected() throws IOException {
+        final Path file = this.folder.getRoot().toPath().resolve("state.checkpoint");
+
+        Checkpoints.write(file, 7, state(10), CODEC);
+
+        final byte[] bytes = Files.readAllBytes(file);
+        final byte[] truncated = new byte[bytes.length - 3];
+
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+        Files.write(file, truncated);
+
+        Checkpoints.read(file, CODEC);
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testOtherFileIsRejected() throws IOException {
+        final Path file = this.folder.getRoot().toPath().resolve("other.txt");
+
+        Files.writeString(file, "Not a checkpoint at all");
+
+        Checkpoints.offset(file);
+    }
+
+    private static Map<String, Integer> state(final int size) {
+        final Map<String, Integer> state = new LinkedHashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            state.put(STR."key \{i}", i);
+        }
+
+        return state;
+    }
+}
@@ -0,0 +1,104 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)TestBloomFilter.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class TestBloomFilter {
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructWithZeroItems() {
+        new BloomFilter<String>(0, 0.01);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructWithInvalidRate() {
+        new BloomFilter<String>(100, 1.0);
+    }
+
+    @Test
+    public void testSizing() {
+        final BloomFilter<String> filter = new BloomFilter<>(1_000, 0.01);
+
+        assertEquals(0, filter.getBitCount() % Long.SIZE);
+        assertTrue(filter.getBitCount() >= 9_585);
+        assertEquals(7, filter.getHashCount());
+    }
+
+    @Test
+    public void testPutAndMightContain() {
+        final BloomFilter<String> filter = new BloomFilter<>(100, 0.01);
+
+        assertFalse(filter.mightContain("a"));
+        assertTrue(filter.put("a"));
+        assertFalse(filter.put("a"));
+        assertTrue(filter.mightContain("a"));
+
+        filter.clear();
+
+        assertFalse(filter.mightContain("a"));
+    }
+
+    @Test
+    public void testFalsePositiveRate() {
+        final BloomFilter<Integer> filter = new BloomFilter<>(10_000, 0.01);
+
+        IntStream.range(0, 10_000).forEach(filter::put);
+        IntStream.range(0, 10_000).forEach(i -> assertTrue(filter.mightContain(i)));
+
+        final long falsePositives = IntStream.range(10_000, 110_000)
+                .filter(filter::mightContain)
+                .count();
+
+        assertTrue(STR."\{falsePositives} false positives", falsePositives < 2_000);
+    }
+
+    @Test
+    public void testMerge() {
+        final BloomFilter<String> first = new BloomFilter<>(100, 0.01);
+        final BloomFilter<String> second = new BloomFilter<>(100, 0.01);
+
+        first.put("a");
+        second.put("b");
+        first.merge(second);
+
+        assertTrue(first.mightContain("a"));
+        assertTrue(first.mightContain("b"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeWithDifferentSize() {
+        new BloomFilter<String>(100, 0.01).merge(new BloomFilter<>(1_000, 0.01));
+    }
+}
@@ -0,0 +1,77 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)TestCountMinSketch.java   0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class TestCountMinSketch {
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructWithZeroWidth() {
+        new CountMinSketch<String>(0, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructWithZeroDepth() {
+        new CountMinSketch<String>(16, 0);
+    }
+
+    @Test
+    public void testWidthIsRoundedToPowerOfTwo() {
+        assertEquals(1, new CountMinSketch<String>(1, 1).getWidth());
+        assertEquals(16, new CountMinSketch<String>(16, 1).getWidth());
+        assertEquals(32, new CountMinSketch<String>(17, 1).getWidth());
+    }
+
+    @Test
+    public void testAddAndEstimate() {
+        final CountMinSketch<String> sketch = new CountMinSketch<>(1024, 4);
+
+        assertEquals(0, sketch.estimate("hot"));
+
+        IntStream.range(0, 100).forEach(_ -> sketch.add("hot"));
+
+        assertEquals(101, sketch.add("hot"));
+        assertEquals(101, sketch.estimate("hot"));
+    }
+
+    @Test
+    public void testEstimatesAreNeverTooLow() {
+        final CountMinSketch<Integer> sketch = new CountMinSketch<>(16, 2);
+
+        IntStream.range(0, 1_000).forEach(i -> sketch.add(i % 100));
+
+        IntStream.range(0, 100).forEach(i -> assertTrue(sketch.estimate(i) >= 10));
+    }
+}
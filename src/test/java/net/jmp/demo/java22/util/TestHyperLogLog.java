@@ -0,0 +1,99 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)TestHyperLogLog.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class TestHyperLogLog {
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructWithPrecisionTooLow() {
+        new HyperLogLog<String>(HyperLogLog.MINIMUM_PRECISION - 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructWithPrecisionTooHigh() {
+        new HyperLogLog<String>(HyperLogLog.MAXIMUM_PRECISION + 1);
+    }
+
+    @Test
+    public void testEmptyAndSmallSets() {
+        final HyperLogLog<String> sketch = new HyperLogLog<>(12);
+
+        assertEquals(0, sketch.estimate());
+
+        IntStream.range(0, 10).forEach(_ -> {
+            sketch.add("a");
+            sketch.add("b");
+            sketch.add("c");
+        });
+
+        assertEquals(3, sketch.estimate());
+    }
+
+    @Test
+    public void testEstimateIsWithinError() {
+        final HyperLogLog<Integer> sketch = new HyperLogLog<>(14);
+
+        IntStream.range(0, 1_000_000).forEach(i -> sketch.add(i % 200_000));
+
+        assertEquals(200_000, sketch.estimate(), 200_000 * sketch.getStandardError() * 4);
+    }
+
+    @Test
+    public void testMerge() {
+        final HyperLogLog<Integer> first = new HyperLogLog<>(12);
+        final HyperLogLog<Integer> second = new HyperLogLog<>(12);
+        final HyperLogLog<Integer> both = new HyperLogLog<>(12);
+
+        IntStream.range(0, 50_000).forEach(i -> {
+            first.add(i);
+            both.add(i);
+        });
+
+        IntStream.range(25_000, 75_000).forEach(i -> {
+            second.add(i);
+            both.add(i);
+        });
+
+        first.merge(second);
+
+        assertEquals(both.estimate(), first.estimate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeWithDifferentPrecision() {
+        new HyperLogLog<Integer>(10).merge(new HyperLogLog<>(11));
+    }
+}
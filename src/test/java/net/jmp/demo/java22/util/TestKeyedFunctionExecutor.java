@@ -0,0 +1,182 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)TestKeyedFunctionExecutor.java    0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import java.util.function.Function;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public final class TestKeyedFunctionExecutor {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSubmitsCompleteWhenKeysShareAStripe() throws Exception {
+        final List<CompletableFuture<Integer>> results = new ArrayList<>();
+        final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        // One stripe, so every key collides with every other
+
+        try (final KeyedFunctionExecutor<Integer> executor = new KeyedFunctionExecutor<>(4, Duration.ZERO, 1, 1)) {
+            final List<Future<CompletableFuture<Integer>>> submitted = new ArrayList<>();
+
+            for (int i = 0; i < 20_000; i++) {
+                final int value = i;
+
+                submitted.add(callers.submit(() -> executor.submit(v -> v + 1, STR."key-\{value % 64}", value)));
+            }
+
+            for (final Future<CompletableFuture<Integer>> future : submitted) {
+                results.add(future.get());
+            }
+
+            CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+        } finally {
+            callers.shutdown();
+        }
+
+        results.forEach(result -> assertTrue(result.isDone()));
+    }
+
+    @Test
+    public void testProcessAppliesEveryKeyWhenKeysShareAStripe() throws Exception {
+        final Map<String, Integer> applied = new ConcurrentHashMap<>();
+        final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        try (final KeyedFunctionExecutor<Integer> executor = new KeyedFunctionExecutor<>(4, Duration.ZERO, 1, 1)) {
+            for (int i = 0; i < 8; i++) {
+                final int caller = i;
+
+                callers.submit(() -> {
+                    for (int j = 0; j < 2_000; j++) {
+                        final String key = STR."key-\{caller}-\{j % 16}";
+                        final int value = j;
+
+                        executor.process(v -> {
+                            applied.merge(key, v, Math::max);
+
+                            return null;
+                        }, key, value);
+                    }
+                });
+            }
+
+            callers.shutdown();
+
+            assertTrue(callers.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        // Each key's last value is applied, whatever was coalesced before it
+
+        assertEquals(8 * 16, applied.size());
+        applied.forEach((key, value) -> assertTrue(value >= 2_000 - 16));
+    }
+
+    @Test
+    public void testErrorCompletesTheWaiters() throws Exception {
+        try (final KeyedFunctionExecutor<Integer> executor = new KeyedFunctionExecutor<>(1)) {
+            final Function<Integer, Integer> failing = _ -> {
+                throw new AssertionError("failed");
+            };
+
+            final CompletableFuture<Integer> failed = executor.submit(failing, "key", 1);
+
+            try {
+                failed.get(10, TimeUnit.SECONDS);
+                fail("Expected an ExecutionException");
+            } catch (final ExecutionException e) {
+                assertTrue(e.getCause() instanceof AssertionError);
+            }
+
+            // The key is free for the next function
+
+            assertEquals(Integer.valueOf(3), executor.submit(v -> v + 1, "key", 2).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testOnlyProcessedValuesAreJournaled() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try (final PendingWorkJournal<String> journal = PendingWorkJournal.open(this.folder.getRoot().toPath(), Codec.ofString());
+             final KeyedFunctionExecutor<String> executor = new KeyedFunctionExecutor<>(2, journal)) {
+            final CompletableFuture<String> submitted = executor.submit(v -> {
+                await(release);
+
+                return v;
+            }, "key", "submitted");
+
+            assertEquals(0, journal.getPendingCount());
+
+            executor.process(_ -> {
+                await(release);
+
+                return null;
+            }, "key", "processed");
+
+            assertEquals(1, journal.getPendingCount());
+
+            release.countDown();
+
+            assertEquals("submitted", submitted.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException(e);
+        }
+    }
+}
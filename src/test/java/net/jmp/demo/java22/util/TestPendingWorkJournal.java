@@ -0,0 +1,181 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)TestPendingWorkJournal.java   0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.List;
+
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public final class TestPendingWorkJournal {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpenWithTinySegments() throws IOException {
+        PendingWorkJournal.open(this.folder.getRoot().toPath(), Codec.ofString(), 8);
+    }
+
+    @Test
+    public void testEmptyJournalRecoversNothing() throws IOException {
+        try (final PendingWorkJournal<String> journal = PendingWorkJournal.open(this.folder.getRoot().toPath(), Codec.ofString())) {
+            assertTrue(journal.takeRecoveredValues().isEmpty());
+            assertEquals(0, journal.getPendingCount());
+        }
+    }
+
+    @Test
+    public void testReplayRecoversNewestPendingValues() throws IOException {
+        final Path directory = this.folder.getRoot().toPath();
+
+        try (final PendingWorkJournal<String> journal = PendingWorkJournal.open(directory, Codec.ofString())) {
+            journal.append("a", "a1");
+
+            final long b1 = journal.append("b", "b1");
+
+            journal.append("a", "a2");
+            journal.append("c", "c1");
+            journal.markDone("b", b1);
+
+            assertEquals(2, journal.getPendingCount());
+        }
+
+        try (final PendingWorkJournal<String> journal = PendingWorkJournal.open(directory, Codec.ofString())) {
+            final List<PendingWorkJournal.RecoveredValue<String>> values = journal.takeRecoveredValues();
+
+            assertEquals(2, values.size());
+            assertEquals("a2", values.get(0).value());
+            assertEquals("c1", values.get(1).value());
+            assertTrue(journal.takeRecoveredValues().isEmpty());
+
+            // New sequences continue after the replayed ones
+
+            assertTrue(journal.append("d", "d1") > values.get(1).sequence());
+        }
+    }
+
+    @Test
+    public void testDoneCoversOlderValuesOnly() throws IOException {
+        final Path directory = this.folder.getRoot().toPath();
+
+        try (final PendingWorkJournal<Integer> journal = PendingWorkJournal.open(directory, Codec.ofInteger())) {
+            final long first = journal.append("key", 1);
+
+            journal.append("key", 2);
+            journal.markDone("key", first);
+        }
+
+        try (final PendingWorkJournal<Integer> journal = PendingWorkJournal.open(directory, Codec.ofInteger())) {
+            final List<PendingWorkJournal.RecoveredValue<Integer>> values = journal.takeRecoveredValues();
+
+            assertEquals(1, values.size());
+            assertEquals(2, (int) values.getFirst().value());
+        }
+    }
+
+    @Test
+    public void testCompactionDeletesCompletedSegments() throws IOException {
+        final Path directory = this.folder.getRoot().toPath();
+
+        try (final PendingWorkJournal<Integer> journal = PendingWorkJournal.open(directory, Codec.ofInteger(), 256)) {
+            journal.append("survivor", -1);
+
+            for (int i = 0; i < 200; i++) {
+                journal.markDone(STR."key \{i}", journal.append(STR."key \{i}", i));
+            }
+
+            journal.compact();
+
+            assertTrue(countSegments(directory) < 5);
+        }
+
+        try (final PendingWorkJournal<Integer> journal = PendingWorkJournal.open(directory, Codec.ofInteger(), 256)) {
+            final List<PendingWorkJournal.RecoveredValue<Integer>> values = journal.takeRecoveredValues();
+
+            assertEquals(1, values.size());
+            assertEquals("survivor", values.getFirst().key());
+        }
+    }
+
+    @Test
+    public void testTornRecordIsIgnored() throws IOException {
+        final Path directory = this.folder.getRoot().toPath();
+
+        try (final PendingWorkJournal<String> journal = PendingWorkJournal.open(directory, Codec.ofString())) {
+            journal.append("a", "a1");
+            journal.append("b", "b1");
+        }
+
+        // Corrupt the last byte of the second record's payload
+
+        final Path segment;
+
+        try (final Stream<Path> paths = Files.list(directory)) {
+            segment = paths.sorted().findFirst().orElseThrow();
+        }
+
+        final byte[] bytes = Files.readAllBytes(segment);
+
+        int end = bytes.length - 1;
+
+        while (bytes[end] == 0) {
+            end--;
+        }
+
+        bytes[end] ^= 0x7F;
+
+        Files.write(segment, bytes);
+
+        try (final PendingWorkJournal<String> journal = PendingWorkJournal.open(directory, Codec.ofString())) {
+            final List<PendingWorkJournal.RecoveredValue<String>> values = journal.takeRecoveredValues();
+
+            assertEquals(1, values.size());
+            assertEquals("a", values.getFirst().key());
+        }
+    }
+
+    private static long countSegments(final Path directory) throws IOException {
+        try (final Stream<Path> paths = Files.list(directory)) {
+            return paths.count();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)TestStripedLocks.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.concurrent.locks.Lock;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class TestStripedLocks {
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructWithZeroStripes() {
+        new StripedLocks(0, 16);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructWithMaximumBelowInitial() {
+        new StripedLocks(16, 8);
+    }
+
+    @Test
+    public void testSizesAreRoundedToPowersOfTwo() {
+        final StripedLocks locks = new StripedLocks(5, 20);
+
+        assertEquals(8, locks.size());
+        assertEquals(32, locks.getMaximumStripes());
+        assertTrue(locks.isAdaptive());
+        assertFalse(new StripedLocks(8, 8).isAdaptive());
+    }
+
+    @Test
+    public void testTryLockFailsWhileHeld() throws Exception {
+        final StripedLocks locks = new StripedLocks(1, 1);
+        final Lock lock = locks.tryLock("key");
+
+        assertNotNull(lock);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            assertNull(executor.submit(() -> locks.tryLock("other")).get());
+        } finally {
+            executor.shutdown();
+        }
+
+        lock.unlock();
+
+        assertEquals(1, locks.getAcquisitions()[0]);
+        assertEquals(1, locks.getFailures()[0]);
+        assertEquals(1, locks.getCollisions()[0]);
+    }
+
+    @Test
+    public void testLockWaitsForCollidingKey() throws Exception {
+        final StripedLocks locks = new StripedLocks(1, 1);
+        final Lock lock = locks.lock("key");
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            final Future<Lock> other = executor.submit(() -> locks.lock("other"));
+
+            try {
+                other.get(100, TimeUnit.MILLISECONDS);
+                fail("Expected the other key to wait");
+            } catch (final TimeoutException _) {
+                // Expected
+            }
+
+            lock.unlock();
+
+            executor.submit(() -> {
+                other.get().unlock();   // On the thread that holds it
+
+                return null;
+            }).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(2, locks.getAcquisitions()[0]);
+        assertEquals(1, locks.getCollisions()[0]);
+    }
+
+    @Test
+    public void testGrowStopsAtMaximum() {
+        final StripedLocks locks = new StripedLocks(2, 8);
+
+        assertTrue(locks.grow());
+        assertEquals(4, locks.size());
+        assertTrue(locks.grow());
+        assertEquals(8, locks.size());
+        assertFalse(locks.grow());
+        assertEquals(8, locks.size());
+    }
+
+    @Test
+    public void testExclusivityWhileGrowing() throws Exception {
+        final StripedLocks locks = new StripedLocks(1, 1 << 10);
+        final AtomicInteger holders = new AtomicInteger();
+        final AtomicInteger violations = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        for (int i = 0; i < 4; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 20_000; j++) {
+                    final Lock lock = locks.tryLock("key");
+
+                    if (lock != null) {
+                        try {
+                            if (holders.incrementAndGet() != 1) {
+                                violations.incrementAndGet();
+                            }
+
+                            holders.decrementAndGet();
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+
+                    if (j % 2_000 == 0) {
+                        locks.grow();
+                    }
+                }
+            });
+        }
+
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(0, violations.get());
+        assertTrue(locks.size() > 1);
+    }
+}
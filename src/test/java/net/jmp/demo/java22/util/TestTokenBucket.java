@@ -0,0 +1,92 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)TestTokenBucket.java  0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class TestTokenBucket {
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructWithZeroRate() {
+        new TokenBucket(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructWithZeroBurst() {
+        new TokenBucket(1, 0);
+    }
+
+    @Test
+    public void testBurstThenWait() {
+        final AtomicLong now = new AtomicLong();
+        final TokenBucket bucket = new TokenBucket(2, 3, now::get);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), bucket.tryAcquire());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+
+    @Test
+    public void testRefillIsCappedAtBurst() {
+        final AtomicLong now = new AtomicLong();
+        final TokenBucket bucket = new TokenBucket(10, 2, now::get);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), bucket.getNanosToFill());
+    }
+
+    @Test
+    public void testRefund() {
+        final TokenBucket bucket = new TokenBucket(1, 1, () -> 0L);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+
+        bucket.refund();
+
+        assertEquals(0, bucket.tryAcquire());
+    }
+}
@@ -0,0 +1,147 @@
+package net.jmp.demo.java22.util;
+
+/*
+ * (#)TestWeightedFairExecutor.java 0.10.0  10/18/2026
+ *
+ * @author   Jonathan Parker
+ * @version  0.10.0
+ * @since    0.10.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.List;
+import java.util.Queue;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class TestWeightedFairExecutor {
+    private static final WeightedFairExecutor.Lane HIGH = new WeightedFairExecutor.Lane("high", 3);
+    private static final WeightedFairExecutor.Lane LOW = new WeightedFairExecutor.Lane("low", 1);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructWithoutLanes() {
+        new WeightedFairExecutor(1, List.of());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLaneWithZeroWeight() {
+        new WeightedFairExecutor.Lane("lane", 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSubmitToUnknownLane() {
+        final WeightedFairExecutor executor = new WeightedFairExecutor(1, List.of(HIGH));
+
+        try {
+            executor.submit(LOW, () -> null);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testLanesShareByWeight() throws Exception {
+        final WeightedFairExecutor executor = new WeightedFairExecutor(1, List.of(HIGH, LOW));
+        final CountDownLatch release = new CountDownLatch(1);
+        final Queue<String> order = new ConcurrentLinkedQueue<>();
+
+        try {
+            executor.submit(LOW, () -> {
+                release.await();
+
+                return null;
+            });
+
+            Future<?> last = null;
+
+            for (int i = 0; i < 40; i++) {
+                executor.submit(LOW, () -> order.add("low"));
+                last = executor.submit(HIGH, () -> order.add("high"));
+            }
+
+            release.countDown();
+            last.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        final long high = order.stream().limit(40).filter("high"::equals).count();
+
+        assertEquals(30, high, 1);
+    }
+
+    @Test
+    public void testIdleLaneBuildsNoCredit() throws Exception {
+        final WeightedFairExecutor executor = new WeightedFairExecutor(1, List.of(HIGH, LOW));
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Queue<String> order = new ConcurrentLinkedQueue<>();
+
+        try {
+            Future<?> busy = null;
+
+            for (int i = 0; i < 100; i++) {
+                busy = executor.submit(LOW, () -> null);
+            }
+
+            busy.get();
+
+            executor.submit(LOW, () -> {
+                started.countDown();
+                release.await();
+
+                return null;
+            });
+
+            started.await();
+
+            for (int i = 0; i < 10; i++) {
+                executor.submit(LOW, () -> order.add("low"));
+                executor.submit(HIGH, () -> order.add("high"));
+            }
+
+            release.countDown();
+            executor.submit(LOW, () -> null).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(order.stream().limit(5).anyMatch("low"::equals));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testSubmitAfterShutdown() {
+        final WeightedFairExecutor executor = new WeightedFairExecutor(1, List.of(HIGH));
+
+        executor.shutdown();
+        executor.submit(HIGH, () -> null);
+    }
+}